@@ -11,7 +11,9 @@ import org.ostis.scmemory.model.element.link.ScLinkInteger;
 import org.ostis.scmemory.model.element.link.ScLinkString;
 import org.ostis.scmemory.model.element.node.NodeType;
 import org.ostis.scmemory.model.element.node.ScNode;
+import org.ostis.scmemory.model.event.EventType;
 import org.ostis.scmemory.model.event.ScEventConsumer;
+import org.ostis.scmemory.model.event.ScEventPublisher;
 import org.ostis.scmemory.model.exception.ScMemoryException;
 import org.ostis.scmemory.model.pattern.ScPattern;
 import org.ostis.scmemory.model.pattern.factory.DefaultScPattern3Factory;
@@ -22,9 +24,11 @@ import org.ostis.scmemory.model.pattern.pattern5.ScConstruction5;
 import org.ostis.scmemory.model.pattern.pattern5.ScPattern5;
 
 import java.io.ByteArrayOutputStream;
-import java.util.EnumSet;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Stream;
 
 /**
@@ -222,6 +226,28 @@ public record DefaultScContext(ScMemory memory) {
                      .map(ScConstruction3::getEdge);
     }
 
+    /**
+     * Batch construction search.
+     * The same as {@link #findAllConstructionsNodeEdgeNode(ScNode, EdgeType, NodeType)},
+     * but for many fixed nodes at once. Searches may be sent concurrently, so it is faster than a loop.
+     *
+     * @param fixedNodes the fixed nodes with respect to which the search will take place.
+     * @param edge       type of edge you are looking for.
+     * @param node       type of node you are looking for.
+     * @return stream of found edges for every fixed node, in the order of fixed nodes.
+     * @throws ScMemoryException if an internal sc-memory error has occurred. You can find more information in cause exception
+     * @since 0.8.2
+     */
+    public Stream<Stream<? extends ScEdge>> findAllConstructionsNodeEdgeNode(Stream<? extends ScNode> fixedNodes,
+                                                                             EdgeType edge,
+                                                                             NodeType node) throws ScMemoryException {
+        return memory.findByPattern3Batch(fixedNodes.map(fixedNode -> DefaultScPattern3Factory.get(
+                             fixedNode,
+                             edge,
+                             node)))
+                     .map(constructions -> constructions.map(ScConstruction3::getEdge));
+    }
+
     /**
      * Construction search.
      * This method searches for all 3-element constructions by pattern.
@@ -267,6 +293,20 @@ public record DefaultScContext(ScMemory memory) {
         return memory.find(pattern);
     }
 
+    /**
+     * Batch construction search.
+     * The same as {@link #find(ScPattern)}, but for many patterns at once.
+     * Searches may be sent concurrently, so it is faster than a loop.
+     *
+     * @param patterns the patterns to be searched for
+     * @return stream of results in the order of patterns. Each result is the same as {@link #find(ScPattern)} returns.
+     * @throws ScMemoryException if an internal sc-memory error has occurred. You can find more information in cause exception
+     * @since 0.8.2
+     */
+    public Stream<Stream<Stream<? extends ScElement>>> find(Stream<ScPattern> patterns) throws ScMemoryException {
+        return memory.find(patterns);
+    }
+
     /**
      * Link integer content setting.
      * This method sets the content to sc-link.
@@ -432,19 +472,20 @@ public record DefaultScContext(ScMemory memory) {
      * This method resolves keynode with a specific identifier.
      *
      * @param source object of source element.
-     * @param type type of edge that will be created, must be only VAR types
+     * @param type type of edge that will be created, VAR or CONST type, a VAR type is replaced with the corresponding CONST one
      * @param target object of target element.
      * @return resolved edge. If edge with connection from source to target does not exist - a new edge will be created.
      * @throws ScMemoryException if an internal sc-memory error has occurred. You can find more information in cause exception
      */
     public ScEdge resolveEdge(ScElement source, EdgeType type, ScElement target) throws ScMemoryException {
-        Optional<? extends ScConstruction3<ScElement, ScElement>> pattern = find(new ScPattern3Impl<>(source, type, target)).findFirst();
+        //        only the first found edge is used, so other constructions are not created
+        Optional<? extends ScConstruction3<ScElement, ScElement>> pattern = memory.findFirstByPattern3(new ScPattern3Impl<>(source, type, target));
 
-        EdgeType constType = EnumSet.allOf(EdgeType.class)
-                                    .stream()
-                                    .filter(edgeType -> edgeType.getCode() == type.getCode() - 32)
-                                    .findFirst()
-                                    .orElseThrow();
+        //        a constant type has the corresponding variable one
+        EdgeType constType = type.toVar() != null ? type : type.toConst();
+        if (constType == null) {
+            throw new NoSuchElementException("There is no constant type for the edge type " + type);
+        }
 
         return pattern.isEmpty() ? createEdge(constType, source, target) : pattern.get().getEdge();
     }
@@ -471,6 +512,24 @@ public record DefaultScContext(ScMemory memory) {
         return this.memory.subscribeOnEvent(element, consumer);
     }
 
+    /**
+     * Method for subscribe on some event of sc-machine with backpressure.
+     * Notifications are delivered by {@link ForkJoinPool#commonPool()} and at most {@link Flow#defaultBufferSize()}
+     * of them are buffered for every subscriber.
+     *
+     * @param element   The element whose changes will be subscribed to.
+     * @param eventType Type of the event.
+     * @return publisher of event notifications. Close it to unsubscribe.
+     * @throws ScMemoryException if an internal sc-memory error has occurred. You can find more information in cause exception
+     */
+    public ScEventPublisher publishEvents(ScElement element, EventType eventType) throws ScMemoryException {
+        return this.memory.publishEvents(
+                element,
+                eventType,
+                ForkJoinPool.commonPool(),
+                Flow.defaultBufferSize());
+    }
+
     /**
      * Unsubscribes from the event with the specified ID.
      *
@@ -10,17 +10,27 @@ import org.ostis.scmemory.model.element.link.ScLinkInteger;
 import org.ostis.scmemory.model.element.link.ScLinkString;
 import org.ostis.scmemory.model.element.node.NodeType;
 import org.ostis.scmemory.model.element.node.ScNode;
+import org.ostis.scmemory.model.event.EventType;
 import org.ostis.scmemory.model.event.ScEventConsumer;
+import org.ostis.scmemory.model.event.ScEventOverflowPolicy;
+import org.ostis.scmemory.model.event.ScEventPublisher;
+import org.ostis.scmemory.model.event.ScEventPublisherImpl;
 import org.ostis.scmemory.model.exception.ScMemoryException;
 import org.ostis.scmemory.model.pattern.ScPattern;
+import org.ostis.scmemory.model.pattern.element.ScAliasedElement;
+import org.ostis.scmemory.model.pattern.element.ScPatternElement;
+import org.ostis.scmemory.model.pattern.element.ScTypedElement;
 import org.ostis.scmemory.model.pattern.pattern3.ScConstruction3;
 import org.ostis.scmemory.model.pattern.pattern3.ScPattern3;
 import org.ostis.scmemory.model.pattern.pattern5.ScConstruction5;
 import org.ostis.scmemory.model.pattern.pattern5.ScPattern5;
 
 import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Executor;
 import java.util.stream.Stream;
 
 /**
@@ -124,6 +134,24 @@ public interface ScMemory {
      */
     <t1 extends ScElement, t3, T3 extends ScElement> Stream<? extends ScConstruction3<t1, T3>> findByPattern3(ScPattern3<t1, t3, T3> pattern) throws ScMemoryException;
 
+    /**
+     * Method to search sc-constructions by many pattern3 at once, e.g. by the same pattern with different fixed elements.
+     * Searches may be sent concurrently.
+     *
+     * By default patterns are searched one by one with {@link #findByPattern3(ScPattern3)}.
+     *
+     * @param patterns patterns to search
+     * @return stream of results in the order of passed patterns. Each nested stream is the same as {@link #findByPattern3(ScPattern3)} returns
+     * @since 0.8.2
+     */
+    default <t1 extends ScElement, t3, T3 extends ScElement> Stream<Stream<? extends ScConstruction3<t1, T3>>> findByPattern3Batch(Stream<ScPattern3<t1, t3, T3>> patterns) throws ScMemoryException {
+        List<Stream<? extends ScConstruction3<t1, T3>>> result = new ArrayList<>();
+        for (ScPattern3<t1, t3, T3> pattern : patterns.toList()) {
+            result.add(findByPattern3(pattern));
+        }
+        return result.stream();
+    }
+
     /**
      * Method to search any sc-constructions by pattern5.
      * You must pass one object of {@link ScPattern5}.
@@ -143,6 +171,113 @@ public interface ScMemory {
      */
     Stream<Stream<? extends ScElement>> find(ScPattern pattern) throws ScMemoryException;
 
+    /**
+     * Method to search any sc-constructions by universal pattern, but only elements with the passed aliases are returned.
+     * Other elements are not created, so it is cheaper when only a part of a construction is needed.
+     *
+     * By default, the whole constructions are found by {@link #find(ScPattern)} and the projected elements are picked from them.
+     *
+     * @param pattern    {@link ScPattern} that store your pattern.
+     * @param projection aliases of typed elements of the pattern, they are matched by name
+     * @return stream of streams with found elements. Each nested stream store sc-elements in the order of the passed aliases.
+     * @throws IllegalArgumentException if no aliases are passed or an alias is not declared by a typed element of the pattern
+     * @since 0.8.2
+     */
+    default Stream<Stream<? extends ScElement>> find(ScPattern pattern, ScAliasedElement... projection) throws ScMemoryException {
+        if (projection.length == 0) {
+            throw new IllegalArgumentException("Projection must contain at least one alias");
+        }
+        List<ScPatternElement> patternElements = pattern.getElements()
+                                                        .flatMap(e -> Stream.of(
+                                                                e.get1(),
+                                                                e.get2(),
+                                                                e.get3()))
+                                                        .toList();
+        int[] columns = new int[projection.length];
+        for (int i = 0; i < projection.length; i++) {
+            columns[i] = -1;
+            for (int column = 0; column < patternElements.size() && columns[i] < 0; column++) {
+                if (patternElements.get(column) instanceof ScTypedElement<?> typed
+                        && typed.getAlias() != null
+                        && typed.getAlias()
+                                .getAlias()
+                                .equals(projection[i].getAlias())) {
+                    columns[i] = column;
+                }
+            }
+            if (columns[i] < 0) {
+                throw new IllegalArgumentException("Alias " + projection[i].getAlias() + " is not declared by a typed element of the pattern");
+            }
+        }
+        return find(pattern).<Stream<? extends ScElement>>map(construction -> {
+            List<? extends ScElement> elements = construction.toList();
+            return Arrays.stream(columns)
+                         .mapToObj(elements::get);
+        });
+    }
+
+    /**
+     * Method to search the first sc-construction by universal pattern.
+     *
+     * @param pattern {@link ScPattern} that store your pattern.
+     * @return found sc-elements in sequence of a passed pattern, or empty if nothing is found.
+     * @since 0.8.2
+     */
+    default Optional<Stream<? extends ScElement>> findFirst(ScPattern pattern) throws ScMemoryException {
+        return find(pattern).findFirst();
+    }
+
+    /**
+     * Method to search the first sc-construction by pattern3.
+     *
+     * @return the first found {@link ScConstruction3}, or empty if nothing is found.
+     * @since 0.8.2
+     */
+    default <t1 extends ScElement, t3, T3 extends ScElement> Optional<? extends ScConstruction3<t1, T3>> findFirstByPattern3(ScPattern3<t1, t3, T3> pattern) throws ScMemoryException {
+        return findByPattern3(pattern).findFirst();
+    }
+
+    /**
+     * Method to count sc-constructions found by universal pattern, found elements are not returned.
+     *
+     * @param pattern {@link ScPattern} that store your pattern.
+     * @return number of found constructions.
+     * @since 0.8.2
+     */
+    default int count(ScPattern pattern) throws ScMemoryException {
+        return (int) find(pattern).count();
+    }
+
+    /**
+     * Method to check whether any sc-construction is found by universal pattern, found elements are not returned.
+     *
+     * @param pattern {@link ScPattern} that store your pattern.
+     * @return true if at least one construction is found.
+     * @since 0.8.2
+     */
+    default boolean exists(ScPattern pattern) throws ScMemoryException {
+        return find(pattern).findAny()
+                            .isPresent();
+    }
+
+    /**
+     * Method to search sc-constructions by many universal patterns at once.
+     * Searches may be sent concurrently.
+     *
+     * By default patterns are searched one by one with {@link #find(ScPattern)}.
+     *
+     * @param patterns patterns to search
+     * @return stream of results in the order of passed patterns. Each nested stream is the same as {@link #find(ScPattern)} returns
+     * @since 0.8.2
+     */
+    default Stream<Stream<Stream<? extends ScElement>>> find(Stream<ScPattern> patterns) throws ScMemoryException {
+        List<Stream<Stream<? extends ScElement>>> result = new ArrayList<>();
+        for (ScPattern pattern : patterns.toList()) {
+            result.add(find(pattern));
+        }
+        return result.stream();
+    }
+
     /**
      * @since 0.7.0
      */
@@ -252,6 +387,56 @@ public interface ScMemory {
 
     Optional<Long> subscribeOnEvent(ScElement element, ScEventConsumer event) throws ScMemoryException;
 
+    /**
+     * Method for subscribing on the sc-event with backpressure.
+     * Notifications are buffered per subscriber and delivered by the executor only when requested.
+     * By default the publisher is fed by a consumer passed to {@link #subscribeOnEvent(ScElement, ScEventConsumer)}.
+     *
+     * @param element        the element whose changes will be subscribed to
+     * @param eventType      type of the event
+     * @param executor       executor used to deliver notifications to subscribers
+     * @param bufferCapacity maximum number of buffered notifications per subscriber,
+     *                       notifications that do not fit are dropped ({@link ScEventOverflowPolicy#DROP})
+     * @return publisher of event notifications. Close it to unsubscribe
+     * @since 0.8.2
+     */
+    default ScEventPublisher publishEvents(ScElement element,
+                                           EventType eventType,
+                                           Executor executor,
+                                           int bufferCapacity) throws ScMemoryException {
+        return publishEvents(
+                element,
+                eventType,
+                executor,
+                bufferCapacity,
+                ScEventOverflowPolicy.DROP);
+    }
+
+    /**
+     * The same as {@link #publishEvents(ScElement, EventType, Executor, int)},
+     * but with the specified behaviour for a full buffer of a subscriber.
+     *
+     * @param overflowPolicy what is done when the buffer of a subscriber is full
+     * @since 0.8.2
+     */
+    default ScEventPublisher publishEvents(ScElement element,
+                                           EventType eventType,
+                                           Executor executor,
+                                           int bufferCapacity,
+                                           ScEventOverflowPolicy overflowPolicy) throws ScMemoryException {
+        ScEventPublisherImpl publisher = new ScEventPublisherImpl(
+                this,
+                eventType,
+                executor,
+                bufferCapacity,
+                overflowPolicy);
+        Long eventId = subscribeOnEvent(
+                element,
+                publisher.getEventConsumer()).orElseThrow(ScMemoryException::new);
+        publisher.setEventId(eventId);
+        return publisher;
+    }
+
     /**
      * Method for getting the sc-elements by content
      *
@@ -53,6 +53,26 @@ public enum EdgeType {
 
     ACCESS_VAR_FUZ_TEMP(1616);
 
+    //    constant and variable types differ only by these bits of the code
+    private static final int CONST_BIT = 32;
+    private static final int VAR_BIT = 64;
+    private static final EdgeType[] CONST_TYPES = new EdgeType[values().length];
+    private static final EdgeType[] VAR_TYPES = new EdgeType[values().length];
+
+    static {
+        for (EdgeType var : values()) {
+            if ((var.code & VAR_BIT) == 0) {
+                continue;
+            }
+            for (EdgeType constant : values()) {
+                if (constant.code == (var.code & ~VAR_BIT | CONST_BIT)) {
+                    CONST_TYPES[var.ordinal()] = constant;
+                    VAR_TYPES[constant.ordinal()] = var;
+                }
+            }
+        }
+    }
+
     @JsonValue
     private final int code;
 
@@ -65,4 +85,24 @@ public enum EdgeType {
     public int getCode() {
         return code;
     }
+
+    /**
+     * @return constant type with the same other properties (e.g. {@link #ACCESS_CONST_POS_PERM} for {@link #ACCESS_VAR_POS_PERM}),
+     * or null if this type is not variable
+     * @since 0.8.2
+     */
+    @JsonIgnore
+    public EdgeType toConst() {
+        return CONST_TYPES[ordinal()];
+    }
+
+    /**
+     * @return variable type with the same other properties (e.g. {@link #ACCESS_VAR_POS_PERM} for {@link #ACCESS_CONST_POS_PERM}),
+     * or null if this type is not constant
+     * @since 0.8.2
+     */
+    @JsonIgnore
+    public EdgeType toVar() {
+        return VAR_TYPES[ordinal()];
+    }
 }
@@ -0,0 +1,39 @@
+package org.ostis.scmemory.model.element.link;
+
+import org.ostis.scmemory.model.exception.ScMemoryException;
+
+/**
+ * ScLink whose content has not been downloaded yet.
+ * If the content type is known beforehand, the lazy link also implements the typed link interface
+ * ({@link ScLinkInteger}, {@link ScLinkFloat}, {@link ScLinkString} or {@link ScLinkBinary}),
+ * so it can be used with the typed content operations of {@link org.ostis.scmemory.model.ScMemory}.
+ * Otherwise, the typed link is available after {@link #load()}.
+ * <p>
+ * Loads of different lazy links, requested at the same time, are sent to the sc-machine by one request.
+ *
+ * @author artrayme
+ * @since 0.8.2
+ */
+public interface ScLinkLazy extends ScLink {
+    /**
+     * @return true if the content has already been downloaded
+     */
+    boolean isLoaded();
+
+    /**
+     * Downloads the content (only once).
+     *
+     * @return typed sc-link with the same address and content
+     * @throws ScMemoryException if the content cannot be downloaded
+     */
+    ScLink load() throws ScMemoryException;
+
+    /**
+     * Downloads the content, if the content type is not known yet.
+     *
+     * @return content type of this link
+     * @throws IllegalStateException if the content cannot be downloaded
+     */
+    @Override
+    LinkContentType getContentType();
+}
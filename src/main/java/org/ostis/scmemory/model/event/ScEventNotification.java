@@ -0,0 +1,36 @@
+package org.ostis.scmemory.model.event;
+
+import org.ostis.scmemory.model.element.ScElement;
+import org.ostis.scmemory.model.element.edge.ScEdge;
+
+import java.util.Optional;
+
+/**
+ * One occurrence of a sc-event, emitted by {@link ScEventPublisher}.
+ * Unlike {@link ScEventConsumer} callbacks, notifications are delivered
+ * only when the subscriber requests them.
+ *
+ * @author artrayme
+ * @since 0.8.2
+ */
+public interface ScEventNotification {
+    /**
+     * @return sc-element this event is tracking
+     */
+    ScElement getTrackingElement();
+
+    /**
+     * @return type of the event
+     */
+    EventType getEventType();
+
+    /**
+     * @return added edge. Empty for {@link EventType#ON_DELETE_ELEMENT}
+     */
+    Optional<ScEdge> getEdge();
+
+    /**
+     * @return the other end of the added edge. Empty for {@link EventType#ON_DELETE_ELEMENT}
+     */
+    Optional<ScElement> getEdgeTarget();
+}
@@ -0,0 +1,44 @@
+package org.ostis.scmemory.model.event;
+
+import org.ostis.scmemory.model.element.ScElement;
+import org.ostis.scmemory.model.element.edge.ScEdge;
+
+import java.util.Optional;
+
+/**
+ * @author artrayme
+ * @since 0.8.2
+ */
+public class ScEventNotificationImpl implements ScEventNotification {
+    private final ScElement trackingElement;
+    private final EventType eventType;
+    private final ScEdge edge;
+    private final ScElement edgeTarget;
+
+    public ScEventNotificationImpl(ScElement trackingElement, EventType eventType, ScEdge edge, ScElement edgeTarget) {
+        this.trackingElement = trackingElement;
+        this.eventType = eventType;
+        this.edge = edge;
+        this.edgeTarget = edgeTarget;
+    }
+
+    @Override
+    public ScElement getTrackingElement() {
+        return trackingElement;
+    }
+
+    @Override
+    public EventType getEventType() {
+        return eventType;
+    }
+
+    @Override
+    public Optional<ScEdge> getEdge() {
+        return Optional.ofNullable(edge);
+    }
+
+    @Override
+    public Optional<ScElement> getEdgeTarget() {
+        return Optional.ofNullable(edgeTarget);
+    }
+}
@@ -0,0 +1,26 @@
+package org.ostis.scmemory.model.event;
+
+/**
+ * What an {@link ScEventPublisher} does with a notification when the buffer of a subscriber is full.
+ *
+ * @author artrayme
+ * @since 0.8.2
+ */
+public enum ScEventOverflowPolicy {
+    /**
+     * The notification is dropped for this subscriber and counted in {@link ScEventPublisher#getDroppedCount()}.
+     * It is the default policy.
+     */
+    DROP,
+    /**
+     * The thread that reads events waits until the subscriber takes a notification.
+     * All events of the connection are delayed meanwhile.
+     */
+    BLOCK,
+    /**
+     * The publisher is closed exceptionally, so all subscribers receive {@link java.util.concurrent.Flow.Subscriber#onError(Throwable)}.
+     * The notification is counted in {@link ScEventPublisher#getDroppedCount()}.
+     * The publisher still must be closed to unsubscribe from the sc-event.
+     */
+    ERROR
+}
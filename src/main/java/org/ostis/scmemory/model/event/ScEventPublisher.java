@@ -0,0 +1,38 @@
+package org.ostis.scmemory.model.event;
+
+import org.ostis.scmemory.model.exception.ScMemoryException;
+
+import java.util.concurrent.Flow;
+
+/**
+ * Subscription on a sc-event in the form of {@link Flow.Publisher}.
+ * Every {@link Flow.Subscriber} has its own bounded buffer and receives
+ * notifications only after {@link Flow.Subscription#request(long)}.
+ * Events are never delivered on the thread that reads the websocket.
+ * If the buffer of a slow subscriber is full, the {@link ScEventOverflowPolicy} of the publisher is applied,
+ * by default the notification is dropped for this subscriber and counted in {@link #getDroppedCount()}.
+ * <p>
+ * Closing the publisher cancels the subscription in sc-memory and completes all subscribers.
+ *
+ * @author artrayme
+ * @since 0.8.2
+ */
+public interface ScEventPublisher extends Flow.Publisher<ScEventNotification>, AutoCloseable {
+    /**
+     * @return id of the event subscription (the same as {@link org.ostis.scmemory.model.ScMemory#subscribeOnEvent} returns)
+     */
+    Long getEventId();
+
+    /**
+     * @return number of notifications that were dropped because of overflowed subscriber buffers
+     */
+    long getDroppedCount();
+
+    /**
+     * @return what is done when the buffer of a subscriber is full
+     */
+    ScEventOverflowPolicy getOverflowPolicy();
+
+    @Override
+    void close() throws ScMemoryException;
+}
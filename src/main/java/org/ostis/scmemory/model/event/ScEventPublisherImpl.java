@@ -0,0 +1,151 @@
+package org.ostis.scmemory.model.event;
+
+import org.ostis.scmemory.model.ScMemory;
+import org.ostis.scmemory.model.element.ScElement;
+import org.ostis.scmemory.model.element.edge.ScEdge;
+import org.ostis.scmemory.model.exception.ScMemoryException;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * {@link ScEventPublisher} implementation based on {@link SubmissionPublisher}.
+ * The event client only offers notifications to the publisher, so it is never blocked by subscribers.
+ *
+ * @author artrayme
+ * @since 0.8.2
+ */
+public class ScEventPublisherImpl implements ScEventPublisher {
+    private final ScMemory memory;
+    private final SubmissionPublisher<ScEventNotification> publisher;
+    private final ScEventConsumer eventConsumer;
+    private final ScEventOverflowPolicy overflowPolicy;
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    //    is set by the thread that subscribes, but read by the thread that closes
+    private volatile Long eventId;
+
+    public ScEventPublisherImpl(ScMemory memory, EventType eventType, Executor executor, int bufferCapacity) {
+        this(
+                memory,
+                eventType,
+                executor,
+                bufferCapacity,
+                ScEventOverflowPolicy.DROP);
+    }
+
+    public ScEventPublisherImpl(ScMemory memory,
+                                EventType eventType,
+                                Executor executor,
+                                int bufferCapacity,
+                                ScEventOverflowPolicy overflowPolicy) {
+        this.memory = memory;
+        this.publisher = new SubmissionPublisher<>(
+                executor,
+                bufferCapacity);
+        this.eventConsumer = new PublishingEventConsumer(eventType);
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    /**
+     * @return consumer which should be subscribed on the sc-event to feed this publisher
+     */
+    public ScEventConsumer getEventConsumer() {
+        return eventConsumer;
+    }
+
+    public void setEventId(Long eventId) {
+        this.eventId = eventId;
+    }
+
+    @Override
+    public Long getEventId() {
+        return eventId;
+    }
+
+    @Override
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super ScEventNotification> subscriber) {
+        publisher.subscribe(subscriber);
+    }
+
+    @Override
+    public ScEventOverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    @Override
+    public void close() throws ScMemoryException {
+        //        the publisher may be already closed exceptionally on overflow, but the subscription is still active
+        if (!closed.compareAndSet(
+                false,
+                true)) {
+            return;
+        }
+        publisher.close();
+        if (eventId != null) {
+            memory.unsubscribeEvent(Stream.of(eventId));
+        }
+    }
+
+    private void publish(ScEventNotification notification) {
+        if (publisher.isClosed()) {
+            return;
+        }
+        switch (overflowPolicy) {
+            case DROP -> publisher.offer(
+                    notification,
+                    (subscriber, item) -> {
+                        dropped.incrementAndGet();
+                        return false;
+                    });
+            case BLOCK -> publisher.submit(notification);
+            case ERROR -> publisher.offer(
+                    notification,
+                    (subscriber, item) -> {
+                        dropped.incrementAndGet();
+                        publisher.closeExceptionally(new ScMemoryException("buffer of a subscriber of the event " + eventId + " is overflowed"));
+                        return false;
+                    });
+        }
+    }
+
+    private class PublishingEventConsumer implements OnEdgeEvent, OnDeleteEvent {
+        private final EventType eventType;
+
+        private PublishingEventConsumer(EventType eventType) {
+            this.eventType = eventType;
+        }
+
+        @Override
+        public void onEvent(ScElement mainElement, ScEdge edge, ScElement edgeTarget) {
+            publish(new ScEventNotificationImpl(
+                    mainElement,
+                    eventType,
+                    edge,
+                    edgeTarget));
+        }
+
+        @Override
+        public void onEvent(ScElement element) {
+            publish(new ScEventNotificationImpl(
+                    element,
+                    eventType,
+                    null,
+                    null));
+        }
+
+        @Override
+        public EventType getEventType() {
+            return eventType;
+        }
+    }
+}
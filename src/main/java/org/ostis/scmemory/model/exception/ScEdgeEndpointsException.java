@@ -0,0 +1,24 @@
+package org.ostis.scmemory.model.exception;
+
+/**
+ * This exception is indicating that the endpoints of an edge with lazily loaded endpoints cannot be found.
+ * It is unchecked because it is thrown by {@link org.ostis.scmemory.model.element.edge.ScEdge#getSource()}
+ * and {@link org.ostis.scmemory.model.element.edge.ScEdge#getTarget()}.
+ *
+ * @author artrayme
+ * @since 0.8.2
+ */
+public class ScEdgeEndpointsException extends RuntimeException {
+    private final long edgeAddress;
+
+    public ScEdgeEndpointsException(long edgeAddress, Throwable cause) {
+        super(
+                "Cannot load endpoints of the edge " + edgeAddress,
+                cause);
+        this.edgeAddress = edgeAddress;
+    }
+
+    public long getEdgeAddress() {
+        return edgeAddress;
+    }
+}
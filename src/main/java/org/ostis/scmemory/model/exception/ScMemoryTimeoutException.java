@@ -0,0 +1,16 @@
+package org.ostis.scmemory.model.exception;
+
+/**
+ * This exception is indicating that the sc memory did not answer in time,
+ * so the operation was cancelled
+ *
+ * @author artrayme
+ * @since 0.8.2
+ */
+public class ScMemoryTimeoutException extends ScMemoryException {
+    public ScMemoryTimeoutException(String message, Throwable cause) {
+        super(
+                message,
+                cause);
+    }
+}
@@ -1,8 +1,15 @@
 package org.ostis.scmemory.websocketmemory.core;
 
 import org.ostis.scmemory.websocketmemory.memory.exception.OstisConnectionException;
+import org.ostis.scmemory.websocketmemory.message.request.RequestPriority;
+import org.ostis.scmemory.websocketmemory.message.request.RequestType;
+import org.ostis.scmemory.websocketmemory.util.internal.JsonCodec;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
 import java.net.URI;
+import java.time.Duration;
 
 /**
  * This interface is designed to send requests to the database
@@ -34,7 +41,117 @@ public interface OstisClient extends AutoCloseable {
      */
     String sendToOstis(String jsonRequest) throws OstisConnectionException;
 
+    /**
+     * Method for sending a request to the database and getting the result.
+     * If the response does not come in time, the request is cancelled and its late response is discarded.
+     *
+     * @param requestId   id of the request, the response is found by it
+     * @param jsonRequest The request to be processed (in JSON format)
+     * @param timeout     max time to wait for the response
+     * @return The answer that came from the base (in JSON format)
+     * @throws OstisConnectionException database connection error
+     *                                  or {@link org.ostis.scmemory.websocketmemory.memory.exception.OstisTimeoutException} if the time is out
+     * @since 0.8.2
+     */
+    default String sendToOstis(long requestId, String jsonRequest, Duration timeout) throws OstisConnectionException {
+        //        clients written before timeouts wait as long as they did
+        return sendToOstis(jsonRequest);
+    }
+
+    /**
+     * Method for sending a request to the database and getting the deserialized result.
+     * Implementations may deserialize the response while it is being received.
+     *
+     * @param requestId    id of the request, the response is found by it
+     * @param jsonRequest  The request to be processed (in JSON format)
+     * @param responseType class the response is deserialized to
+     * @param timeout      max time to wait for the response
+     * @return The deserialized answer that came from the base
+     * @throws OstisConnectionException database connection error or the response cannot be deserialized
+     * @since 0.8.2
+     */
+    default <T> T sendToOstis(long requestId,
+                              String jsonRequest,
+                              Class<T> responseType,
+                              Duration timeout) throws OstisConnectionException {
+        String response = sendToOstis(
+                requestId,
+                jsonRequest,
+                timeout);
+        if (responseType == String.class) {
+            return responseType.cast(response);
+        }
+        try {
+            return JsonCodec.INSTANCE.reader(responseType)
+                                     .readValue(response);
+        } catch (IOException e) {
+            throw new OstisConnectionException(
+                    "cannot read the response to the request " + requestId,
+                    e);
+        }
+    }
+
+    /**
+     * Method for sending a request that is serialized directly into the connection and getting the deserialized result.
+     * Implementations may send a big request in fragments while it is being serialized,
+     * so the whole text of the request is never kept in memory.
+     * By default, the request is written into a string.
+     *
+     * @param requestId    id of the request, the response is found by it
+     * @param requestType  type of the request, or null if it is unknown
+     * @param priority     priority of the request in the local queue
+     * @param request      writes the request (in JSON format)
+     * @param responseType class the response is deserialized to
+     * @param timeout      max time to wait for the response
+     * @return The deserialized answer that came from the base
+     * @throws OstisConnectionException database connection error or the request cannot be serialized
+     * @since 0.8.2
+     */
+    default <T> T sendToOstis(long requestId,
+                              RequestType requestType,
+                              RequestPriority priority,
+                              RequestWriter request,
+                              Class<T> responseType,
+                              Duration timeout) throws OstisConnectionException {
+        StringWriter out = new StringWriter();
+        try {
+            request.writeTo(out);
+        } catch (IOException e) {
+            throw new OstisConnectionException(
+                    "cannot write the request " + requestId,
+                    e);
+        }
+        return sendToOstis(
+                requestId,
+                out.toString(),
+                responseType,
+                timeout);
+    }
+
+    /**
+     * @return timeout of requests sent without explicit timeout,
+     * by default null - the client does not limit the time of requests
+     * @since 0.8.2
+     */
+    default Duration getDefaultTimeout() {
+        return null;
+    }
+
     URI getConfiguration();
 
     String getName();
+
+    /**
+     * Serializer of one request.
+     *
+     * @since 0.8.2
+     */
+    @FunctionalInterface
+    interface RequestWriter {
+        /**
+         * @param out the request is written into it. The message is finished after the method returns,
+         *            closing of the writer is ignored
+         */
+        void writeTo(Writer out) throws IOException;
+    }
 }
@@ -11,6 +11,7 @@ import org.ostis.scmemory.model.element.link.ScLink;
 import org.ostis.scmemory.model.element.link.ScLinkBinary;
 import org.ostis.scmemory.model.element.link.ScLinkFloat;
 import org.ostis.scmemory.model.element.link.ScLinkInteger;
+import org.ostis.scmemory.model.element.link.ScLinkLazy;
 import org.ostis.scmemory.model.element.link.ScLinkString;
 import org.ostis.scmemory.model.element.node.NodeType;
 import org.ostis.scmemory.model.element.node.ScNode;
@@ -20,6 +21,7 @@ import org.ostis.scmemory.model.event.ScEventConsumer;
 import org.ostis.scmemory.model.exception.ScMemoryException;
 import org.ostis.scmemory.model.pattern.ScPattern;
 import org.ostis.scmemory.model.pattern.ScPatternTriplet;
+import org.ostis.scmemory.model.pattern.element.PatternElement;
 import org.ostis.scmemory.model.pattern.element.ScAliasedElement;
 import org.ostis.scmemory.model.pattern.element.ScFixedElement;
 import org.ostis.scmemory.model.pattern.element.ScPatternElement;
@@ -29,13 +31,29 @@ import org.ostis.scmemory.model.pattern.pattern3.ScPattern3;
 import org.ostis.scmemory.model.pattern.pattern5.ScConstruction5;
 import org.ostis.scmemory.model.pattern.pattern5.ScPattern5;
 import org.ostis.scmemory.websocketmemory.core.OstisClient;
-import org.ostis.scmemory.websocketmemory.memory.core.OstisClientSync;
+import org.ostis.scmemory.websocketmemory.memory.batch.BatchLoader;
+import org.ostis.scmemory.websocketmemory.memory.batch.LinkContentLoader;
+import org.ostis.scmemory.websocketmemory.memory.batch.RequestCoalescer;
+import org.ostis.scmemory.websocketmemory.memory.batch.RequestPipeline;
+import org.ostis.scmemory.websocketmemory.memory.core.AbstractOstisClient;
+import org.ostis.scmemory.websocketmemory.memory.core.ConcurrencyLimiter;
+import org.ostis.scmemory.websocketmemory.memory.core.OstisClientFactory;
+import org.ostis.scmemory.websocketmemory.memory.core.ReconnectPolicy;
+import org.ostis.scmemory.websocketmemory.memory.element.AbstractScLinkLazy;
+import org.ostis.scmemory.websocketmemory.memory.element.EdgeEndpoints;
+import org.ostis.scmemory.websocketmemory.memory.element.EdgeEndpointsResolver;
 import org.ostis.scmemory.websocketmemory.memory.element.ScEdgeImpl;
+import org.ostis.scmemory.websocketmemory.memory.element.ScElementIdentityMap;
 import org.ostis.scmemory.websocketmemory.memory.element.ScEntity;
 import org.ostis.scmemory.websocketmemory.memory.element.ScLinkBinaryImpl;
+import org.ostis.scmemory.websocketmemory.memory.element.ScLinkBinaryLazyImpl;
 import org.ostis.scmemory.websocketmemory.memory.element.ScLinkFloatImpl;
+import org.ostis.scmemory.websocketmemory.memory.element.ScLinkFloatLazyImpl;
 import org.ostis.scmemory.websocketmemory.memory.element.ScLinkIntegerImpl;
+import org.ostis.scmemory.websocketmemory.memory.element.ScLinkIntegerLazyImpl;
+import org.ostis.scmemory.websocketmemory.memory.element.ScLinkLazyImpl;
 import org.ostis.scmemory.websocketmemory.memory.element.ScLinkStringImpl;
+import org.ostis.scmemory.websocketmemory.memory.element.ScLinkStringLazyImpl;
 import org.ostis.scmemory.websocketmemory.memory.element.ScNodeImpl;
 import org.ostis.scmemory.websocketmemory.memory.event.ScEventWebsocketImpl;
 import org.ostis.scmemory.websocketmemory.memory.exception.ExceptionMessages;
@@ -44,6 +62,7 @@ import org.ostis.scmemory.websocketmemory.memory.message.request.CreateScElReque
 import org.ostis.scmemory.websocketmemory.memory.message.request.DeleteScElRequestImpl;
 import org.ostis.scmemory.websocketmemory.memory.message.request.FindByNameRequestImpl;
 import org.ostis.scmemory.websocketmemory.memory.message.request.FindByPatternRequestImpl;
+import org.ostis.scmemory.websocketmemory.memory.message.request.FindByPreparedPatternRequestImpl;
 import org.ostis.scmemory.websocketmemory.memory.message.request.FindStringBySubstringRequestImpl;
 import org.ostis.scmemory.websocketmemory.memory.message.request.GenerateByPatternRequestImpl;
 import org.ostis.scmemory.websocketmemory.memory.message.request.GetLinkContentRequestImpl;
@@ -52,13 +71,16 @@ import org.ostis.scmemory.websocketmemory.memory.message.request.SetLinkContentR
 import org.ostis.scmemory.websocketmemory.memory.message.request.EventRequestImpl;
 import org.ostis.scmemory.websocketmemory.memory.message.response.EventMessage;
 import org.ostis.scmemory.websocketmemory.memory.pattern.DefaultWebsocketScPattern;
+import org.ostis.scmemory.websocketmemory.memory.pattern.PreparedScPattern;
 import org.ostis.scmemory.websocketmemory.memory.pattern.SearchingPatternTriple;
 import org.ostis.scmemory.websocketmemory.memory.pattern.element.AliasPatternElement;
 import org.ostis.scmemory.websocketmemory.memory.pattern.element.FixedPatternElement;
 import org.ostis.scmemory.websocketmemory.memory.pattern.element.TypePatternElement;
 import org.ostis.scmemory.websocketmemory.memory.sender.RequestSenderImpl;
+import org.ostis.scmemory.websocketmemory.memory.structures.CompactScElements;
 import org.ostis.scmemory.websocketmemory.memory.structures.FindKeynodeStruct;
 import org.ostis.scmemory.websocketmemory.memory.structures.ResolveKeynodeStruct;
+import org.ostis.scmemory.websocketmemory.memory.structures.ScElementColumns;
 import org.ostis.scmemory.websocketmemory.memory.structures.ScConstruction3Impl;
 import org.ostis.scmemory.websocketmemory.memory.structures.ScConstruction5Impl;
 import org.ostis.scmemory.websocketmemory.message.request.CheckScElTypeRequest;
@@ -66,12 +88,14 @@ import org.ostis.scmemory.websocketmemory.message.request.CreateScElRequest;
 import org.ostis.scmemory.websocketmemory.message.request.DeleteScElRequest;
 import org.ostis.scmemory.websocketmemory.message.request.FindByNameRequest;
 import org.ostis.scmemory.websocketmemory.message.request.FindByPatternRequest;
+import org.ostis.scmemory.websocketmemory.message.request.FindByPreparedPatternRequest;
 import org.ostis.scmemory.websocketmemory.message.request.FindStringBySubstringRequest;
 import org.ostis.scmemory.websocketmemory.message.request.GenerateByPatternRequest;
 import org.ostis.scmemory.websocketmemory.message.request.GetLinkContentRequest;
 import org.ostis.scmemory.websocketmemory.message.request.KeynodeRequest;
+import org.ostis.scmemory.websocketmemory.message.request.RequestPriority;
 import org.ostis.scmemory.websocketmemory.message.request.EventRequest;
-import org.ostis.scmemory.websocketmemory.message.response.CheckScElTypeResponse;
+import org.ostis.scmemory.websocketmemory.message.response.AddressTable;
 import org.ostis.scmemory.websocketmemory.message.response.CreateScElResponse;
 import org.ostis.scmemory.websocketmemory.message.response.DeleteScElResponse;
 import org.ostis.scmemory.websocketmemory.message.response.FindByNameResponce;
@@ -83,22 +107,26 @@ import org.ostis.scmemory.websocketmemory.message.response.KeynodeResponse;
 import org.ostis.scmemory.websocketmemory.message.response.SetLinkContentResponse;
 import org.ostis.scmemory.websocketmemory.message.response.EventResponse;
 import org.ostis.scmemory.websocketmemory.sender.RequestSender;
+import org.ostis.scmemory.websocketmemory.util.api.ScTypesMap;
 
 import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.net.URI;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Base64;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 
@@ -119,31 +147,104 @@ import java.util.stream.Stream;
  * @since 0.0.1
  */
 public class SyncOstisScMemory implements ScMemory {
-    private final RequestSender requestSender;
+    private static final int DEFAULT_BULK_REQUEST_SIZE = 1000;
+    private static final int DEFAULT_PIPELINE_DEPTH = 16;
+
+    private final RequestSenderImpl requestSender;
     private final RequestSender eventSender;
-    private final OstisClient ostisClient;
-    private final OstisClient eventOstisClient;
-    private final Map<Long, ScElement> searchedScElements = new HashMap<>();
-    private final ForkJoinPool forkJoinPool = ForkJoinPool.commonPool();
-    private final Map<Long, ScEventWebsocketImpl> eventConsumerMap = new HashMap<>();
+    private final AbstractOstisClient ostisClient;
+    private final AbstractOstisClient eventOstisClient;
+    //    is connected on the first bulk request if bulk requests use a separate connection
+    private final AbstractOstisClient bulkOstisClient;
+    private volatile RequestSender bulkSender;
+    private volatile boolean separateBulkConnection = true;
+    private volatile boolean bulkConnectionOpen;
+    private final Object bulkConnectionLock = new Object();
+    private volatile int bulkRequestSize = DEFAULT_BULK_REQUEST_SIZE;
+    private volatile RequestPipeline pipeline = new RequestPipeline(DEFAULT_PIPELINE_DEPTH);
+    //    server-side event id -> subscription, it is replaced as a whole when subscriptions are restored
+    private volatile Map<Long, ScEventWebsocketImpl> eventConsumerMap = new ConcurrentHashMap<>();
+    //    event id returned to the user -> current server-side event id (they differ after reconnect)
+    private final Map<Long, Long> subscriptionIds = new ConcurrentHashMap<>();
+    //    ids returned to the user are issued here, so they never collide with server-side ids
+    private final AtomicLong nextSubscriptionId = new AtomicLong(1);
+    private final Object subscriptionLock = new Object();
+    private final LinkContentLoader linkContentLoader = new LinkContentLoader(
+            this::createLinksByAddresses,
+            1000);
+    private volatile boolean lazyLinkContent;
+    private volatile LinkContentType lazyLinkContentType;
+    private volatile ScElementIdentityMap identityMap;
+    private final BatchLoader<Long, EdgeEndpoints> edgeEndpointsLoader = new BatchLoader<>(
+            this::findEdgeEndpoints,
+            100);
+    private final EdgeEndpointsResolver edgeEndpointsResolver = edge -> {
+        EdgeEndpoints endpoints = edgeEndpointsLoader.load(edge);
+        if (endpoints == null) {
+            throw new ScMemoryException("Cannot find endpoints of the edge " + edge);
+        }
+        return endpoints;
+    };
+    private volatile RequestCoalescer<ScEntity, Long> creationCoalescer;
+    private volatile RequestCoalescer<String, Optional<? extends ScNode>> keynodeCoalescer;
+    private volatile RequestCoalescer<Long, Object> linkContentCoalescer;
 
     public SyncOstisScMemory(URI serverURI) {
-        ostisClient = new OstisClientSync(
+        this(
+                serverURI,
+                ReconnectPolicy.defaultPolicy());
+    }
+
+    public SyncOstisScMemory(URI serverURI, ReconnectPolicy reconnectPolicy) {
+        this(
+                serverURI,
+                reconnectPolicy,
+                OstisClientFactory.tyrus());
+    }
+
+    /**
+     * @param clientFactory websocket transport, e.g. {@link OstisClientFactory#jdk()}
+     * @since 0.8.2
+     */
+    public SyncOstisScMemory(URI serverURI, ReconnectPolicy reconnectPolicy, OstisClientFactory clientFactory) {
+        ostisClient = clientFactory.create(
                 serverURI,
                 e -> {
                     throw new RuntimeException("Unexpected event: " + e);
                 },
-                "Main client");
-        eventOstisClient = new OstisClientSync(
+                "Main client",
+                reconnectPolicy,
+                () -> {
+                });
+        eventOstisClient = clientFactory.create(
                 serverURI,
                 this::runEvent,
-                "Client for events");
+                "Client for events",
+                reconnectPolicy,
+                this::resubscribeEvents);
+        bulkOstisClient = clientFactory.create(
+                serverURI,
+                e -> {
+                    throw new RuntimeException("Unexpected event: " + e);
+                },
+                "Client for bulk requests",
+                reconnectPolicy,
+                () -> {
+                });
         requestSender = new RequestSenderImpl(ostisClient);
         eventSender = new RequestSenderImpl(eventOstisClient);
+        bulkSender = new RequestSenderImpl(bulkOstisClient).withPriority(RequestPriority.BULK);
+        setRequestCoalescing(
+                1000,
+                Duration.ZERO);
     }
 
     private void runEvent(EventMessage eventMessage) {
         var eventInfo = eventConsumerMap.get(eventMessage.getResponseId());
+        if (eventInfo == null) {
+            //            event was emitted before unsubscribing or before subscriptions were restored
+            return;
+        }
         var addrs = eventMessage.getScAddrs();
         switch (eventInfo.getEventConsumer()
                          .getEventType()) {
@@ -160,14 +261,17 @@ public class SyncOstisScMemory implements ScMemory {
 
     private void runEdgeEvent(ScEventWebsocketImpl eventInfo, List<Long> addrs) {
         try {
+            List<Object> types = checkElementTypes(List.of(
+                    addrs.get(1),
+                    addrs.get(2)));
             ScElement targetEdgeElement = createScElementByType(
-                    checkElementType(addrs.get(2)),
+                    types.get(1),
                     addrs.get(2));
-            ScEdge edge = new ScEdgeImpl(
-                    (EdgeType) checkElementType(addrs.get(1)),
+            ScEdge edge = identity(new ScEdgeImpl(
+                    (EdgeType) types.get(0),
                     eventInfo.getTrackingElement(),
                     targetEdgeElement,
-                    addrs.get(1));
+                    addrs.get(1)));
             ((OnEdgeEvent) eventInfo.getEventConsumer()).onEvent(
                     eventInfo.getTrackingElement(),
                     edge,
@@ -181,22 +285,190 @@ public class SyncOstisScMemory implements ScMemory {
         return ostisClient.getConfiguration();
     }
 
+    /**
+     * In the lazy mode links found by patterns are returned as {@link ScLinkLazy}
+     * and their content is downloaded only when it is requested.
+     *
+     * @param lazyLinkContent true to enable lazy mode
+     * @since 0.8.2
+     */
+    public void setLazyLinkContent(boolean lazyLinkContent) {
+        this.lazyLinkContentType = null;
+        this.lazyLinkContent = lazyLinkContent;
+    }
+
+    /**
+     * Enables the lazy mode for links with the known content type.
+     * A search result has only sc-types of links, so the content type is taken from here:
+     * found links are {@link ScLinkLazy} and {@link ScLinkString}, {@link ScLinkInteger},
+     * {@link ScLinkFloat} or {@link ScLinkBinary} at the same time, and can be passed to the typed content operations.
+     * The download of a link with another content type fails with {@link ScMemoryException}.
+     *
+     * @param contentType content type of found links
+     * @since 0.8.2
+     */
+    public void setLazyLinkContent(LinkContentType contentType) {
+        this.lazyLinkContentType = contentType;
+        this.lazyLinkContent = true;
+    }
+
+    public boolean isLazyLinkContent() {
+        return lazyLinkContent;
+    }
+
+    /**
+     * @return content type of links found in the lazy mode, or null if it is not known before the download
+     * @since 0.8.2
+     */
+    public LinkContentType getLazyLinkContentType() {
+        return lazyLinkContentType;
+    }
+
+    /**
+     * With an identity map nodes and edges that are found, created or received in events are represented
+     * by the same objects while the application uses them, so they may be compared by reference.
+     * Links are not mapped, because they keep their content at the moment of the request.
+     * <p>
+     * Pass {@link ScElementIdentityMap#global()} to share elements between all memories connected to the same base.
+     *
+     * @param identityMap map of elements, or null to disable it (disabled by default)
+     * @since 0.8.2
+     */
+    public void setIdentityMap(ScElementIdentityMap identityMap) {
+        this.identityMap = identityMap;
+    }
+
+    public ScElementIdentityMap getIdentityMap() {
+        return identityMap;
+    }
+
+    private <T extends ScElement> T identity(T element) {
+        ScElementIdentityMap map = identityMap;
+        return map == null ? element : map.intern(element);
+    }
+
+    /**
+     * If the base does not answer a request in time, the operation fails with
+     * {@link org.ostis.scmemory.model.exception.ScMemoryTimeoutException}.
+     *
+     * @param timeout max time to wait for each response (60 s by default)
+     * @since 0.8.2
+     */
+    public void setRequestTimeout(Duration timeout) {
+        ostisClient.setDefaultTimeout(timeout);
+        eventOstisClient.setDefaultTimeout(timeout);
+        bulkOstisClient.setDefaultTimeout(timeout);
+    }
+
+    public Duration getRequestTimeout() {
+        return ostisClient.getDefaultTimeout();
+    }
+
+    /**
+     * Limits the number of requests of each type waiting for a response, the rest wait in a local queue.
+     * The limit adapts to the round-trip time of requests, so the base is not flooded under load.
+     *
+     * @param configuration parameters of the adaptive limit
+     *                      ({@link ConcurrencyLimiter.Configuration#defaultConfiguration()} by default),
+     *                      or null to send all requests immediately
+     * @since 0.8.2
+     */
+    public void setConcurrencyLimit(ConcurrencyLimiter.Configuration configuration) {
+        ostisClient.setConcurrencyLimit(configuration);
+        eventOstisClient.setConcurrencyLimit(configuration);
+        bulkOstisClient.setConcurrencyLimit(configuration);
+    }
+
+    /**
+     * Requests with many elements (creating, deleting, working with content of links) are sent
+     * with {@link RequestPriority#BULK} priority, so short requests of other threads go out ahead of them.
+     *
+     * @param bulkRequestSize min number of elements in a bulk request (1000 by default)
+     * @since 0.8.2
+     */
+    public void setBulkRequestSize(int bulkRequestSize) {
+        if (bulkRequestSize < 1) {
+            throw new IllegalArgumentException("Bulk request size must be positive, but it is " + bulkRequestSize);
+        }
+        this.bulkRequestSize = bulkRequestSize;
+    }
+
+    public int getBulkRequestSize() {
+        return bulkRequestSize;
+    }
+
+    /**
+     * @param pipelineDepth max number of searches of one batch that are sent concurrently (16 by default),
+     *                      see {@link #find(Stream)} and {@link #findByPattern3Batch(Stream)}
+     * @since 0.8.2
+     */
+    public void setPipelineDepth(int pipelineDepth) {
+        pipeline = new RequestPipeline(pipelineDepth);
+    }
+
+    public int getPipelineDepth() {
+        return pipeline.getDepth();
+    }
+
+    /**
+     * Bulk requests are sent through their own connection, which is opened on the first bulk request.
+     * A message holds its connection until all its fragments are written,
+     * so {@link RequestPriority} orders only messages that are not written yet:
+     * in a shared connection a short request still waits for the bulk message being written.
+     * Must be called before {@link #open()}.
+     *
+     * @param separateBulkConnection whether bulk requests use a separate connection (true by default)
+     * @since 0.8.2
+     */
+    public void setSeparateBulkConnection(boolean separateBulkConnection) {
+        this.separateBulkConnection = separateBulkConnection;
+        RequestSender sender = separateBulkConnection ? new RequestSenderImpl(bulkOstisClient) : requestSender;
+        bulkSender = sender.withPriority(RequestPriority.BULK);
+    }
+
+    public boolean isSeparateBulkConnection() {
+        return separateBulkConnection;
+    }
+
+    /**
+     * Single-element calls from different threads (creating one element, finding one keynode,
+     * getting content of one link) are merged into one request.
+     * The first caller sends its request immediately, calls made while a request is in progress are sent together.
+     * When several calls were merged, the next batch additionally waits up to {@code maxDelay} for more calls.
+     *
+     * @param maxBatchSize max number of merged calls, 1 disables merging
+     * @param maxDelay     max time to wait for other calls under load
+     * @since 0.8.2
+     */
+    public void setRequestCoalescing(int maxBatchSize, Duration maxDelay) {
+        long maxDelayNanos = maxDelay.toNanos();
+        creationCoalescer = new RequestCoalescer<>(
+                elements -> sendCreateRequest(
+                        elements,
+                        requestSender),
+                maxBatchSize,
+                maxDelayNanos);
+        keynodeCoalescer = new RequestCoalescer<>(
+                this::findKeynodes,
+                maxBatchSize,
+                maxDelayNanos);
+        linkContentCoalescer = new RequestCoalescer<>(
+                this::sendGetLinkContentRequest,
+                maxBatchSize,
+                maxDelayNanos);
+    }
+
     @Override
     public Stream<? extends ScNode> createNodes(Stream<NodeType> elements) throws ScMemoryException {
         List<ScNodeImpl> nodesToCreate = elements.map(ScNodeImpl::new)
                                                  .toList();
-        CreateScElRequest request = new CreateScElRequestImpl();
-        request.addToRequest(nodesToCreate);
-
-        CreateScElResponse response = requestSender.sendCreateElRequest(request);
-
-        var addresses = response.getAddresses()
-                                .toList();
+        List<Long> addresses = createElements(nodesToCreate);
         for (int i = 0; i < addresses.size(); i++) {
             ScNodeImpl node = nodesToCreate.get(i);
             long address = addresses.get(i);
             node.setAddress(address);
         }
+        remember(nodesToCreate);
         return nodesToCreate.stream();
     }
 
@@ -210,28 +482,24 @@ public class SyncOstisScMemory implements ScMemory {
         if (typesList.size() != sourcesList.size() || sourcesList.size() != targetsList.size()) {
             throw new IllegalArgumentException("The length of the passed lists are not the same." + "types.size = " + typesList.size() + ", sources.size = " + sourcesList.size() + ", targets.size = " + targetsList.size());
         }
-        List<ScEdge> result = new ArrayList<>();
-        CreateScElRequest request = new CreateScElRequestImpl();
+        List<ScEdgeImpl> result = new ArrayList<>();
         Iterator<EdgeType> elementsTypesIter = typesList.iterator();
         Iterator<? extends ScElement> firstComponentsIter = sourcesList.iterator();
         Iterator<? extends ScElement> secondComponentsIter = targetsList.iterator();
         while (elementsTypesIter.hasNext()) {
-            ScEdge edge = new ScEdgeImpl(
+            ScEdgeImpl edge = new ScEdgeImpl(
                     elementsTypesIter.next(),
                     firstComponentsIter.next(),
                     secondComponentsIter.next());
-            request.addElementToRequest(edge);
             result.add(edge);
         }
-        CreateScElResponse response = requestSender.sendCreateElRequest(request);
-
-        var addresses = response.getAddresses()
-                                .toList();
+        List<Long> addresses = createElements(result);
         for (int i = 0; i < addresses.size(); i++) {
-            ScEdge e = result.get(i);
-            ((ScEdgeImpl) e).setAddress(addresses.get(i));
+            result.get(i)
+                  .setAddress(addresses.get(i));
 
         }
+        remember(result);
         return result.stream();
     }
 
@@ -278,18 +546,56 @@ public class SyncOstisScMemory implements ScMemory {
     @Override
     public boolean deleteElements(Stream<? extends ScElement> elements) throws ScMemoryException {
         DeleteScElRequest request = new DeleteScElRequestImpl();
-        elements.forEach(el -> request.addAddressToRequest(el.getAddress()));
-
-        DeleteScElResponse response = requestSender.sendDeleteElRequest(request);
+        List<? extends ScElement> elementsList = elements.toList();
+        elementsList.forEach(el -> request.addAddressToRequest(el.getAddress()));
+
+        DeleteScElResponse response = senderFor(elementsList.size()).sendDeleteElRequest(request);
+        ScElementIdentityMap map = identityMap;
+        if (map != null) {
+            //            the base may give the addresses to new elements
+            elementsList.forEach(el -> map.remove(el.getAddress()));
+        }
 
         return response.getResponseStatus();
     }
 
+    private void remember(List<? extends ScElement> created) {
+        ScElementIdentityMap map = identityMap;
+        if (map != null) {
+            created.forEach(map::put);
+        }
+    }
+
     @Override
-    @SuppressWarnings("unchecked")
     public <t1 extends ScElement, t3, T3 extends ScElement> Stream<? extends ScConstruction3<t1, T3>> findByPattern3(
             ScPattern3<t1, t3, T3> pattern) throws ScMemoryException {
+        return this.<t1, T3>toConstructions3(findPattern(
+                           toScPattern(pattern),
+                           requestSender))
+                   .stream();
+    }
 
+    /**
+     * Searches by all patterns with up to {@link #getPipelineDepth()} requests in flight.
+     * Big batches (see {@link #setBulkRequestSize(int)}) are sent as bulk requests.
+     *
+     * @since 0.8.2
+     */
+    @Override
+    public <t1 extends ScElement, t3, T3 extends ScElement> Stream<Stream<? extends ScConstruction3<t1, T3>>> findByPattern3Batch(
+            Stream<ScPattern3<t1, t3, T3>> patterns) throws ScMemoryException {
+        List<ScPattern3<t1, t3, T3>> patternList = patterns.toList();
+        RequestSender sender = senderFor(patternList.size());
+        return pipeline.run(
+                               patternList,
+                               pattern -> this.<t1, T3>toConstructions3(findPattern(
+                                       toScPattern(pattern),
+                                       sender)))
+                       .stream()
+                       .<Stream<? extends ScConstruction3<t1, T3>>>map(List::stream);
+    }
+
+    private <t1 extends ScElement, t3, T3 extends ScElement> ScPattern toScPattern(ScPattern3<t1, t3, T3> pattern) {
         ScPattern pattern3 = new DefaultWebsocketScPattern();
 
         ScPatternTriplet triple = new SearchingPatternTriple(
@@ -301,9 +607,12 @@ public class SyncOstisScMemory implements ScMemory {
                         pattern.get3(),
                         new AliasPatternElement("element_3")));
         pattern3.addElement(triple);
+        return pattern3;
+    }
 
-        var response = this.find(pattern3);
-
+    @SuppressWarnings("unchecked")
+    private <t1 extends ScElement, T3 extends ScElement> List<ScConstruction3<t1, T3>> toConstructions3(
+            Stream<Stream<? extends ScElement>> response) {
         List<Stream<? extends ScElement>> streams = response.toList();
         List<ScConstruction3<t1, T3>> result = new ArrayList<>(streams.size());
         for (Stream<? extends ScElement> stream : streams) {
@@ -314,8 +623,7 @@ public class SyncOstisScMemory implements ScMemory {
                     ((T3) currentTriplet.get(2)));
             result.add(temp);
         }
-
-        return result.stream();
+        return result;
     }
 
     @Override
@@ -366,8 +674,407 @@ public class SyncOstisScMemory implements ScMemory {
     }
 
     public Stream<Stream<? extends ScElement>> find(ScPattern pattern) throws ScMemoryException {
-        searchedScElements.clear();
-        return findPattern(pattern);
+        return findPattern(
+                pattern,
+                requestSender);
+    }
+
+    /**
+     * Searches by all patterns with up to {@link #getPipelineDepth()} requests in flight.
+     * Big batches (see {@link #setBulkRequestSize(int)}) are sent as bulk requests.
+     *
+     * @since 0.8.2
+     */
+    @Override
+    public Stream<Stream<Stream<? extends ScElement>>> find(Stream<ScPattern> patterns) throws ScMemoryException {
+        List<ScPattern> patternList = patterns.toList();
+        RequestSender sender = senderFor(patternList.size());
+        return pipeline.run(
+                               patternList,
+                               pattern -> findPattern(
+                                       pattern,
+                                       sender).toList())
+                       .stream()
+                       .map(List::stream);
+    }
+
+    /**
+     * Searches by the pattern, but creates only elements with the passed aliases.
+     * Other elements of found constructions (e.g. edges the caller does not need) are not created,
+     * their types are not checked and contents of links are not loaded.
+     *
+     * @param pattern    {@link ScPattern} that store your pattern.
+     * @param projection aliases of typed elements of the pattern, they are matched by name
+     * @return stream of streams with found elements. Each nested stream store elements in the order of the passed aliases
+     * @throws ScMemoryException        - see cause for more details.
+     * @throws IllegalArgumentException if no aliases are passed or an alias is not declared by a typed element of the pattern
+     * @since 0.8.2
+     */
+    @Override
+    public Stream<Stream<? extends ScElement>> find(ScPattern pattern,
+                                                    ScAliasedElement... projection) throws ScMemoryException {
+        if (projection.length == 0) {
+            throw new IllegalArgumentException("Projection must contain at least one alias");
+        }
+        List<ScPatternElement> patternElements = flatten(pattern);
+        Map<String, Integer> typedColumns = new HashMap<>();
+        for (int column = 0; column < patternElements.size(); column++) {
+            if (patternElements.get(column) instanceof ScTypedElement<?> typed && typed.getAlias() != null) {
+                typedColumns.putIfAbsent(
+                        typed.getAlias()
+                             .getAlias(),
+                        column);
+            }
+        }
+        int[] columns = new int[projection.length];
+        for (int i = 0; i < projection.length; i++) {
+            Integer column = typedColumns.get(projection[i].getAlias());
+            if (column == null) {
+                throw new IllegalArgumentException("Alias " + projection[i].getAlias() + " is not declared by a typed element of the pattern");
+            }
+            columns[i] = column;
+        }
+
+        AddressTable rows = searchAddresses(pattern);
+        Map<Long, ScLink> links = prefetchLinks(
+                rows,
+                rows.getRowCount(),
+                patternElements,
+                columns);
+        List<Stream<? extends ScElement>> result = new ArrayList<>(rows.getRowCount());
+        for (int row = 0; row < rows.getRowCount(); row++) {
+            List<ScElement> construction = new ArrayList<>(columns.length);
+            for (int column : columns) {
+                ScElement element = getScElementTypeTiny(
+                        ((ScTypedElement<?>) patternElements.get(column)).getValue(),
+                        rows.get(
+                                row,
+                                column),
+                        links);
+                construction.add(element);
+            }
+            result.add(construction.stream());
+        }
+        return result.stream();
+    }
+
+    /**
+     * Searches by the pattern, but creates elements only of the first found construction.
+     *
+     * @param pattern {@link ScPattern} that store your pattern.
+     * @return elements of the first found construction in the order of the pattern, or empty if nothing is found
+     * @throws ScMemoryException - see cause for more details.
+     * @since 0.8.2
+     */
+    @Override
+    public Optional<Stream<? extends ScElement>> findFirst(ScPattern pattern) throws ScMemoryException {
+        List<ScPatternElement> patternElements = flatten(pattern);
+        AddressTable rows = searchAddresses(pattern);
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        List<ScElement> construction = mapPatternElementsToScElements(
+                rows,
+                0,
+                patternElements,
+                new HashMap<>(),
+                prefetchLinks(
+                        rows,
+                        1,
+                        patternElements,
+                        IntStream.range(
+                                         0,
+                                         Math.min(
+                                                 patternElements.size(),
+                                                 rows.getRowLength()))
+                                 .toArray()));
+        return Optional.of(construction.stream());
+    }
+
+    /**
+     * Searches by the pattern3, but creates elements only of the first found construction.
+     *
+     * @return the first found construction, or empty if nothing is found
+     * @since 0.8.2
+     */
+    @Override
+    public <t1 extends ScElement, t3, T3 extends ScElement> Optional<? extends ScConstruction3<t1, T3>> findFirstByPattern3(
+            ScPattern3<t1, t3, T3> pattern) throws ScMemoryException {
+        Optional<Stream<? extends ScElement>> first = findFirst(toScPattern(pattern));
+        if (first.isEmpty()) {
+            return Optional.empty();
+        }
+        return this.<t1, T3>toConstructions3(Stream.of(first.get()))
+                   .stream()
+                   .findFirst();
+    }
+
+    /**
+     * Counts found constructions without creating any elements.
+     *
+     * @param pattern {@link ScPattern} that store your pattern.
+     * @return number of found constructions
+     * @throws ScMemoryException - see cause for more details.
+     * @since 0.8.2
+     */
+    @Override
+    public int count(ScPattern pattern) throws ScMemoryException {
+        return searchAddresses(pattern).getRowCount();
+    }
+
+    /**
+     * @param pattern {@link ScPattern} that store your pattern.
+     * @return true if at least one construction is found. No elements are created
+     * @throws ScMemoryException - see cause for more details.
+     * @since 0.8.2
+     */
+    @Override
+    public boolean exists(ScPattern pattern) throws ScMemoryException {
+        return !searchAddresses(pattern).isEmpty();
+    }
+
+    private AddressTable searchAddresses(ScPattern pattern) throws ScMemoryException {
+        FindByPatternRequest request = new FindByPatternRequestImpl();
+        pattern.getElements()
+               .forEach(request::addComponent);
+        return requestSender.sendFindByPatternRequest(request)
+                            .getFoundAddressTable();
+    }
+
+    private List<ScPatternElement> flatten(ScPattern pattern) {
+        return pattern.getElements()
+                      .flatMap(e -> Stream.of(
+                              e.get1(),
+                              e.get2(),
+                              e.get3()))
+                      .toList();
+    }
+
+    /**
+     * Searches by the pattern compiled beforehand. Unlike {@link #find(ScPattern)},
+     * the request is not built from pattern objects: addresses of parameters are inserted into the rendered JSON,
+     * and aliases are taken from the columns resolved at the compilation.
+     * Use it for templates that are searched many times with different fixed elements.
+     *
+     * @param pattern    compiled pattern
+     * @param parameters fixed elements in the order of their appearance in the pattern.
+     *                   They are returned as is in the places of fixed elements.
+     * @return found constructions, the same as {@link #find(ScPattern)} returns
+     * @throws ScMemoryException        - see cause for more details.
+     * @throws IllegalArgumentException if the number of parameters does not match the pattern
+     * @since 0.8.2
+     */
+    public Stream<Stream<? extends ScElement>> find(PreparedScPattern pattern,
+                                                    ScElement... parameters) throws ScMemoryException {
+        FindByPreparedPatternRequest request = new FindByPreparedPatternRequestImpl(pattern.render(parameters));
+        AddressTable rows = requestSender.sendFindByPreparedPatternRequest(request)
+                                         .getFoundAddressTable();
+        List<ScPatternElement> patternElements = pattern.getElements();
+        Map<Long, ScLink> links = prefetchLinks(
+                rows,
+                patternElements);
+        int columns = Math.min(
+                patternElements.size(),
+                rows.getRowLength());
+        List<Stream<? extends ScElement>> result = new ArrayList<>(rows.getRowCount());
+        for (int row = 0; row < rows.getRowCount(); row++) {
+            ScElement[] construction = new ScElement[columns];
+            for (int column = 0; column < columns; column++) {
+                int parameter = pattern.getParameter(column);
+                if (parameter != -1) {
+                    construction[column] = parameters[parameter];
+                } else if (patternElements.get(column) instanceof ScTypedElement<?> typed) {
+                    construction[column] = getScElementTypeTiny(
+                            typed.getValue(),
+                            rows.get(
+                                    row,
+                                    column),
+                            links);
+                }
+            }
+            //            aliases may refer to elements declared later in the pattern, so they are filled after all typed elements
+            for (int column = 0; column < columns; column++) {
+                int aliasColumn = pattern.getAliasColumn(column);
+                if (aliasColumn != -1 && aliasColumn < columns) {
+                    construction[column] = construction[aliasColumn];
+                }
+            }
+            for (int column = 1; column + 1 < columns; column += 3) {
+                if (pattern.getParameter(column) == -1 && patternElements.get(column) instanceof ScTypedElement<?>) {
+                    setEdgeEndpoints(
+                            construction[column - 1],
+                            construction[column],
+                            construction[column + 1]);
+                }
+            }
+            result.add(Arrays.stream(construction));
+        }
+        return result.stream();
+    }
+
+    /**
+     * Same search as {@link #find(ScPattern)}, but the result is kept in the compact form:
+     * an address and a type code per found element, without {@link ScElement} objects.
+     * Views of elements are created on demand, links are lazy and edges resolve their endpoints on first access.
+     * Use it for big results that are kept in memory.
+     * <p>
+     * Types of elements are taken from the pattern. Types of elements searched as
+     * {@link org.ostis.scmemory.model.element.UnknownScElement} are checked by one request.
+     *
+     * @param pattern {@link ScPattern} that store your pattern.
+     * @return found constructions in the compact form
+     * @throws ScMemoryException - see cause for more details.
+     * @since 0.8.2
+     */
+    public CompactScElements findCompact(ScPattern pattern) throws ScMemoryException {
+        AddressTable rows = searchAddresses(pattern);
+        List<ScPatternElement> patternElements = flatten(pattern);
+        int rowLength = rows.getRowLength();
+        int[] columnTypes = new int[rowLength];
+        Map<ScAliasedElement, Integer> aliasColumns = new HashMap<>();
+        for (int column = 0; column < rowLength; column++) {
+            ScPatternElement el = column < patternElements.size() ? patternElements.get(column) : null;
+            int code = -1;
+            if (el instanceof ScTypedElement<?> typed) {
+                code = ScTypesMap.INSTANCE.getCode(typed.getValue());
+                if (typed.getAlias() != null) {
+                    aliasColumns.put(
+                            typed.getAlias(),
+                            column);
+                }
+            } else if (el instanceof ScFixedElement fixed) {
+                code = getTypeCode(fixed.getElement());
+            } else if (el instanceof ScAliasedElement alias && aliasColumns.containsKey(alias)) {
+                code = columnTypes[aliasColumns.get(alias)];
+            }
+            columnTypes[column] = code;
+        }
+
+        short[] typeCodes = new short[rows.getRowCount() * rowLength];
+        Map<Long, Integer> unknown = new LinkedHashMap<>();
+        for (int row = 0; row < rows.getRowCount(); row++) {
+            for (int column = 0; column < rowLength; column++) {
+                typeCodes[row * rowLength + column] = (short) columnTypes[column];
+                if (columnTypes[column] == -1) {
+                    unknown.put(
+                            rows.get(
+                                    row,
+                                    column),
+                            -1);
+                }
+            }
+        }
+        if (!unknown.isEmpty()) {
+            CheckScElTypeRequest checkRequest = new CheckScElTypeRequestImpl();
+            unknown.keySet()
+                   .forEach(checkRequest::add);
+            int[] codes = requestSender.sendCheckScElTypeRequest(checkRequest)
+                                       .getTypeCodes();
+            int i = 0;
+            for (Map.Entry<Long, Integer> e : unknown.entrySet()) {
+                e.setValue(codes[i++]);
+            }
+            for (int row = 0; row < rows.getRowCount(); row++) {
+                for (int column = 0; column < rowLength; column++) {
+                    if (columnTypes[column] == -1) {
+                        typeCodes[row * rowLength + column] = (short) (int) unknown.get(rows.get(
+                                row,
+                                column));
+                    }
+                }
+            }
+        }
+        return new CompactScElements(
+                rows,
+                typeCodes,
+                this::createScElementView);
+    }
+
+    /**
+     * Same search as {@link #findCompact(ScPattern)}, but the result is stored by columns:
+     * a {@code long[]} of addresses and type codes per named typed element of the pattern.
+     * Columns are accessed by names of aliases, e.g. the ones given to
+     * {@link org.ostis.scmemory.websocketmemory.memory.pattern.ScPatternBuilder#var(Object, String)}.
+     * Fixed elements and references to aliases have no columns, they are the same in every found construction.
+     *
+     * @param pattern {@link ScPattern} that store your pattern.
+     * @return found constructions by columns
+     * @throws ScMemoryException - see cause for more details.
+     * @since 0.8.2
+     */
+    public ScElementColumns findColumns(ScPattern pattern) throws ScMemoryException {
+        CompactScElements rows = findCompact(pattern);
+        List<ScPatternElement> patternElements = flatten(pattern);
+        Map<String, Integer> aliasColumns = new LinkedHashMap<>();
+        int rowLength = rows.isEmpty() ? patternElements.size() : rows.getRowLength();
+        for (int column = 0; column < Math.min(
+                rowLength,
+                patternElements.size()); column++) {
+            if (patternElements.get(column) instanceof ScTypedElement<?> typed && typed.getAlias() != null) {
+                String name = typed.getAlias()
+                                   .getAlias();
+                if (name != null) {
+                    aliasColumns.putIfAbsent(
+                            name,
+                            column);
+                }
+            }
+        }
+
+        int rowCount = rows.getRowCount();
+        long[][] addresses = new long[aliasColumns.size()][rowCount];
+        short[][] typeCodes = new short[aliasColumns.size()][rowCount];
+        int i = 0;
+        for (int column : aliasColumns.values()) {
+            for (int row = 0; row < rowCount; row++) {
+                addresses[i][row] = rows.getAddress(
+                        row,
+                        column);
+                typeCodes[i][row] = (short) rows.getTypeCode(
+                        row,
+                        column);
+            }
+            i++;
+        }
+        return new ScElementColumns(
+                new ArrayList<>(aliasColumns.keySet()),
+                addresses,
+                typeCodes,
+                rowCount,
+                this::createScElementView);
+    }
+
+    private int getTypeCode(ScElement element) {
+        if (element instanceof ScNode node) {
+            return node.getType()
+                       .getCode();
+        } else if (element instanceof ScEdge edge) {
+            return edge.getType()
+                       .getCode();
+        } else if (element instanceof ScLink link) {
+            return link.getType()
+                       .getCode();
+        }
+        return -1;
+    }
+
+    private ScElement createScElementView(long address, int typeCode) {
+        Object type = ScTypesMap.INSTANCE.getType(typeCode);
+        if (type instanceof NodeType nodeType) {
+            return new ScNodeImpl(
+                    nodeType,
+                    address);
+        } else if (type instanceof EdgeType edgeType) {
+            return new ScEdgeImpl(
+                    edgeType,
+                    address,
+                    edgeEndpointsResolver);
+        } else if (type instanceof LinkType linkType) {
+            return createLazyLink(
+                    linkType,
+                    address);
+        }
+        return () -> address;
     }
 
     @Override
@@ -385,73 +1092,101 @@ public class SyncOstisScMemory implements ScMemory {
         Map<ScAliasedElement, ScElement> aliases = new HashMap<>(
                 patternElements.size(),
                 1);
+        long[] generated = response.getFoundAddresses()
+                                   .mapToLong(Long::longValue)
+                                   .toArray();
+        AddressTable addresses = new AddressTable(
+                generated,
+                1,
+                generated.length);
 
         return mapPatternElementsToScElements(
-                response.getFoundAddresses()
-                        .toList(),
+                addresses,
+                0,
                 patternElements,
-                aliases).stream();
+                aliases,
+                prefetchLinks(
+                        addresses,
+                        patternElements)).stream();
     }
 
-    private List<ScElement> mapPatternElementsToScElements(List<Long> adresses,
+    private List<ScElement> mapPatternElementsToScElements(AddressTable addresses,
+                                                           int row,
                                                            List<ScPatternElement> patternElements,
-                                                           Map<ScAliasedElement, ScElement> aliases) throws ScMemoryException {
-        Iterator<Long> addressesIterator = adresses.iterator();
-        Iterator<ScPatternElement> patternElementIterator = patternElements.iterator();
-        List<ScElement> result = new ArrayList<>();
-        while (patternElementIterator.hasNext()) {
-            var el = patternElementIterator.next();
+                                                           Map<ScAliasedElement, ScElement> aliases,
+                                                           Map<Long, ScLink> links) throws ScMemoryException {
+        List<ScElement> result = new ArrayList<>(patternElements.size());
+        for (int column = 0; column < patternElements.size(); column++) {
+            var el = patternElements.get(column);
             switch (el.getType()) {
-                case ALIAS -> {
-                    result.add(aliases.get((ScAliasedElement) el));
-                    addressesIterator.next();
-                }
+                case ALIAS -> result.add(aliases.get((ScAliasedElement) el));
                 case TYPE -> {
                     var element = getScElementTypeTiny(((ScTypedElement<?>) el).getValue(),
-                                                       addressesIterator.next());
+                                                       addresses.get(
+                                                               row,
+                                                               column),
+                                                       links);
 
                     result.add(element);
                     aliases.put(
                             ((ScTypedElement<?>) el).getAlias(),
                             element);
-                    searchedScElements.put(
-                            element.getAddress(),
-                            element);
                 } case ADDR -> {
                     ScFixedElement fixedElement = (ScFixedElement) el;
                     result.add(fixedElement.getElement());
-                    searchedScElements.put(
-                            fixedElement.getElement()
-                                        .getAddress(),
-                            fixedElement.getElement());
-                    addressesIterator.next();
                 }
                 default -> throw new IllegalStateException(ExceptionMessages.sendReportToDeveloper);
             }
-        } return result;
+        }
+        for (int column = 1; column + 1 < result.size(); column += 3) {
+            if (patternElements.get(column)
+                               .getType() == PatternElement.TYPE) {
+                setEdgeEndpoints(
+                        result.get(column - 1),
+                        result.get(column),
+                        result.get(column + 1));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * An edge found at the second position of a triple gets its endpoints from the first and the third positions,
+     * so they are not requested when {@link ScEdge#getSource()} or {@link ScEdge#getTarget()} is called.
+     */
+    private void setEdgeEndpoints(ScElement source, ScElement edge, ScElement target) {
+        if (edge instanceof ScEdgeImpl edgeImpl && source != null && target != null) {
+            edgeImpl.setSourceElement(source);
+            edgeImpl.setTargetElement(target);
+        }
     }
 
-    private ScElement getScElementTypeTiny(Object el, Long addr) {
+    private ScElement getScElementTypeTiny(Object el, Long addr, Map<Long, ScLink> links) {
 
         Supplier<ScElement> element = () -> {
             if (el instanceof NodeType nodeType) {
-                return new ScNodeImpl(
+                return identity(new ScNodeImpl(
                         nodeType,
-                        addr);
+                        addr));
             } else if (el instanceof EdgeType edgeType) {
-                return new ScEdgeImpl(
+                return identity(new ScEdgeImpl(
                         edgeType,
-                        addr);
+                        addr,
+                        edgeEndpointsResolver));
             } else if (el instanceof LinkType linkType) {
+                ScLink link = links.get(addr);
+                if (link != null) {
+                    return link;
+                }
                 try {
-                    return createLinksByAddresses(Stream.of(addr), linkType).findFirst().orElseThrow();
+                    return createLinkByAddress(addr, linkType);
                 } catch (ScMemoryException e) {
                     throw new RuntimeException(e);
                 }
             }
             try {
                 Object o = checkElementType(addr);
-                return getScElementTypeTiny(o,addr);
+                return getScElementTypeTiny(o, addr, links);
             } catch (ScMemoryException e) {
                 throw new RuntimeException(e);
             }
@@ -459,12 +1194,113 @@ public class SyncOstisScMemory implements ScMemory {
         return element.get();
     }
 
-    private Stream<Stream<? extends ScElement>> findPattern(ScPattern pattern) throws ScMemoryException {
+    /**
+     * Collects addresses of all links, that were searched by {@link LinkType}, from all found constructions
+     * and gets their content by one request (instead of one request per link).
+     *
+     * @param rows            found constructions
+     * @param patternElements flat list of pattern elements (three per triplet)
+     * @return links by addresses
+     * @throws ScMemoryException - see cause for more details.
+     */
+    private Map<Long, ScLink> prefetchLinks(AddressTable rows,
+                                            List<ScPatternElement> patternElements) throws ScMemoryException {
+        return prefetchLinks(
+                rows,
+                rows.getRowCount(),
+                patternElements,
+                IntStream.range(
+                                 0,
+                                 Math.min(
+                                         patternElements.size(),
+                                         rows.getRowLength()))
+                         .toArray());
+    }
+
+    /**
+     * The same as {@link #prefetchLinks(AddressTable, List)}, but only for first rows and selected columns.
+     *
+     * @param rowCount number of first rows to prefetch
+     * @param columns  columns to prefetch
+     */
+    private Map<Long, ScLink> prefetchLinks(AddressTable rows,
+                                            int rowCount,
+                                            List<ScPatternElement> patternElements,
+                                            int[] columns) throws ScMemoryException {
+        Map<Long, LinkType> linkTypes = new LinkedHashMap<>();
+        for (int i : columns) {
+            if (patternElements.get(i) instanceof ScTypedElement<?> typed && typed.getValue() instanceof LinkType linkType) {
+                for (int row = 0; row < rowCount; row++) {
+                    linkTypes.putIfAbsent(
+                            rows.get(
+                                    row,
+                                    i),
+                            linkType);
+                }
+            }
+        }
+        if (linkTypes.isEmpty()) {
+            return Map.of();
+        }
+        if (lazyLinkContent) {
+            Map<Long, ScLink> result = new HashMap<>(linkTypes.size() * 2);
+            linkTypes.forEach((addr, type) -> result.put(
+                    addr,
+                    createLazyLink(
+                            type,
+                            addr)));
+            return result;
+        }
+        return createLinksByAddresses(linkTypes);
+    }
+
+    private ScLink createLinkByAddress(Long addr, LinkType type) throws ScMemoryException {
+        if (lazyLinkContent) {
+            return createLazyLink(
+                    type,
+                    addr);
+        }
+        return createLinksByAddresses(
+                Stream.of(addr),
+                type).findFirst()
+                     .orElseThrow();
+    }
+
+    private AbstractScLinkLazy createLazyLink(LinkType type, Long addr) {
+        LinkContentType contentType = lazyLinkContentType;
+        if (contentType == null) {
+            return new ScLinkLazyImpl(
+                    type,
+                    addr,
+                    linkContentLoader);
+        }
+        return switch (contentType) {
+            case INT -> new ScLinkIntegerLazyImpl(
+                    type,
+                    addr,
+                    linkContentLoader);
+            case FLOAT -> new ScLinkFloatLazyImpl(
+                    type,
+                    addr,
+                    linkContentLoader);
+            case STRING -> new ScLinkStringLazyImpl(
+                    type,
+                    addr,
+                    linkContentLoader);
+            case BINARY -> new ScLinkBinaryLazyImpl(
+                    type,
+                    addr,
+                    linkContentLoader);
+        };
+    }
+
+    private Stream<Stream<? extends ScElement>> findPattern(ScPattern pattern,
+                                                            RequestSender sender) throws ScMemoryException {
         FindByPatternRequest request = new FindByPatternRequestImpl();
         pattern.getElements()
                .forEach(request::addComponent);
 
-        FindByPatternResponse response = requestSender.sendFindByPatternRequest(request);
+        FindByPatternResponse response = sender.sendFindByPatternRequest(request);
         List<List<ScElement>> result = new ArrayList<>();
 
         List<ScPatternElement> patternElements = pattern.getElements()
@@ -477,12 +1313,17 @@ public class SyncOstisScMemory implements ScMemory {
                 patternElements.size(),
                 1);
 
-        for (Stream<Long> addressesSet : response.getFoundAddresses()
-                                                 .toList()) {
+        AddressTable rows = response.getFoundAddressTable();
+        Map<Long, ScLink> links = prefetchLinks(
+                rows,
+                patternElements);
+        for (int row = 0; row < rows.getRowCount(); row++) {
             List<ScElement> tempResult = mapPatternElementsToScElements(
-                    addressesSet.toList(),
+                    rows,
+                    row,
                     patternElements,
-                    aliases);
+                    aliases,
+                    links);
             result.add(tempResult);
         }
 
@@ -492,83 +1333,127 @@ public class SyncOstisScMemory implements ScMemory {
 
     private ScElement createScElementByType(Object type, Long addr) throws ScMemoryException {
         if (type instanceof EdgeType edgeType) {
-            ScPattern pattern = new DefaultWebsocketScPattern();
-            ScEdgeImpl edge = new ScEdgeImpl(
+            return identity(new ScEdgeImpl(
                     edgeType,
-                    addr);
-            pattern.addElement(new SearchingPatternTriple(
-                    new TypePatternElement<>(
-                            UnknownScElement.ELEMENT,
-                            new AliasPatternElement("1")),
-                    new FixedPatternElement(edge),
-                    new TypePatternElement<>(
-                            UnknownScElement.ELEMENT,
-                            new AliasPatternElement("2"))));
-            FindByPatternRequest request = new FindByPatternRequestImpl();
-            pattern.getElements()
-                   .forEach(request::addComponent);
-            List<? extends ScElement> triplet;
-            Optional<Stream<? extends ScElement>> first = findPattern(pattern).findFirst();
-            triplet = first.get()
-                           .toList();
-
-            ScElement sourceElement = searchedScElements.get(triplet.get(0)
-                                                                    .getAddress());
-            ScElement targetElement = searchedScElements.get(triplet.get(2)
-                                                                    .getAddress());
-            edge.setSourceElement(sourceElement);
-            edge.setTargetElement(targetElement);
-
-            return edge;
+                    addr,
+                    edgeEndpointsResolver));
         } else if (type instanceof NodeType nodeType) {
-            return new ScNodeImpl(
+            return identity(new ScNodeImpl(
                     nodeType,
-                    addr);
+                    addr));
         } else if (type instanceof LinkType linkType) {
-
-            Optional<? extends ScLink> first = createLinksByAddresses(
-                    Stream.of(addr),
-                    linkType).findFirst();
-            return first.get();
-
+            return createLinkByAddress(
+                    addr,
+                    linkType);
         } else {
             Object o = checkElementType(addr);
-            ScElement element = createScElementByType(
+            return createScElementByType(
                     o,
                     addr);
-            searchedScElements.put(
-                    addr,
-                    element);
-            return element;
         }
     }
 
-    private Object checkElementType(Long addr) throws ScMemoryException {
-        Callable<CheckScElTypeResponse> task = () -> {
-            OstisClient client = new OstisClientSync(
-                    requestSender.getAddress(),
-                    e -> {
-                        throw new RuntimeException("Unexpected event: " + e);
-                    },
-                    "Client for resolving types");
-            RequestSender sender = new RequestSenderImpl(client);
-            client.open();
-            CheckScElTypeRequest request = new CheckScElTypeRequestImpl();
-            request.add(addr);
-            CheckScElTypeResponse res = sender.sendCheckScElTypeRequest(request);
-            client.close();
-            return res;
-        };
-        CheckScElTypeResponse result;
-        try {
-            result = forkJoinPool.submit(task)
-                                 .get();
-        } catch (InterruptedException | ExecutionException e) {
-            throw new ScMemoryException(e);
+    /**
+     * Finds endpoints of all passed edges by one search request.
+     * Each edge is described by a separate triplet of the template,
+     * and since an edge has exactly one source and one target, the only found construction contains all endpoints.
+     * Types of all endpoints are checked by one request too.
+     *
+     * @param edges addresses of edges
+     * @return endpoints by edge addresses
+     * @throws ScMemoryException - see cause for more details.
+     */
+    private Map<Long, EdgeEndpoints> findEdgeEndpoints(List<Long> edges) throws ScMemoryException {
+        FindByPatternRequest request = new FindByPatternRequestImpl();
+        for (int i = 0; i < edges.size(); i++) {
+            Long edge = edges.get(i);
+            request.addComponent(new SearchingPatternTriple(
+                    new TypePatternElement<>(
+                            UnknownScElement.ELEMENT,
+                            new AliasPatternElement("source_" + i)),
+                    new FixedPatternElement(() -> edge),
+                    new TypePatternElement<>(
+                            UnknownScElement.ELEMENT,
+                            new AliasPatternElement("target_" + i))));
+        }
+        AddressTable found = requestSender.sendFindByPatternRequest(request)
+                                          .getFoundAddressTable();
+        if (found.isEmpty()) {
+            //            at least one edge does not exist anymore, so search them one by one
+            if (edges.size() == 1) {
+                return Map.of();
+            }
+            Map<Long, EdgeEndpoints> result = new HashMap<>();
+            for (Long edge : edges) {
+                result.putAll(findEdgeEndpoints(List.of(edge)));
+            }
+            return result;
         }
-        Optional<Object> first = result.getTypes()
-                                       .findFirst();
-        return first.get();
+        List<Long> endpoints = new ArrayList<>(edges.size() * 2);
+        for (int i = 0; i < edges.size(); i++) {
+            endpoints.add(found.get(
+                    0,
+                    i * 3));
+            endpoints.add(found.get(
+                    0,
+                    i * 3 + 2));
+        }
+        Map<Long, ScElement> elements = createScElementsByAddresses(endpoints);
+        Map<Long, EdgeEndpoints> result = new HashMap<>(edges.size() * 2);
+        for (int i = 0; i < edges.size(); i++) {
+            result.put(
+                    edges.get(i),
+                    new EdgeEndpoints(
+                            elements.get(endpoints.get(i * 2)),
+                            elements.get(endpoints.get(i * 2 + 1))));
+        }
+        return result;
+    }
+
+    /**
+     * Creates sc-elements of unknown types. Types are checked by one request,
+     * and contents of links are downloaded by one request (if lazy mode is disabled).
+     *
+     * @param addresses addresses of elements
+     * @return elements by addresses
+     * @throws ScMemoryException - see cause for more details.
+     */
+    private Map<Long, ScElement> createScElementsByAddresses(List<Long> addresses) throws ScMemoryException {
+        List<Long> distinct = addresses.stream()
+                                       .distinct()
+                                       .toList();
+        List<Object> types = checkElementTypes(distinct);
+        Map<Long, ScElement> result = new HashMap<>(distinct.size() * 2);
+        Map<Long, LinkType> linkTypes = new LinkedHashMap<>();
+        for (int i = 0; i < distinct.size(); i++) {
+            if (types.get(i) instanceof LinkType linkType && !lazyLinkContent) {
+                linkTypes.put(
+                        distinct.get(i),
+                        linkType);
+            } else {
+                result.put(
+                        distinct.get(i),
+                        createScElementByType(
+                                types.get(i),
+                                distinct.get(i)));
+            }
+        }
+        if (!linkTypes.isEmpty()) {
+            result.putAll(createLinksByAddresses(linkTypes));
+        }
+        return result;
+    }
+
+    private Object checkElementType(Long addr) throws ScMemoryException {
+        return checkElementTypes(List.of(addr)).get(0);
+    }
+
+    private List<Object> checkElementTypes(List<Long> addrs) throws ScMemoryException {
+        CheckScElTypeRequest request = new CheckScElTypeRequestImpl();
+        addrs.forEach(request::add);
+        return requestSender.sendCheckScElTypeRequest(request)
+                            .getTypes()
+                            .toList();
     }
 
     @Override
@@ -629,25 +1514,37 @@ public class SyncOstisScMemory implements ScMemory {
 
     @Override
     public Stream<Optional<? extends ScNode>> findKeynodes(Stream<String> idtf) throws ScMemoryException {
-        KeynodeRequest request = new KeynodeRequestImpl();
         List<String> content = idtf.toList();
+        if (content.size() == 1) {
+            return Stream.of(keynodeCoalescer.submit(content.get(0)));
+        }
+        return findKeynodes(content).stream();
+    }
+
+    private List<Optional<? extends ScNode>> findKeynodes(List<String> content) throws ScMemoryException {
+        KeynodeRequest request = new KeynodeRequestImpl();
         request.addAllIdtf(content.stream()
                                   .map(FindKeynodeStruct::new)
                                   .toList());
         KeynodeResponse response = requestSender.sendKeynodeRequest(request);
 
+        long[] addresses = response.getFindAddressArray();
+        List<Long> found = Arrays.stream(addresses)
+                                 .filter(e -> e != 0)
+                                 .boxed()
+                                 .toList();
+        Iterator<Object> types = found.isEmpty() ? Collections.emptyIterator() : checkElementTypes(found).iterator();
         List<Optional<? extends ScNode>> result = new ArrayList<>(content.size());
-        for (Long e : response.getFindAddresses()
-                              .toList()) {
+        for (long e : addresses) {
             if (e != 0) {
                 ScNode node;
-                node = new ScNodeImpl(
-                        (NodeType) checkElementType(e),
-                        e);
+                node = identity(new ScNodeImpl(
+                        (NodeType) types.next(),
+                        e));
                 result.add(Optional.of(node));
             } else result.add(Optional.empty());
         }
-        return result.stream();
+        return result;
     }
 
     @Override
@@ -672,31 +1569,87 @@ public class SyncOstisScMemory implements ScMemory {
 
         Iterator<NodeType> nodeTypeIterator = nodeTypes.iterator();
         List<ScNode> result = new ArrayList<>(content.size());
-        response.getFindAddresses()
-                .forEach(e -> {
-                    ScNodeImpl link = new ScNodeImpl(
-                            nodeTypeIterator.next(),
-                            e);
-                    result.add(link);
-                });
+        for (long e : response.getFindAddressArray()) {
+            ScNode link = identity(new ScNodeImpl(
+                    nodeTypeIterator.next(),
+                    e));
+            result.add(link);
+        }
         return result.stream();
     }
 
     @Override
     public Optional<Long> subscribeOnEvent(ScElement element, ScEventConsumer event) throws ScMemoryException {
-        EventRequest request = new EventRequestImpl();
-        request.subscribe(new ScEventWebsocketImpl(
+        ScEventWebsocketImpl subscription = new ScEventWebsocketImpl(
                 element,
-                event));
-        EventResponse res = eventSender.sendEventRequest(request);
-        Optional<Long> result = res.getEventIds()
-                                   .findFirst();
-        eventConsumerMap.put(
-                result.get(),
-                new ScEventWebsocketImpl(
-                        element,
-                        event));
-        return result;
+                event);
+        EventRequest request = new EventRequestImpl();
+        request.subscribe(subscription);
+        synchronized (subscriptionLock) {
+            EventResponse res = eventSender.sendEventRequest(request);
+            Optional<Long> serverId = res.getEventIds()
+                                         .findFirst();
+            if (serverId.isEmpty()) {
+                return Optional.empty();
+            }
+            long userId = nextSubscriptionId.getAndIncrement();
+            eventConsumerMap.put(
+                    serverId.get(),
+                    subscription);
+            subscriptionIds.put(
+                    userId,
+                    serverId.get());
+            return Optional.of(userId);
+        }
+    }
+
+    /**
+     * Restores all active subscriptions after the event client has been reconnected.
+     * The new server does not know old event ids,
+     * so all subscriptions are registered again by one request and the ids are remapped.
+     * <p>
+     * If the request fails or not every subscription is restored, the ids are kept as they are
+     * and the exception fails the reconnect, so the connection is dropped and the next attempt replays them again.
+     * Otherwise, the map of server-side ids is built aside and replaces the old one at once,
+     * so events are dispatched during the whole replay.
+     */
+    private void resubscribeEvents() {
+        synchronized (subscriptionLock) {
+            if (subscriptionIds.isEmpty()) {
+                return;
+            }
+            List<Long> userIds = new ArrayList<>(subscriptionIds.keySet());
+            List<ScEventWebsocketImpl> subscriptions = new ArrayList<>(userIds.size());
+            EventRequest request = new EventRequestImpl();
+            for (Long userId : userIds) {
+                ScEventWebsocketImpl subscription = eventConsumerMap.get(subscriptionIds.get(userId));
+                subscriptions.add(subscription);
+                request.subscribe(subscription);
+            }
+            List<Long> newIds;
+            try {
+                newIds = eventSender.sendEventRequest(request)
+                                    .getEventIds()
+                                    .toList();
+            } catch (ScMemoryException e) {
+                throw new IllegalStateException(
+                        "Cannot restore event subscriptions",
+                        e);
+            }
+            if (newIds.size() != subscriptions.size()) {
+                throw new IllegalStateException("sc-machine restored " + newIds.size() + " of " + subscriptions.size() + " event subscriptions");
+            }
+            Map<Long, ScEventWebsocketImpl> consumers = new ConcurrentHashMap<>();
+            for (int i = 0; i < newIds.size(); i++) {
+                consumers.put(
+                        newIds.get(i),
+                        subscriptions.get(i));
+                subscriptionIds.put(
+                        userIds.get(i),
+                        newIds.get(i));
+            }
+            eventConsumerMap = consumers;
+        }
     }
 
     @Override
@@ -718,11 +1671,11 @@ public class SyncOstisScMemory implements ScMemory {
         FindByNameResponce response = requestSender.sendFindByNameRequest(request);
 
         List<Optional<? extends ScElement>> result = new ArrayList<>(content.size());
-        for (List<Long> e : response.getFoundAddresses()
-                                    .toList()) {
-            if (e.get(0) != 0) {
+        for (long[] e : response.getFoundAddressArrays()) {
+            if (e.length > 0 && e[0] != 0) {
+                long address = e[0];
                 ScElement node;
-                node = () -> (e.get(0));
+                node = () -> address;
                 result.add(Optional.of(node));
             } else result.add(Optional.empty());
         }
@@ -732,11 +1685,21 @@ public class SyncOstisScMemory implements ScMemory {
     @Override
     public void unsubscribeEvent(Stream<Long> eventId) throws ScMemoryException {
         EventRequest request = new EventRequestImpl();
-        eventId.forEach(id -> {
-            request.unsubscribe(id);
-            eventConsumerMap.remove(id);
-        });
-        eventSender.sendEventRequest(request);
+        synchronized (subscriptionLock) {
+            boolean known = false;
+            for (Long id : eventId.toList()) {
+                //                unknown ids are skipped, they may not be server-side ids
+                Long serverId = subscriptionIds.remove(id);
+                if (serverId != null) {
+                    request.unsubscribe(serverId);
+                    eventConsumerMap.remove(serverId);
+                    known = true;
+                }
+            }
+            if (known) {
+                eventSender.sendEventRequest(request);
+            }
+        }
     }
 
     @Override
@@ -749,11 +1712,34 @@ public class SyncOstisScMemory implements ScMemory {
     public void close() throws Exception {
         ostisClient.close();
         eventOstisClient.close();
+        synchronized (bulkConnectionLock) {
+            bulkOstisClient.close();
+            bulkConnectionOpen = false;
+        }
     }
 
     @Override
     public boolean isOpen() {
-        return ostisClient.isOpen() && eventOstisClient.isOpen();
+        return ostisClient.isOpen() && eventOstisClient.isOpen() && (!bulkConnectionOpen || bulkOstisClient.isOpen());
+    }
+
+    /**
+     * @param elements number of elements in the request
+     * @return sender of bulk requests for big requests, otherwise the main sender
+     */
+    private RequestSender senderFor(int elements) {
+        if (elements < bulkRequestSize) {
+            return requestSender;
+        }
+        if (separateBulkConnection && !bulkConnectionOpen) {
+            synchronized (bulkConnectionLock) {
+                if (!bulkConnectionOpen) {
+                    bulkOstisClient.open();
+                    bulkConnectionOpen = true;
+                }
+            }
+        }
+        return bulkSender;
     }
 
     private ScPatternElement convertToPatternElement(Object object, ScAliasedElement alias) {
@@ -791,7 +1777,6 @@ public class SyncOstisScMemory implements ScMemory {
             throw new IllegalArgumentException("The length of the passed lists are not the same." + "LinkTypes.size = " + linkTypes.size() + ", Content.size = " + contents.size());
         }
 
-        CreateScElRequest request = new CreateScElRequestImpl();
         List<ScEntity> result = new ArrayList<>();
         Iterator<LinkType> linkTypeIter = linkTypes.iterator();
         Iterator<C> linkContentIter = contents.iterator();
@@ -821,17 +1806,9 @@ public class SyncOstisScMemory implements ScMemory {
                 }
             };
             result.add(link);
-            request.addElementToRequest(link);
         }
 
-        CreateScElResponse response = requestSender.sendCreateElRequest(request);
-
-        //        sc-mechine never send false status in current realisation
-        //        if (!response.getResponseStatus()) {
-        //            throw new ScMemoryException("the response status is FALSE");
-        //        }
-        List<Long> addresses = response.getAddresses()
-                                       .toList();
+        List<Long> addresses = createElements(result);
         for (int i = 0; i < addresses.size(); i++) {
             long address = addresses.get(i);
             ScEntity link = result.get(i);
@@ -840,6 +1817,44 @@ public class SyncOstisScMemory implements ScMemory {
         return result.stream();
     }
 
+    /**
+     * Creates elements by one request. A single element is sent through the coalescer,
+     * so it can be merged with elements created by other threads.
+     *
+     * @param elements elements to create
+     * @return addresses of created elements in the same order
+     * @throws ScMemoryException - see cause for more details.
+     */
+    private List<Long> createElements(List<? extends ScEntity> elements) throws ScMemoryException {
+        if (elements.size() == 1) {
+            return List.of(creationCoalescer.submit(elements.get(0)));
+        }
+        return sendCreateRequest(
+                elements,
+                senderFor(elements.size()));
+    }
+
+    private List<Long> sendCreateRequest(List<? extends ScEntity> elements, RequestSender sender) throws ScMemoryException {
+        CreateScElRequest request = new CreateScElRequestImpl();
+        request.addToRequest(elements);
+
+        CreateScElResponse response = sender.sendCreateElRequest(request);
+
+        //        sc-mechine never send false status in current realisation
+        //        if (!response.getResponseStatus()) {
+        //            throw new ScMemoryException("the response status is FALSE");
+        //        }
+        return response.getAddresses()
+                       .toList();
+    }
+
+    private List<Object> sendGetLinkContentRequest(List<Long> addresses) throws ScMemoryException {
+        GetLinkContentRequest request = new GetLinkContentRequestImpl();
+        request.addToRequest(addresses);
+        return requestSender.sendGetLinkContentRequest(request)
+                            .getContent();
+    }
+
     /**
      * Method for replacing content in a link.
      *
@@ -879,7 +1894,7 @@ public class SyncOstisScMemory implements ScMemory {
             }
         }
 
-        SetLinkContentResponse response = requestSender.sendSetLinkContentRequest(request);
+        SetLinkContentResponse response = senderFor(linksList.size()).sendSetLinkContentRequest(request);
 
         //        sc-machine does not send False status (bug in sc-machine)
         //        if (!response.getResponseStatus()) {
@@ -887,14 +1902,9 @@ public class SyncOstisScMemory implements ScMemory {
         //        }
         List<Boolean> statusOfOperation = response.getOperationStatus();
         for (int i = 0; i < statusOfOperation.size(); i++) {
-            ScLink link = linksWithoutContent.get(i);
-            C data = contentWithoutLink.get(i);
-            switch (link.getContentType()) {
-                case FLOAT -> ((ScLinkFloatImpl) link).setContent((float) data);
-                case INT -> ((ScLinkIntegerImpl) link).setContent((int) data);
-                case STRING -> ((ScLinkStringImpl) link).setContent((String) data);
-                case BINARY -> ((ScLinkBinaryImpl) link).setContent((ByteArrayOutputStream) data);
-            }
+            storeContent(
+                    linksWithoutContent.get(i),
+                    contentWithoutLink.get(i));
         }
         return statusOfOperation.stream();
     }
@@ -907,45 +1917,26 @@ public class SyncOstisScMemory implements ScMemory {
      * @throws ScMemoryException - see cause for more details.
      */
     private Stream<?> getLinkContent(Stream<? extends ScLink> elements) throws ScMemoryException {
-        GetLinkContentRequest request = new GetLinkContentRequestImpl();
-        List<? extends ScLink> links = elements.peek(l -> request.addAddressToRequest(l.getAddress()))
-                                               .toList();
-
-        GetLinkContentResponse response = requestSender.sendGetLinkContentRequest(request);
-
-        List<Object> values = response.getContent();
-        List<Object> result = new ArrayList<>();
+        List<? extends ScLink> links = elements.toList();
+        List<Object> values;
+        if (links.size() == 1) {
+            values = Collections.singletonList(linkContentCoalescer.submit(links.get(0)
+                                                                                .getAddress()));
+        } else {
+            values = sendGetLinkContentRequest(links.stream()
+                                                    .map(ScElement::getAddress)
+                                                    .toList());
+        }
+        List<Object> result = new ArrayList<>(links.size());
         for (int i = 0; i < links.size(); i++) {
-            Object value = values.get(i);
             ScLink link = links.get(i);
-            switch (link.getContentType()) {
-                case INT -> {
-                    Integer content = (Integer) value;
-                    result.add(content);
-                    ((ScLinkIntegerImpl) link).setContent(content);
-                }
-                case FLOAT -> {
-                    float content = ((Double) value).floatValue();
-                    result.add(content);
-                    ((ScLinkFloatImpl) link).setContent(content);
-                }
-                case STRING -> {
-                    String content = (String) value;
-                    result.add(content);
-                    ((ScLinkStringImpl) link).setContent(content);
-                }
-                case BINARY -> {
-                    String content = (String) value;
-                    try {
-                        ((ScLinkBinaryImpl) link).setContent(content);
-                        result.add(((ScLinkBinaryImpl) link).getContent());
-                    } catch (IOException e) {
-                        throw new ScMemoryException(
-                                "Unable to parse string to binary representation",
-                                e);
-                    }
-                }
-            }
+            Object content = toContent(
+                    link.getContentType(),
+                    values.get(i));
+            storeContent(
+                    link,
+                    content);
+            result.add(content);
         }
 
         return result.stream();
@@ -960,53 +1951,121 @@ public class SyncOstisScMemory implements ScMemory {
      */
     private Stream<? extends ScLink> createLinksByAddresses(Stream<Long> addresses,
                                                             LinkType type) throws ScMemoryException {
-        GetLinkContentRequest request = new GetLinkContentRequestImpl();
+        Map<Long, LinkType> linkTypes = new LinkedHashMap<>();
         List<Long> links = addresses.toList();
+        links.forEach(addr -> linkTypes.put(
+                addr,
+                type));
+        Map<Long, ScLink> result = createLinksByAddresses(linkTypes);
+        return links.stream()
+                    .map(result::get);
+    }
+
+    /**
+     * Method for creating links with content by one request.
+     *
+     * @param linkTypes types of links by their addresses
+     * @return links by addresses
+     * @throws ScMemoryException - see cause for more details.
+     */
+    private Map<Long, ScLink> createLinksByAddresses(Map<Long, LinkType> linkTypes) throws ScMemoryException {
+        GetLinkContentRequest request = new GetLinkContentRequestImpl();
+        List<Long> links = new ArrayList<>(linkTypes.keySet());
         request.addToRequest(links);
 
-        GetLinkContentResponse response = requestSender.sendGetLinkContentRequest(request);
+        GetLinkContentResponse response = senderFor(links.size()).sendGetLinkContentRequest(request);
 
         List<Object> values = response.getContent();
         List<LinkContentType> types = response.getType();
-        List<ScLink> result = new ArrayList<>();
+        Map<Long, ScLink> result = new HashMap<>(links.size() * 2);
         for (int i = 0; i < links.size(); i++) {
-            switch (types.get(i)) {
-                case INT -> {
-                    Integer content = (Integer) values.get(i);
-                    ScLinkIntegerImpl scLinkInteger = new ScLinkIntegerImpl(
-                            type,
-                            links.get(i));
-                    scLinkInteger.setContent(content);
-                    result.add(scLinkInteger);
-                }
-                case FLOAT -> {
-                    float content = ((Double) values.get(i)).floatValue();
-                    ScLinkFloatImpl scLinkFloat = new ScLinkFloatImpl(
-                            type,
-                            links.get(i));
-                    scLinkFloat.setContent(content);
-                    result.add(scLinkFloat);
-                }
-                case STRING -> {
-                    String content = (String) values.get(i);
-                    ScLinkStringImpl scLinkString = new ScLinkStringImpl(
-                            type,
-                            links.get(i));
-                    scLinkString.setContent(content);
-                    result.add(scLinkString);
-                }
-                case BINARY -> {
-                    ByteArrayOutputStream content = (ByteArrayOutputStream) values.get(i);
-                    ScLinkBinaryImpl scLinkBinary = new ScLinkBinaryImpl(
-                            type,
-                            links.get(i));
-                    scLinkBinary.setContent(content);
-                    result.add(scLinkBinary);
+            Long address = links.get(i);
+            result.put(
+                    address,
+                    createLink(
+                            linkTypes.get(address),
+                            address,
+                            types.get(i),
+                            toContent(
+                                    types.get(i),
+                                    values.get(i))));
+        }
+
+        return result;
+    }
+
+    /**
+     * @param contentType content type of the link
+     * @param value       content in the form of a response
+     * @return content in the form of the link: {@link Integer}, {@link Float}, {@link String} or {@link ByteArrayOutputStream}
+     */
+    private Object toContent(LinkContentType contentType, Object value) {
+        return switch (contentType) {
+            case INT -> (Integer) value;
+            case FLOAT -> ((Double) value).floatValue();
+            case STRING -> (String) value;
+            case BINARY -> {
+                ByteArrayOutputStream content = new ByteArrayOutputStream();
+                if (value != null) {
+                    content.writeBytes(Base64.getDecoder()
+                                             .decode((String) value));
                 }
-                default -> throw new IllegalArgumentException("unknown type of content");
+                yield content;
             }
-        }
+        };
+    }
 
-        return result.stream();
+    private ScLink createLink(LinkType type, Long address, LinkContentType contentType, Object content) {
+        return switch (contentType) {
+            case INT -> {
+                ScLinkIntegerImpl link = new ScLinkIntegerImpl(
+                        type,
+                        address);
+                link.setContent((Integer) content);
+                yield link;
+            }
+            case FLOAT -> {
+                ScLinkFloatImpl link = new ScLinkFloatImpl(
+                        type,
+                        address);
+                link.setContent((Float) content);
+                yield link;
+            }
+            case STRING -> {
+                ScLinkStringImpl link = new ScLinkStringImpl(
+                        type,
+                        address);
+                link.setContent((String) content);
+                yield link;
+            }
+            case BINARY -> {
+                ScLinkBinaryImpl link = new ScLinkBinaryImpl(
+                        type,
+                        address);
+                link.setContent((ByteArrayOutputStream) content);
+                yield link;
+            }
+        };
+    }
+
+    /**
+     * Keeps the content that is read or written in the link object.
+     * A lazy link gets a new downloaded link, so it does not download the content again.
+     */
+    private void storeContent(ScLink link, Object content) {
+        if (link instanceof AbstractScLinkLazy lazy) {
+            lazy.setLoaded(createLink(
+                    lazy.getType(),
+                    lazy.getAddress(),
+                    lazy.getContentType(),
+                    content));
+            return;
+        }
+        switch (link.getContentType()) {
+            case FLOAT -> ((ScLinkFloatImpl) link).setContent((Float) content);
+            case INT -> ((ScLinkIntegerImpl) link).setContent((Integer) content);
+            case STRING -> ((ScLinkStringImpl) link).setContent((String) content);
+            case BINARY -> ((ScLinkBinaryImpl) link).setContent((ByteArrayOutputStream) content);
+        }
     }
 }
@@ -0,0 +1,114 @@
+package org.ostis.scmemory.websocketmemory.memory.batch;
+
+import org.ostis.scmemory.model.exception.ScMemoryException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Coalesces loads requested by different threads.
+ * Every load is put to the queue, and the thread that takes the lock sends
+ * all queued keys (up to the batch size) by one request.
+ * So, while one request is in progress, loads from other threads are accumulated
+ * and then sent together.
+ *
+ * @param <K> key type
+ * @param <V> loaded value type
+ * @author artrayme
+ * @since 0.8.2
+ */
+public class BatchLoader<K, V> {
+    private final Fetcher<K, V> fetcher;
+    private final int maxBatchSize;
+    private final Queue<PendingLoad<K, V>> pending = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public BatchLoader(Fetcher<K, V> fetcher, int maxBatchSize) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive, but it is " + maxBatchSize);
+        }
+        this.fetcher = fetcher;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * @return number of loads that are queued but not sent yet
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * @param key key to load
+     * @return loaded value, or null if the fetcher returned nothing for this key
+     * @throws ScMemoryException if the batch containing this key failed
+     */
+    public V load(K key) throws ScMemoryException {
+        PendingLoad<K, V> own = new PendingLoad<>(key);
+        pending.add(own);
+        lock.lock();
+        try {
+            while (!own.result.isDone()) {
+                sendBatch();
+            }
+        } finally {
+            lock.unlock();
+        }
+        try {
+            return own.result.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof ScMemoryException cause) {
+                throw cause;
+            }
+            throw new ScMemoryException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                  .interrupt();
+            throw new ScMemoryException(e);
+        }
+    }
+
+    private void sendBatch() {
+        List<PendingLoad<K, V>> batch = new ArrayList<>();
+        Set<K> keys = new LinkedHashSet<>();
+        PendingLoad<K, V> next;
+        while (keys.size() < maxBatchSize && (next = pending.poll()) != null) {
+            batch.add(next);
+            keys.add(next.key);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            Map<K, V> values = fetcher.fetch(new ArrayList<>(keys));
+            batch.forEach(load -> load.result.complete(values.get(load.key)));
+        } catch (ScMemoryException | RuntimeException e) {
+            batch.forEach(load -> load.result.completeExceptionally(e));
+        }
+    }
+
+    /**
+     * Loads all passed keys by one request.
+     */
+    @FunctionalInterface
+    public interface Fetcher<K, V> {
+        Map<K, V> fetch(List<K> keys) throws ScMemoryException;
+    }
+
+    private static class PendingLoad<K, V> {
+        private final K key;
+        private final CompletableFuture<V> result = new CompletableFuture<>();
+
+        private PendingLoad(K key) {
+            this.key = key;
+        }
+    }
+}
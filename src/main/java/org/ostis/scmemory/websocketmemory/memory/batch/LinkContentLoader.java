@@ -0,0 +1,71 @@
+package org.ostis.scmemory.websocketmemory.memory.batch;
+
+import org.ostis.scmemory.model.element.link.LinkType;
+import org.ostis.scmemory.model.element.link.ScLink;
+import org.ostis.scmemory.model.exception.ScMemoryException;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Downloads content of lazy links. Loads requested at the same time are sent by one content request.
+ *
+ * @author artrayme
+ * @since 0.8.2
+ */
+public class LinkContentLoader {
+    private final BatchLoader<LinkKey, ScLink> loader;
+
+    public LinkContentLoader(LinkFetcher fetcher, int maxBatchSize) {
+        loader = new BatchLoader<>(
+                keys -> fetch(
+                        fetcher,
+                        keys),
+                maxBatchSize);
+    }
+
+    /**
+     * @param address address of the link
+     * @param type    type of the link
+     * @return typed link with content
+     * @throws ScMemoryException if the content cannot be downloaded
+     */
+    public ScLink load(Long address, LinkType type) throws ScMemoryException {
+        return loader.load(new LinkKey(
+                address,
+                type));
+    }
+
+    /**
+     * @return number of links whose content is requested but not sent yet
+     */
+    public int getPendingCount() {
+        return loader.getPendingCount();
+    }
+
+    private static Map<LinkKey, ScLink> fetch(LinkFetcher fetcher, List<LinkKey> keys) throws ScMemoryException {
+        Map<Long, LinkType> linkTypes = new LinkedHashMap<>();
+        keys.forEach(key -> linkTypes.putIfAbsent(
+                key.address(),
+                key.type()));
+        Map<Long, ScLink> links = fetcher.fetch(linkTypes);
+        Map<LinkKey, ScLink> result = new HashMap<>(keys.size() * 2);
+        keys.forEach(key -> result.put(
+                key,
+                links.get(key.address())));
+        return result;
+    }
+
+    /**
+     * Sends one content request for all passed links.
+     */
+    @FunctionalInterface
+    public interface LinkFetcher {
+        Map<Long, ScLink> fetch(Map<Long, LinkType> linkTypes) throws ScMemoryException;
+    }
+
+    private record LinkKey(Long address, LinkType type) {
+    }
+}
@@ -0,0 +1,163 @@
+package org.ostis.scmemory.websocketmemory.memory.batch;
+
+import org.ostis.scmemory.model.exception.ScMemoryException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Merges single-element requests of concurrent threads into one batched request.
+ * Unlike {@link BatchLoader} requests are not deduplicated:
+ * every submitted request gets its own result (e.g. every created node gets its own address).
+ * <p>
+ * The thread that takes the lock sends all queued requests (up to the batch size).
+ * If the previous batch contained more than one request, the sender also waits up to {@code maxDelay}
+ * for the batch to be filled. So a single thread never waits, and under load batches become bigger.
+ *
+ * @param <R> request type
+ * @param <V> result type
+ * @author artrayme
+ * @since 0.8.2
+ */
+public class RequestCoalescer<R, V> {
+    private static final long MAX_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final BatchFunction<R, V> function;
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private final Queue<PendingRequest<R, V>> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile boolean contended;
+
+    /**
+     * @param function      sends all passed requests by one request and returns results in the same order
+     * @param maxBatchSize  max number of requests merged together
+     * @param maxDelayNanos max time a batch waits for other requests, 0 - do not wait
+     */
+    public RequestCoalescer(BatchFunction<R, V> function, int maxBatchSize, long maxDelayNanos) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive, but it is " + maxBatchSize);
+        }
+        if (maxDelayNanos < 0) {
+            throw new IllegalArgumentException("Delay must not be negative, but it is " + maxDelayNanos);
+        }
+        this.function = function;
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayNanos = maxDelayNanos;
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public long getMaxDelayNanos() {
+        return maxDelayNanos;
+    }
+
+    /**
+     * @return number of submitted requests that are not sent yet
+     */
+    public int getPendingCount() {
+        return pendingCount.get();
+    }
+
+    /**
+     * @param request request to send
+     * @return result of this request
+     * @throws ScMemoryException if the batch containing this request failed
+     */
+    public V submit(R request) throws ScMemoryException {
+        PendingRequest<R, V> own = new PendingRequest<>(request);
+        pending.add(own);
+        pendingCount.incrementAndGet();
+        lock.lock();
+        try {
+            while (!own.result.isDone()) {
+                awaitBatch();
+                sendBatch();
+            }
+        } finally {
+            lock.unlock();
+        }
+        try {
+            return own.result.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof ScMemoryException cause) {
+                throw cause;
+            }
+            throw new ScMemoryException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                  .interrupt();
+            throw new ScMemoryException(e);
+        }
+    }
+
+    private void awaitBatch() {
+        if (maxDelayNanos == 0 || !contended) {
+            return;
+        }
+        long deadline = System.nanoTime() + maxDelayNanos;
+        while (pendingCount.get() < maxBatchSize) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return;
+            }
+            LockSupport.parkNanos(Math.min(
+                    remaining,
+                    MAX_PARK_NANOS));
+        }
+    }
+
+    private void sendBatch() {
+        List<PendingRequest<R, V>> batch = new ArrayList<>();
+        PendingRequest<R, V> next;
+        while (batch.size() < maxBatchSize && (next = pending.poll()) != null) {
+            batch.add(next);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        pendingCount.addAndGet(-batch.size());
+        contended = batch.size() > 1;
+        try {
+            List<V> results = function.apply(batch.stream()
+                                                  .map(r -> r.request)
+                                                  .toList());
+            if (results.size() != batch.size()) {
+                throw new ScMemoryException("Expected " + batch.size() + " results, but got " + results.size());
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).result.complete(results.get(i));
+            }
+        } catch (ScMemoryException | RuntimeException e) {
+            batch.forEach(r -> r.result.completeExceptionally(e));
+        }
+    }
+
+    /**
+     * Sends all passed requests by one request.
+     */
+    @FunctionalInterface
+    public interface BatchFunction<R, V> {
+        List<V> apply(List<R> requests) throws ScMemoryException;
+    }
+
+    private static class PendingRequest<R, V> {
+        private final R request;
+        private final CompletableFuture<V> result = new CompletableFuture<>();
+
+        private PendingRequest(R request) {
+            this.request = request;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package org.ostis.scmemory.websocketmemory.memory.batch;
+
+import org.ostis.scmemory.model.exception.ScMemoryException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs many independent requests, keeping up to {@code depth} of them in flight.
+ * A client waits for the response to every request, so requests are sent by several threads:
+ * the calling thread and up to {@code depth - 1} helper threads take the next input until all of them are done.
+ * Results are returned in the order of inputs.
+ * <p>
+ * The first failure stops taking new inputs and is thrown after the started requests are finished.
+ *
+ * @author artrayme
+ * @since 0.8.2
+ */
+public class RequestPipeline {
+    //    helpers mostly wait for responses, so idle threads are kept for a while and then released
+    private static final ExecutorService helpers = Executors.newCachedThreadPool(r -> {
+        Thread thread = new Thread(
+                r,
+                "ostis-request-pipeline");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final int depth;
+
+    /**
+     * @param depth max number of requests in flight
+     */
+    public RequestPipeline(int depth) {
+        if (depth < 1) {
+            throw new IllegalArgumentException("Pipeline depth must be positive, but it is " + depth);
+        }
+        this.depth = depth;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * @param inputs inputs of requests
+     * @param step   sends one request and returns its result
+     * @return results in the order of inputs
+     * @throws ScMemoryException the first failure of a step
+     */
+    @SuppressWarnings("unchecked")
+    public <P, R> List<R> run(List<P> inputs, Step<P, R> step) throws ScMemoryException {
+        Object[] results = new Object[inputs.size()];
+        AtomicInteger next = new AtomicInteger();
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        Runnable worker = () -> {
+            int i;
+            while (failure.get() == null && (i = next.getAndIncrement()) < inputs.size()) {
+                try {
+                    results[i] = step.apply(inputs.get(i));
+                } catch (ScMemoryException | RuntimeException e) {
+                    failure.compareAndSet(
+                            null,
+                            e);
+                }
+            }
+        };
+
+        int helperCount = Math.min(
+                depth,
+                inputs.size()) - 1;
+        List<Future<?>> started = new ArrayList<>(Math.max(
+                helperCount,
+                0));
+        for (int i = 0; i < helperCount; i++) {
+            started.add(helpers.submit(worker));
+        }
+        worker.run();
+        //        results written by helpers are visible after their futures are done
+        for (Future<?> future : started) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread()
+                      .interrupt();
+                failure.compareAndSet(
+                        null,
+                        e);
+                started.forEach(f -> f.cancel(true));
+                break;
+            } catch (ExecutionException e) {
+                failure.compareAndSet(
+                        null,
+                        new ScMemoryException(e.getCause()));
+            }
+        }
+
+        Exception e = failure.get();
+        if (e instanceof ScMemoryException scMemoryException) {
+            throw scMemoryException;
+        } else if (e instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        } else if (e != null) {
+            throw new ScMemoryException(e);
+        }
+        return (List<R>) Arrays.asList(results);
+    }
+
+    /**
+     * Sends one request of the pipeline.
+     */
+    @FunctionalInterface
+    public interface Step<P, R> {
+        R apply(P input) throws ScMemoryException;
+    }
+}
@@ -0,0 +1,125 @@
+package org.ostis.scmemory.websocketmemory.memory.batch;
+
+import org.ostis.scmemory.model.exception.ScMemoryException;
+import org.ostis.scmemory.model.exception.ScMemoryTimeoutException;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Shares one call between threads that make an identical call at the same time.
+ * The first thread makes the call, the others wait for it and get the same result (or the same exception).
+ * If the call of the first thread timed out, a waiting thread with time left makes the call itself.
+ * The result is not cached: a call made after the previous one is finished goes to the base again.
+ * <p>
+ * Only calls without side effects may be shared, e.g. search or reading of link content.
+ *
+ * @param <K> key of identical calls
+ * @param <V> result type
+ * @author artrayme
+ * @since 0.8.2
+ */
+public class SingleFlight<K, V> {
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * @param key     calls with equal keys are identical
+     * @param timeout how long to wait for an identical call made by another thread,
+     *                or null to wait until it is finished
+     * @param call    makes the call if there is no identical call in flight,
+     *                or if the identical call timed out before the timeout of this one
+     * @return result of the call
+     * @throws ScMemoryException        if the shared call failed
+     * @throws ScMemoryTimeoutException if the identical call is not finished in the timeout
+     */
+    public V execute(K key, Duration timeout, Call<V> call) throws ScMemoryException {
+        long deadline = timeout == null ? 0 : System.nanoTime() + timeout.toNanos();
+        while (true) {
+            CompletableFuture<V> own = new CompletableFuture<>();
+            CompletableFuture<V> shared = inFlight.putIfAbsent(
+                    key,
+                    own);
+            if (shared == null) {
+                return lead(
+                        key,
+                        own,
+                        call);
+            }
+            try {
+                return await(
+                        shared,
+                        timeout == null ? null : Duration.ofNanos(deadline - System.nanoTime()));
+            } catch (ScMemoryTimeoutException e) {
+                //                only the call of the leader timed out, this caller still has time to make its own
+                boolean leaderTimedOut = shared.isDone();
+                if (!leaderTimedOut || (timeout != null && deadline - System.nanoTime() <= 0)) {
+                    throw e;
+                }
+                inFlight.remove(
+                        key,
+                        shared);
+            }
+        }
+    }
+
+    /**
+     * @return number of calls in flight
+     */
+    public int size() {
+        return inFlight.size();
+    }
+
+    private V lead(K key, CompletableFuture<V> own, Call<V> call) throws ScMemoryException {
+        try {
+            V result = call.call();
+            own.complete(result);
+            return result;
+        } catch (ScMemoryException | RuntimeException e) {
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(
+                    key,
+                    own);
+        }
+    }
+
+    private V await(CompletableFuture<V> shared, Duration timeout) throws ScMemoryException {
+        try {
+            if (timeout == null) {
+                return shared.get();
+            }
+            //            the follower keeps its own deadline, even if the shared call was made with a longer one
+            return shared.get(
+                    timeout.toNanos(),
+                    TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new ScMemoryTimeoutException(
+                    "the identical request is not finished in " + timeout.toMillis() + " ms",
+                    e);
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                  .interrupt();
+            throw new ScMemoryException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof ScMemoryException scMemoryException) {
+                throw scMemoryException;
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new ScMemoryException(cause);
+        }
+    }
+
+    @FunctionalInterface
+    public interface Call<V> {
+        V call() throws ScMemoryException;
+    }
+}
@@ -0,0 +1,703 @@
+package org.ostis.scmemory.websocketmemory.memory.core;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.util.JsonParserSequence;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import lombok.extern.slf4j.Slf4j;
+import org.ostis.scmemory.websocketmemory.core.OstisClient;
+import org.ostis.scmemory.websocketmemory.memory.exception.OstisClientConfigurationException;
+import org.ostis.scmemory.websocketmemory.memory.exception.OstisConnectionException;
+import org.ostis.scmemory.websocketmemory.memory.exception.OstisTimeoutException;
+import org.ostis.scmemory.websocketmemory.memory.exception.OstisWebsocketClientException;
+import org.ostis.scmemory.websocketmemory.memory.message.response.EventMessage;
+import org.ostis.scmemory.websocketmemory.message.request.RequestPriority;
+import org.ostis.scmemory.websocketmemory.message.request.RequestType;
+import org.ostis.scmemory.websocketmemory.util.internal.JsonCodec;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Transport-independent part of {@link OstisClient} implementations.
+ * Requests of different threads are sent through one connection without waiting for each other,
+ * responses are matched to requests by id. Events are passed to the event callback.
+ * A dropped connection is restored according to the {@link ReconnectPolicy}.
+ * <p>
+ * Subclasses only establish the websocket connection, send text messages
+ * and pass every received message to {@link #onMessage(String)} or {@link #onMessage(Reader)}.
+ *
+ * @author artrayme
+ * @since 0.8.2
+ */
+@Slf4j(topic = "OstisClient")
+public abstract class AbstractOstisClient implements OstisClient {
+    private static final ScheduledExecutorService reconnectScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(
+                r,
+                "ostis-client-reconnect");
+        thread.setDaemon(true);
+        return thread;
+    });
+    //    attempts block on the handshake and on the reconnect callback, so they do not run on the shared scheduler
+    private static final ExecutorService reconnectWorkers = Executors.newCachedThreadPool(r -> {
+        Thread thread = new Thread(
+                r,
+                "ostis-client-reconnect-worker");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(60);
+
+    private final ReentrantLock lock = new ReentrantLock();
+    //    request id -> future of the response
+    private final Map<Long, PendingRequest> pendingRequests = new ConcurrentHashMap<>();
+    private volatile Duration defaultTimeout = DEFAULT_TIMEOUT;
+    private volatile ConcurrencyLimiter concurrencyLimiter = new ConcurrencyLimiter(ConcurrencyLimiter.Configuration.defaultConfiguration());
+    private final URI address;
+    private final ObjectMapper mapper = JsonCodec.INSTANCE.getMapper();
+
+    private final Consumer<EventMessage> eventCallback;
+    private final String clientName;
+    private final ReconnectPolicy reconnectPolicy;
+    private final Runnable reconnectCallback;
+    private volatile boolean shouldBeOpen;
+    //    only one chain of reconnect attempts runs at a time
+    private final AtomicBoolean reconnecting = new AtomicBoolean();
+    private volatile boolean lostWhileReconnecting;
+
+    /**
+     * @param reconnectPolicy   rules of restoring a dropped connection
+     * @param reconnectCallback is called after every successful reconnect (but not after {@link #open()}).
+     *                          Can be used to restore a server-side state, e.g. event subscriptions.
+     *                          If it throws an exception, the attempt is failed:
+     *                          the new connection is closed and the next attempt is scheduled
+     */
+    protected AbstractOstisClient(URI serverUri,
+                                  Consumer<EventMessage> eventCallback,
+                                  String clientName,
+                                  ReconnectPolicy reconnectPolicy,
+                                  Runnable reconnectCallback) {
+        address = serverUri;
+        this.eventCallback = eventCallback;
+        this.clientName = clientName;
+        this.reconnectPolicy = reconnectPolicy;
+        this.reconnectCallback = reconnectCallback;
+    }
+
+    /**
+     * Establishes a new connection. The previous connection (if any) must be closed.
+     */
+    protected abstract void connect() throws IOException, OstisWebsocketClientException;
+
+    /**
+     * Closes the current connection without calling {@link #onConnectionLost()}.
+     */
+    protected abstract void disconnect() throws IOException;
+
+    /**
+     * Sends a text message through the current connection.
+     */
+    protected abstract void sendMessage(String message) throws OstisWebsocketClientException;
+
+    /**
+     * Sends a text message that is written directly into the current connection.
+     * By default, the message is written into a string.
+     * Transports that support fragmented messages send big messages with {@link FragmentedTextWriter}.
+     */
+    protected void sendMessage(RequestWriter message) throws OstisWebsocketClientException, IOException {
+        StringWriter out = new StringWriter();
+        message.writeTo(out);
+        sendMessage(out.toString());
+    }
+
+    @Override
+    public void open() {
+        try {
+            lock.lock();
+            shouldBeOpen = true;
+            connect();
+            log.info(
+                    "ostis client \"{}\" is connected to URI: {}",
+                    clientName,
+                    address);
+        } catch (IOException | OstisWebsocketClientException e) {
+            shouldBeOpen = false;
+            String msg = "cannot connect to URI: " + address;
+            log.error(msg);
+            throw new OstisClientConfigurationException(
+                    msg,
+                    e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public String sendToOstis(String jsonRequest) throws OstisConnectionException {
+        long requestId;
+        try {
+            requestId = mapper.readTree(jsonRequest)
+                              .path("id")
+                              .asLong();
+        } catch (JsonProcessingException e) {
+            throw new OstisConnectionException(
+                    "request without id: " + jsonRequest,
+                    e);
+        }
+        return sendToOstis(
+                requestId,
+                jsonRequest,
+                defaultTimeout);
+    }
+
+    @Override
+    public String sendToOstis(long requestId, String jsonRequest, Duration timeout) throws OstisConnectionException {
+        return sendToOstis(
+                requestId,
+                jsonRequest,
+                String.class,
+                timeout);
+    }
+
+    @Override
+    public <T> T sendToOstis(long requestId,
+                             String jsonRequest,
+                             Class<T> responseType,
+                             Duration timeout) throws OstisConnectionException {
+        log.info(
+                "try to send request: {}",
+                jsonRequest);
+        return send(
+                requestId,
+                null,
+                RequestPriority.INTERACTIVE,
+                () -> sendMessage(jsonRequest),
+                responseType,
+                timeout);
+    }
+
+    @Override
+    public <T> T sendToOstis(long requestId,
+                             RequestType requestType,
+                             RequestPriority priority,
+                             RequestWriter request,
+                             Class<T> responseType,
+                             Duration timeout) throws OstisConnectionException {
+        log.info(
+                "try to send request {}",
+                requestId);
+        return send(
+                requestId,
+                requestType,
+                priority,
+                () -> sendMessage(request),
+                responseType,
+                timeout);
+    }
+
+    /**
+     * Waits for a free slot of the {@link ConcurrencyLimiter} (if it is set) and exchanges the request.
+     * Time in the local queue is a part of the timeout.
+     */
+    private <T> T send(long requestId,
+                       RequestType requestType,
+                       RequestPriority priority,
+                       Sending sending,
+                       Class<T> responseType,
+                       Duration timeout) throws OstisConnectionException {
+        ConcurrencyLimiter limiter = concurrencyLimiter;
+        if (limiter == null) {
+            return exchange(
+                    requestId,
+                    sending,
+                    responseType,
+                    timeout);
+        }
+        long start = System.nanoTime();
+        ConcurrencyLimiter.Permit permit;
+        try {
+            permit = limiter.acquire(
+                    requestType,
+                    priority,
+                    timeout.toNanos());
+        } catch (TimeoutException e) {
+            String msg = "ostis client \"" + clientName + "\" could not send the request " + requestId + " in " + timeout.toMillis() + " ms: too many requests are in flight";
+            log.error(msg);
+            throw new OstisTimeoutException(
+                    msg,
+                    e);
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                  .interrupt();
+            throw new OstisConnectionException(
+                    "waiting for sending was interrupted",
+                    e);
+        }
+        try {
+            T response = exchange(
+                    requestId,
+                    sending,
+                    responseType,
+                    timeout.minusNanos(System.nanoTime() - start));
+            permit.onSuccess();
+            return response;
+        } catch (OstisTimeoutException e) {
+            permit.onDropped();
+            throw e;
+        } catch (OstisConnectionException | RuntimeException e) {
+            permit.onIgnored();
+            throw e;
+        }
+    }
+
+    private <T> T exchange(long requestId,
+                           Sending sending,
+                           Class<T> responseType,
+                           Duration timeout) throws OstisConnectionException {
+        Object response;
+        PendingRequest pending = new PendingRequest(
+                new CompletableFuture<>(),
+                responseType);
+        if (pendingRequests.putIfAbsent(
+                requestId,
+                pending) != null) {
+            throw new OstisConnectionException(
+                    "request with id " + requestId + " is already sent",
+                    null);
+        }
+        try {
+            sending.send();
+            response = pending.future()
+                              .get(
+                    timeout.toNanos(),
+                    TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            String msg = "ostis client \"" + clientName + "\" got no response to the request " + requestId + " in " + timeout.toMillis() + " ms";
+            log.error(msg);
+            throw new OstisTimeoutException(
+                    msg,
+                    e);
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                  .interrupt();
+            String msg = "some exception in concurrency";
+            log.error(
+                    msg,
+                    e);
+            throw new OstisConnectionException(
+                    msg,
+                    e);
+        } catch (ExecutionException e) {
+            String msg = e.getCause() instanceof IOException
+                         ? "cannot read the response to the request " + requestId
+                         : e.getCause()
+                            .getMessage();
+            log.error(msg);
+            throw new OstisConnectionException(
+                    msg,
+                    e.getCause());
+        } catch (OstisWebsocketClientException e) {
+            String msg = "you should open connection first";
+            log.error(msg);
+            throw new OstisConnectionException(
+                    msg,
+                    e);
+        } catch (IOException e) {
+            String msg = "cannot send the request " + requestId;
+            log.error(
+                    msg,
+                    e);
+            throw new OstisConnectionException(
+                    msg,
+                    e);
+        } finally {
+            //            the request is cancelled if it is still pending, so its late response will be discarded
+            pendingRequests.remove(requestId);
+        }
+        log.info(
+                "ostis client \"{}\" return response: {}",
+                clientName,
+                response);
+        if (responseType.isInstance(response)) {
+            return responseType.cast(response);
+        }
+        //        the response came as a whole text, so it is parsed by the calling thread
+        try {
+            return JsonCodec.INSTANCE.reader(responseType)
+                                     .readValue((String) response);
+        } catch (JsonProcessingException e) {
+            throw new OstisConnectionException(
+                    "cant parse response - " + response,
+                    e);
+        }
+    }
+
+    /**
+     * Limits the number of requests waiting for a response, the rest wait in a local queue.
+     * Takes effect for requests sent after the call.
+     *
+     * @param configuration parameters of the adaptive limit, or null to send all requests immediately
+     * @since 0.8.2
+     */
+    public void setConcurrencyLimit(ConcurrencyLimiter.Configuration configuration) {
+        concurrencyLimiter = configuration == null ? null : new ConcurrencyLimiter(configuration);
+    }
+
+    /**
+     * @return the current limiter, or null if requests are not limited
+     */
+    public ConcurrencyLimiter getConcurrencyLimiter() {
+        return concurrencyLimiter;
+    }
+
+    @Override
+    public Duration getDefaultTimeout() {
+        return defaultTimeout;
+    }
+
+    /**
+     * @param defaultTimeout timeout of requests sent without explicit timeout
+     */
+    public void setDefaultTimeout(Duration defaultTimeout) {
+        if (defaultTimeout.isNegative() || defaultTimeout.isZero()) {
+            throw new IllegalArgumentException("Timeout must be positive, but it is " + defaultTimeout);
+        }
+        this.defaultTimeout = defaultTimeout;
+    }
+
+    @Override
+    public URI getConfiguration() {
+        return address;
+    }
+
+    @Override
+    public String getName() {
+        return clientName;
+    }
+
+    @Override
+    public void close() throws Exception {
+        shouldBeOpen = false;
+        lock.lock();
+        try {
+            disconnect();
+        } finally {
+            lock.unlock();
+        }
+        failPendingRequests();
+        log.info(
+                "ostis client \"{}\" is closed",
+                clientName);
+    }
+
+    /**
+     * Must be called for every received message.
+     *
+     * @param message full text message
+     */
+    protected void onMessage(String message) {
+        log.info(
+                "ostis websocket client \"{}\" catch response: {}",
+                clientName,
+                message);
+        try {
+            JsonNode root = mapper.readTree(message);
+            if (root.path("event")
+                    .asInt() == 1) {
+                eventCallback.accept(mapper.treeToValue(
+                        root,
+                        EventMessage.class));
+            } else {
+                completeRequest(
+                        root.path("id")
+                            .asLong(),
+                        message);
+            }
+        } catch (JsonProcessingException e) {
+            log.error(
+                    "ostis websocket client \"{}\" cannot parse message: {}",
+                    clientName,
+                    message);
+        }
+    }
+
+    /**
+     * Must be called for every received message in the streamed mode.
+     * The message is deserialized as it arrives, so the whole text is never kept in memory.
+     * sc-machine writes keys in alphabetical order, so {@code event} and {@code id} come before {@code payload}.
+     * They are buffered, the type of the response is taken from the pending request,
+     * and the rest of the message is read directly from the stream.
+     * If {@code payload} comes before {@code event} and {@code id}, it is buffered too.
+     *
+     * @param message reader of the message text
+     */
+    protected void onMessage(Reader message) {
+        PendingRequest pending = null;
+        try (JsonParser parser = mapper.getFactory()
+                                       .createParser(message)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                log.error(
+                        "ostis websocket client \"{}\" got a message that is not an object",
+                        clientName);
+                return;
+            }
+            TokenBuffer header = new TokenBuffer(parser);
+            header.writeStartObject();
+            long id = 0;
+            boolean event = false;
+            boolean idRead = false;
+            boolean eventRead = false;
+            TokenBuffer payload = null;
+            boolean payloadFollows = false;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                parser.nextToken();
+                if ("payload".equals(name)) {
+                    if (idRead && eventRead) {
+                        payloadFollows = true;
+                        break;
+                    }
+                    //                    the header is not read yet, so the payload cannot be deserialized
+                    payload = new TokenBuffer(parser);
+                    payload.copyCurrentStructure(parser);
+                    continue;
+                }
+                if ("id".equals(name)) {
+                    id = parser.getValueAsLong();
+                    idRead = true;
+                } else if ("event".equals(name)) {
+                    event = parser.getValueAsInt() == 1;
+                    eventRead = true;
+                }
+                header.writeFieldName(name);
+                header.copyCurrentStructure(parser);
+            }
+            if (payloadFollows) {
+                header.writeFieldName("payload");
+            } else if (payload != null) {
+                header.writeFieldName("payload");
+                payload.serialize(header);
+            }
+            Class<?> responseType;
+            if (event) {
+                responseType = EventMessage.class;
+            } else {
+                pending = pendingRequests.remove(id);
+                if (pending == null) {
+                    log.warn(
+                            "ostis client \"{}\" discarded the response to the expired or unknown request {}",
+                            clientName,
+                            id);
+                    while (parser.nextToken() != null) {
+                        parser.skipChildren();
+                    }
+                    return;
+                }
+                responseType = pending.responseType();
+            }
+            //            the current token of the stream (the payload value or the end of the message) follows the buffered header
+            JsonParser rest = JsonParserSequence.createFlattened(
+                    true,
+                    header.asParser(),
+                    parser);
+            Object response = responseType == String.class
+                              ? mapper.readTree(rest)
+                                      .toString()
+                              : JsonCodec.INSTANCE.reader(responseType)
+                                                  .readValue(rest);
+            if (event) {
+                eventCallback.accept((EventMessage) response);
+            } else {
+                pending.future()
+                       .complete(response);
+            }
+        } catch (IOException e) {
+            log.error(
+                    "ostis websocket client \"{}\" cannot read message",
+                    clientName,
+                    e);
+            if (pending != null) {
+                pending.future()
+                       .completeExceptionally(e);
+            }
+        }
+    }
+
+    /**
+     * Must be called when the current connection is closed not by {@link #disconnect()}.
+     */
+    protected void onConnectionLost() {
+        log.info(
+                "websocket client \"{}\" is closed",
+                clientName);
+        failPendingRequests();
+        if (reconnecting.compareAndSet(
+                false,
+                true)) {
+            scheduleReconnect(0);
+        } else {
+            //            the running attempt has lost its connection, it schedules the next one
+            lostWhileReconnecting = true;
+        }
+    }
+
+    /**
+     * Must be called when a message, accepted by {@link #sendMessage(String)}, is not sent later.
+     * The request of the message fails at once instead of waiting for its timeout.
+     *
+     * @param message the message that is not sent
+     * @param cause   reason of the failure
+     */
+    protected void onSendFailed(String message, Throwable cause) {
+        long requestId;
+        try {
+            requestId = mapper.readTree(message)
+                              .path("id")
+                              .asLong();
+        } catch (JsonProcessingException e) {
+            log.error(
+                    "ostis client \"{}\" cannot send message: {}",
+                    clientName,
+                    message);
+            return;
+        }
+        PendingRequest pending = pendingRequests.remove(requestId);
+        if (pending != null) {
+            pending.future()
+                   .completeExceptionally(new OstisWebsocketClientException(
+                           "cannot send the request " + requestId,
+                           cause));
+        }
+    }
+
+    private void completeRequest(long requestId, String response) {
+        PendingRequest pending = pendingRequests.remove(requestId);
+        if (pending == null) {
+            log.warn(
+                    "ostis client \"{}\" discarded the response to the expired or unknown request {}",
+                    clientName,
+                    requestId);
+            return;
+        }
+        pending.future()
+               .complete(response);
+    }
+
+    private void failPendingRequests() {
+        OstisWebsocketClientException cause = new OstisWebsocketClientException("connection was closed before the response came");
+        //        each request is removed with its own failure, a request registered meanwhile is not dropped silently
+        for (Long requestId : pendingRequests.keySet()) {
+            PendingRequest pending = pendingRequests.remove(requestId);
+            if (pending != null) {
+                pending.future()
+                       .completeExceptionally(cause);
+            }
+        }
+    }
+
+    private void scheduleReconnect(int attempt) {
+        if (!shouldBeOpen) {
+            reconnecting.set(false);
+            return;
+        }
+        if (!reconnectPolicy.isAttemptAllowed(attempt)) {
+            log.error(
+                    "ostis client \"{}\" gave up reconnecting to URI: {}",
+                    clientName,
+                    address);
+            reconnecting.set(false);
+            return;
+        }
+        long delay = reconnectPolicy.getDelay(attempt);
+        log.warn(
+                "ostis client \"{}\" will try to reconnect in {} ms (attempt {})",
+                clientName,
+                delay,
+                attempt + 1);
+        reconnectScheduler.schedule(
+                () -> reconnectWorkers.execute(() -> reconnect(attempt)),
+                delay,
+                TimeUnit.MILLISECONDS);
+    }
+
+    private void reconnect(int attempt) {
+        if (!shouldBeOpen) {
+            reconnecting.set(false);
+            return;
+        }
+        lostWhileReconnecting = false;
+        try {
+            connect();
+        } catch (IOException | OstisWebsocketClientException e) {
+            log.warn(
+                    "ostis client \"{}\" cannot reconnect: {}",
+                    clientName,
+                    e.getMessage());
+            scheduleReconnect(attempt + 1);
+            return;
+        }
+        log.info(
+                "ostis client \"{}\" is reconnected to URI: {}",
+                clientName,
+                address);
+        try {
+            reconnectCallback.run();
+        } catch (RuntimeException e) {
+            log.error(
+                    "reconnect callback of ostis client \"{}\" failed, the connection is dropped",
+                    clientName,
+                    e);
+            dropConnection();
+            scheduleReconnect(attempt + 1);
+            return;
+        }
+        reconnecting.set(false);
+        if (lostWhileReconnecting && reconnecting.compareAndSet(
+                false,
+                true)) {
+            scheduleReconnect(attempt + 1);
+        }
+    }
+
+    private void dropConnection() {
+        lock.lock();
+        try {
+            disconnect();
+        } catch (IOException e) {
+            log.warn(
+                    "ostis client \"{}\" cannot close the connection: {}",
+                    clientName,
+                    e.getMessage());
+        } finally {
+            lock.unlock();
+        }
+        failPendingRequests();
+    }
+
+    @FunctionalInterface
+    private interface Sending {
+        void send() throws OstisWebsocketClientException, IOException;
+    }
+
+    private record PendingRequest(CompletableFuture<Object> future, Class<?> responseType) {
+    }
+}
@@ -0,0 +1,339 @@
+package org.ostis.scmemory.websocketmemory.memory.core;
+
+import org.ostis.scmemory.websocketmemory.message.request.RequestPriority;
+import org.ostis.scmemory.websocketmemory.message.request.RequestType;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Limits the number of requests waiting for a response (in-flight requests), so a client cannot flood the base.
+ * Requests over the limit wait in a local queue.
+ * <p>
+ * Every {@link RequestType} has its own lane with its own limit, so slow requests (e.g. search of big templates)
+ * do not hold back fast ones. A request without type uses the common lane.
+ * <p>
+ * Interactive requests of a lane are sent ahead of queued bulk requests.
+ * Bulk requests take at most three quarters of the limit, so an interactive request
+ * does not wait for big requests that are already in flight.
+ * <p>
+ * The limit is adjusted by AIMD driven by round-trip time:
+ * it grows by one per a round of responses while the lane is used and the round-trip time stays close
+ * to the minimal observed one of the same priority (a bulk request is slower because of its size, not of an overload),
+ * and it is multiplied by {@link Configuration#backoffRatio()}
+ * when a request times out or its round-trip time exceeds the minimal one {@link Configuration#latencyTolerance()} times.
+ * The limit is decreased at most once per a round trip: responses to requests sent before the last decrease
+ * are answers to the same overload and do not decrease it again.
+ * So the number of in-flight requests stays near the point where the base is saturated but not yet overloaded.
+ *
+ * @author artrayme
+ * @since 0.8.2
+ */
+public class ConcurrencyLimiter {
+    //    part of the difference the minimal round-trip time drifts to a bigger one, so it follows a changed base load
+    private static final int MIN_RTT_DRIFT = 256;
+    //    jitter of fast responses is not an overload
+    private static final long MIN_LATENCY_GROWTH_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final double BULK_SHARE = 0.75;
+
+    private final Configuration configuration;
+    private final LongSupplier nanoClock;
+    private final Map<RequestType, Lane> lanes = new EnumMap<>(RequestType.class);
+    private final Lane commonLane;
+
+    public ConcurrencyLimiter(Configuration configuration) {
+        this(
+                configuration,
+                System::nanoTime);
+    }
+
+    /**
+     * @param nanoClock source of round-trip times, {@link System#nanoTime()} by default
+     */
+    public ConcurrencyLimiter(Configuration configuration, LongSupplier nanoClock) {
+        this.configuration = configuration;
+        this.nanoClock = nanoClock;
+        for (RequestType type : RequestType.values()) {
+            lanes.put(
+                    type,
+                    new Lane());
+        }
+        commonLane = new Lane();
+    }
+
+    /**
+     * Waits until the lane of the request type has a free slot.
+     *
+     * @param requestType  type of the request, or null for the common lane
+     * @param priority     priority of the request
+     * @param timeoutNanos max time to wait
+     * @return permit that must be released when the request is finished
+     * @throws TimeoutException if no slot became free in time
+     */
+    public Permit acquire(RequestType requestType,
+                          RequestPriority priority,
+                          long timeoutNanos) throws InterruptedException, TimeoutException {
+        Lane lane = getLane(requestType);
+        boolean bulk = priority == RequestPriority.BULK;
+        lane.lock.lock();
+        try {
+            long nanos = timeoutNanos;
+            if (bulk) {
+                lane.bulkWaiting++;
+            } else {
+                lane.interactiveWaiting++;
+            }
+            try {
+                while (!lane.hasSlot(bulk)) {
+                    if (nanos <= 0) {
+                        throw new TimeoutException("no free slot for a " + priority + " request of type " + requestType + " in the local queue, limit = " + (int) lane.limit);
+                    }
+                    nanos = (bulk ? lane.bulkAvailable : lane.interactiveAvailable).awaitNanos(nanos);
+                }
+            } finally {
+                if (bulk) {
+                    lane.bulkWaiting--;
+                } else {
+                    lane.interactiveWaiting--;
+                }
+            }
+            lane.inFlight++;
+            if (bulk) {
+                lane.bulkInFlight++;
+            }
+        } finally {
+            if (!bulk) {
+                //                bulk requests may have been waiting for this one
+                lane.signalWaiters();
+            }
+            lane.lock.unlock();
+        }
+        return new Permit(
+                lane,
+                bulk,
+                nanoClock.getAsLong());
+    }
+
+    /**
+     * @param requestType type of the request, or null for the common lane
+     * @return current limit of in-flight requests of the lane
+     */
+    public int getLimit(RequestType requestType) {
+        Lane lane = getLane(requestType);
+        lane.lock.lock();
+        try {
+            return (int) lane.limit;
+        } finally {
+            lane.lock.unlock();
+        }
+    }
+
+    /**
+     * @param requestType type of the request, or null for the common lane
+     * @return number of requests of the lane waiting for a response
+     */
+    public int getInFlight(RequestType requestType) {
+        Lane lane = getLane(requestType);
+        lane.lock.lock();
+        try {
+            return lane.inFlight;
+        } finally {
+            lane.lock.unlock();
+        }
+    }
+
+    /**
+     * @param requestType type of the request, or null for the common lane
+     * @return number of requests of the lane waiting for a free slot in the local queue
+     */
+    public int getWaiting(RequestType requestType) {
+        Lane lane = getLane(requestType);
+        lane.lock.lock();
+        try {
+            return lane.interactiveWaiting + lane.bulkWaiting;
+        } finally {
+            lane.lock.unlock();
+        }
+    }
+
+    public Configuration getConfiguration() {
+        return configuration;
+    }
+
+    private Lane getLane(RequestType requestType) {
+        return requestType == null ? commonLane : lanes.get(requestType);
+    }
+
+    /**
+     * Slot of one in-flight request. Exactly one of the methods must be called when the request is finished.
+     */
+    public final class Permit {
+        private final Lane lane;
+        private final boolean bulk;
+        private final long startNanos;
+
+        private Permit(Lane lane, boolean bulk, long startNanos) {
+            this.lane = lane;
+            this.bulk = bulk;
+            this.startNanos = startNanos;
+        }
+
+        /**
+         * The response came, its round-trip time adjusts the limit.
+         */
+        public void onSuccess() {
+            lane.release(
+                    bulk,
+                    startNanos,
+                    nanoClock.getAsLong() - startNanos,
+                    false);
+        }
+
+        /**
+         * The response did not come in time, the limit is decreased.
+         */
+        public void onDropped() {
+            lane.release(
+                    bulk,
+                    startNanos,
+                    nanoClock.getAsLong() - startNanos,
+                    true);
+        }
+
+        /**
+         * The request failed not because of the load (e.g. the connection is closed), the limit is not changed.
+         */
+        public void onIgnored() {
+            lane.release(
+                    bulk,
+                    startNanos,
+                    -1,
+                    false);
+        }
+    }
+
+    private class Lane {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition interactiveAvailable = lock.newCondition();
+        private final Condition bulkAvailable = lock.newCondition();
+        private double limit = configuration.initialLimit();
+        private int inFlight;
+        private int bulkInFlight;
+        private int interactiveWaiting;
+        private int bulkWaiting;
+        private long interactiveMinRttNanos = Long.MAX_VALUE;
+        private long bulkMinRttNanos = Long.MAX_VALUE;
+        //        requests sent before it cannot decrease the limit again
+        private long lastDecreaseNanos = nanoClock.getAsLong();
+
+        private boolean hasSlot(boolean bulk) {
+            if (inFlight >= (int) limit) {
+                return false;
+            }
+            return !bulk || (interactiveWaiting == 0 && bulkInFlight < Math.max(
+                    1,
+                    (int) (limit * BULK_SHARE)));
+        }
+
+        private void signalWaiters() {
+            int free = (int) limit - inFlight;
+            for (int i = 0; i < free; i++) {
+                if (interactiveWaiting > 0) {
+                    interactiveAvailable.signal();
+                } else {
+                    bulkAvailable.signal();
+                }
+            }
+        }
+
+        private void release(boolean bulk, long startNanos, long rttNanos, boolean dropped) {
+            lock.lock();
+            try {
+                int usedSlots = inFlight;
+                inFlight--;
+                if (bulk) {
+                    bulkInFlight--;
+                }
+                if (dropped) {
+                    decrease(startNanos);
+                } else if (rttNanos >= 0) {
+                    long minRttNanos = updateMinRtt(
+                            bulk,
+                            rttNanos);
+                    if (rttNanos > minRttNanos * configuration.latencyTolerance() && rttNanos - minRttNanos > MIN_LATENCY_GROWTH_NANOS) {
+                        decrease(startNanos);
+                    } else if (usedSlots * 2 >= limit) {
+                        //                        one slot per a round of responses, only if the limit is really used
+                        limit = Math.min(
+                                configuration.maxLimit(),
+                                limit + 1 / limit);
+                    }
+                }
+                signalWaiters();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * @return minimal round-trip time of the priority including this response
+         */
+        private long updateMinRtt(boolean bulk, long rttNanos) {
+            long minRttNanos = bulk ? bulkMinRttNanos : interactiveMinRttNanos;
+            if (rttNanos < minRttNanos) {
+                minRttNanos = rttNanos;
+            } else {
+                minRttNanos += (rttNanos - minRttNanos) / MIN_RTT_DRIFT;
+            }
+            if (bulk) {
+                bulkMinRttNanos = minRttNanos;
+            } else {
+                interactiveMinRttNanos = minRttNanos;
+            }
+            return minRttNanos;
+        }
+
+        private void decrease(long startNanos) {
+            if (startNanos - lastDecreaseNanos < 0) {
+                return;
+            }
+            limit = Math.max(
+                    configuration.minLimit(),
+                    limit * configuration.backoffRatio());
+            lastDecreaseNanos = nanoClock.getAsLong();
+        }
+    }
+
+    /**
+     * @param initialLimit     limit of in-flight requests of each lane at the start
+     * @param minLimit         the limit never goes below it
+     * @param maxLimit         the limit never goes above it
+     * @param backoffRatio     the limit is multiplied by it on overload, from 0 to 1
+     * @param latencyTolerance how many times the round-trip time may exceed the minimal one before it is considered an overload
+     */
+    public record Configuration(int initialLimit, int minLimit, int maxLimit, double backoffRatio,
+                                double latencyTolerance) {
+        public Configuration {
+            if (minLimit < 1 || initialLimit < minLimit || maxLimit < initialLimit || backoffRatio <= 0 || backoffRatio >= 1 || latencyTolerance <= 1) {
+                throw new IllegalArgumentException("Incorrect concurrency limit: initialLimit = " + initialLimit + ", minLimit = " + minLimit + ", maxLimit = " + maxLimit + ", backoffRatio = " + backoffRatio + ", latencyTolerance = " + latencyTolerance);
+            }
+        }
+
+        /**
+         * @return 16 in-flight requests per lane at the start, from 4 to 256, backoff 0.9, latency tolerance 3
+         */
+        public static Configuration defaultConfiguration() {
+            return new Configuration(
+                    16,
+                    4,
+                    256,
+                    0.9,
+                    3);
+        }
+    }
+}
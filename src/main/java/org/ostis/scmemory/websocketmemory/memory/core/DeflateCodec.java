@@ -0,0 +1,131 @@
+package org.ostis.scmemory.websocketmemory.memory.core;
+
+import java.io.ByteArrayOutputStream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Compression of websocket messages as described in RFC 7692 (permessage-deflate).
+ * A compressed message is a raw deflate stream flushed by {@link Deflater#SYNC_FLUSH}
+ * without the trailing {@code 00 00 ff ff} bytes.
+ * <p>
+ * One codec serves one connection. If context takeover is allowed, the sliding window is kept between messages,
+ * so repeated JSON keys of the next messages are compressed better.
+ * Not thread-safe: websocket implementations process frames of one connection sequentially.
+ *
+ * @author artrayme
+ * @since 0.8.2
+ */
+public class DeflateCodec {
+    private static final byte[] TAIL = {0, 0, (byte) 0xff, (byte) 0xff};
+    private static final int BUFFER_SIZE = 8 * 1024;
+
+    private final Deflater deflater;
+    private final Inflater inflater = new Inflater(true);
+    private final boolean outgoingContextTakeover;
+    private final boolean incomingContextTakeover;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+
+    /**
+     * @param level                   compression level from {@link Deflater#BEST_SPEED} to {@link Deflater#BEST_COMPRESSION}
+     * @param outgoingContextTakeover whether the compression window is kept between sent messages
+     * @param incomingContextTakeover whether the peer keeps the compression window between messages
+     */
+    public DeflateCodec(int level, boolean outgoingContextTakeover, boolean incomingContextTakeover) {
+        deflater = new Deflater(
+                level,
+                true);
+        this.outgoingContextTakeover = outgoingContextTakeover;
+        this.incomingContextTakeover = incomingContextTakeover;
+    }
+
+    /**
+     * @param data whole message
+     * @return compressed message
+     */
+    public byte[] compress(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(
+                64,
+                data.length / 4));
+        deflater.setInput(data);
+        int length;
+        do {
+            length = deflater.deflate(
+                    buffer,
+                    0,
+                    buffer.length,
+                    Deflater.SYNC_FLUSH);
+            out.write(
+                    buffer,
+                    0,
+                    length);
+        } while (length == buffer.length);
+        if (!outgoingContextTakeover) {
+            deflater.reset();
+        }
+        byte[] result = out.toByteArray();
+        if (endsWithTail(result)) {
+            byte[] trimmed = new byte[result.length - TAIL.length];
+            System.arraycopy(
+                    result,
+                    0,
+                    trimmed,
+                    0,
+                    trimmed.length);
+            return trimmed;
+        }
+        return result;
+    }
+
+    /**
+     * @param data fragment of a compressed message
+     * @param last whether it is the last fragment of the message
+     * @return decompressed data of the fragment
+     * @throws DataFormatException if the data is not a deflate stream
+     */
+    public byte[] decompress(byte[] data, boolean last) throws DataFormatException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length * 4);
+        inflate(
+                data,
+                out);
+        if (last) {
+            inflate(
+                    TAIL,
+                    out);
+            if (!incomingContextTakeover) {
+                inflater.reset();
+            }
+        }
+        return out.toByteArray();
+    }
+
+    public void close() {
+        deflater.end();
+        inflater.end();
+    }
+
+    private void inflate(byte[] data, ByteArrayOutputStream out) throws DataFormatException {
+        inflater.setInput(data);
+        int length;
+        //        inflate returns 0 only when all input is consumed
+        while ((length = inflater.inflate(buffer)) > 0) {
+            out.write(
+                    buffer,
+                    0,
+                    length);
+        }
+    }
+
+    private static boolean endsWithTail(byte[] data) {
+        if (data.length < TAIL.length) {
+            return false;
+        }
+        for (int i = 0; i < TAIL.length; i++) {
+            if (data[data.length - TAIL.length + i] != TAIL[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
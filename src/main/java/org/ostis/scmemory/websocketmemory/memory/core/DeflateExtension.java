@@ -0,0 +1,147 @@
+package org.ostis.scmemory.websocketmemory.memory.core;
+
+import org.glassfish.tyrus.core.extension.ExtendedExtension;
+import org.glassfish.tyrus.core.frame.Frame;
+
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+
+/**
+ * The permessage-deflate websocket extension (RFC 7692) for {@link OstisClientSync}.
+ * If the server does not accept the extension, messages are sent as is.
+ * <p>
+ * Messages shorter than {@link Configuration#threshold()} are not compressed:
+ * for short requests compression costs more CPU than it saves bandwidth.
+ *
+ * @author artrayme
+ * @since 0.8.2
+ */
+public class DeflateExtension implements ExtendedExtension {
+    private static final String NAME = "permessage-deflate";
+    private static final String SERVER_NO_CONTEXT_TAKEOVER = "server_no_context_takeover";
+    private static final String CLIENT_NO_CONTEXT_TAKEOVER = "client_no_context_takeover";
+    private static final String CODEC = DeflateExtension.class.getName() + ".codec";
+    private static final String COMPRESSED_MESSAGE = DeflateExtension.class.getName() + ".compressedMessage";
+    private static final byte CONTINUATION = 0x0;
+    private static final byte TEXT = 0x1;
+    private static final byte BINARY = 0x2;
+
+    private final Configuration configuration;
+
+    public DeflateExtension(Configuration configuration) {
+        this.configuration = configuration;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public List<Parameter> getParameters() {
+        return List.of();
+    }
+
+    @Override
+    public void onHandshakeResponse(ExtensionContext context, List<Parameter> responseParameters) {
+        boolean outgoingContextTakeover = responseParameters.stream()
+                                                            .noneMatch(p -> CLIENT_NO_CONTEXT_TAKEOVER.equals(p.getName()));
+        boolean incomingContextTakeover = responseParameters.stream()
+                                                            .noneMatch(p -> SERVER_NO_CONTEXT_TAKEOVER.equals(p.getName()));
+        context.getProperties()
+               .put(
+                       CODEC,
+                       new DeflateCodec(
+                               configuration.level(),
+                               outgoingContextTakeover,
+                               incomingContextTakeover));
+    }
+
+    @Override
+    public List<Parameter> onExtensionNegotiation(ExtensionContext context, List<Parameter> requestedParameters) {
+        //        used only on the server side
+        return requestedParameters;
+    }
+
+    @Override
+    public Frame processOutgoing(ExtensionContext context, Frame frame) {
+        DeflateCodec codec = (DeflateCodec) context.getProperties()
+                                                   .get(CODEC);
+        //        only whole data messages are compressed, fragmented ones are sent as is
+        if (codec == null || !frame.isFin() || (frame.getOpcode() != TEXT && frame.getOpcode() != BINARY)) {
+            return frame;
+        }
+        if (frame.getPayloadLength() < configuration.threshold()) {
+            return frame;
+        }
+        return Frame.builder(frame)
+                    .rsv1(true)
+                    .payloadData(codec.compress(frame.getPayloadData()))
+                    .build();
+    }
+
+    @Override
+    public Frame processIncoming(ExtensionContext context, Frame frame) {
+        DeflateCodec codec = (DeflateCodec) context.getProperties()
+                                                   .get(CODEC);
+        if (codec == null || frame.isControlFrame()) {
+            return frame;
+        }
+        //        only the first frame of a message has the RSV1 bit
+        if (frame.getOpcode() != CONTINUATION) {
+            context.getProperties()
+                   .put(
+                           COMPRESSED_MESSAGE,
+                           frame.isRsv1());
+        }
+        if (!Boolean.TRUE.equals(context.getProperties()
+                                        .get(COMPRESSED_MESSAGE))) {
+            return frame;
+        }
+        byte[] data;
+        try {
+            data = codec.decompress(
+                    frame.getPayloadData(),
+                    frame.isFin());
+        } catch (DataFormatException e) {
+            throw new IllegalStateException(
+                    "Cannot decompress a message frame of " + frame.getPayloadLength() + " bytes",
+                    e);
+        }
+        return Frame.builder(frame)
+                    .rsv1(false)
+                    .payloadData(data)
+                    .build();
+    }
+
+    @Override
+    public void destroy(ExtensionContext context) {
+        DeflateCodec codec = (DeflateCodec) context.getProperties()
+                                                   .remove(CODEC);
+        if (codec != null) {
+            codec.close();
+        }
+    }
+
+    /**
+     * @param level     compression level from {@link Deflater#BEST_SPEED} to {@link Deflater#BEST_COMPRESSION}
+     * @param threshold min size of a message in bytes to be compressed
+     */
+    public record Configuration(int level, int threshold) {
+        public Configuration {
+            if (level < Deflater.BEST_SPEED || level > Deflater.BEST_COMPRESSION || threshold < 0) {
+                throw new IllegalArgumentException("Incorrect compression configuration: level = " + level + ", threshold = " + threshold);
+            }
+        }
+
+        /**
+         * @return the fastest level (it gives most of the savings on sc-machine JSON), messages from 1 KiB
+         */
+        public static Configuration defaultConfiguration() {
+            return new Configuration(
+                    Deflater.BEST_SPEED,
+                    1024);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package org.ostis.scmemory.websocketmemory.memory.core;
+
+import org.ostis.scmemory.websocketmemory.core.OstisClient;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writer of one websocket text message that keeps at most one buffer of characters in memory.
+ * A message that fits into the buffer is returned as a whole text, so it is sent as usual (and can be compressed).
+ * A bigger message is sent in fragments of the buffer size while it is being written.
+ * <p>
+ * The buffer is not copied, so a client can reuse it for all messages of a connection
+ * as long as the messages are sent one by one.
+ *
+ * @author artrayme
+ * @since 0.8.2
+ */
+public class FragmentedTextWriter extends Writer {
+    public static final int DEFAULT_FRAGMENT_SIZE = 64 * 1024;
+
+    private final char[] buffer;
+    private final FragmentSender fragmentSender;
+    private int length;
+    private boolean fragmented;
+
+    /**
+     * @param buffer         buffer of characters, its size is the size of fragments
+     * @param fragmentSender sends fragments of a big message
+     */
+    public FragmentedTextWriter(char[] buffer, FragmentSender fragmentSender) {
+        this.buffer = buffer;
+        this.fragmentSender = fragmentSender;
+    }
+
+    /**
+     * Writes the message. If the message is sent in fragments and the request fails,
+     * the message is finished anyway, so the connection can be used by the next messages.
+     *
+     * @param request writes the message
+     * @return the whole message if it fits into the buffer, otherwise null (the message is already sent)
+     * @throws IOException if the request cannot be written or a fragment cannot be sent
+     */
+    public String writeMessage(OstisClient.RequestWriter request) throws IOException {
+        try {
+            request.writeTo(this);
+        } catch (IOException | RuntimeException e) {
+            if (fragmented) {
+                fragmentSender.send(
+                        "",
+                        true);
+            }
+            throw e;
+        }
+        if (!fragmented) {
+            return new String(
+                    buffer,
+                    0,
+                    length);
+        }
+        sendFragment(true);
+        return null;
+    }
+
+    @Override
+    public void write(char[] chars, int offset, int count) throws IOException {
+        while (count > 0) {
+            if (length == buffer.length) {
+                sendFragment(false);
+            }
+            int part = Math.min(
+                    count,
+                    buffer.length - length);
+            System.arraycopy(
+                    chars,
+                    offset,
+                    buffer,
+                    length,
+                    part);
+            length += part;
+            offset += part;
+            count -= part;
+        }
+    }
+
+    @Override
+    public void write(String str, int offset, int count) throws IOException {
+        while (count > 0) {
+            if (length == buffer.length) {
+                sendFragment(false);
+            }
+            int part = Math.min(
+                    count,
+                    buffer.length - length);
+            str.getChars(
+                    offset,
+                    offset + part,
+                    buffer,
+                    length);
+            length += part;
+            offset += part;
+            count -= part;
+        }
+    }
+
+    @Override
+    public void write(int c) throws IOException {
+        if (length == buffer.length) {
+            sendFragment(false);
+        }
+        buffer[length++] = (char) c;
+    }
+
+    /**
+     * Does nothing: a fragment is sent only when the buffer is full.
+     */
+    @Override
+    public void flush() {
+    }
+
+    /**
+     * Does nothing: the message is finished by {@link #writeMessage(OstisClient.RequestWriter)}.
+     */
+    @Override
+    public void close() {
+    }
+
+    private void sendFragment(boolean last) throws IOException {
+        //        a surrogate pair must not be split between fragments
+        int end = length;
+        if (!last && Character.isHighSurrogate(buffer[end - 1])) {
+            end--;
+        }
+        fragmentSender.send(
+                new String(
+                        buffer,
+                        0,
+                        end),
+                last);
+        fragmented = true;
+        if (end < length) {
+            buffer[0] = buffer[end];
+        }
+        length -= end;
+    }
+
+    /**
+     * Sends a fragment of a text message through the current connection.
+     */
+    @FunctionalInterface
+    public interface FragmentSender {
+        void send(String fragment, boolean last) throws IOException;
+    }
+}
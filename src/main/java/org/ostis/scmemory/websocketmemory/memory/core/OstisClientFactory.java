@@ -0,0 +1,85 @@
+package org.ostis.scmemory.websocketmemory.memory.core;
+
+import org.ostis.scmemory.websocketmemory.memory.message.response.EventMessage;
+
+import java.net.URI;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * Creates clients of the chosen websocket transport.
+ *
+ * @author artrayme
+ * @since 0.8.2
+ */
+@FunctionalInterface
+public interface OstisClientFactory {
+
+    AbstractOstisClient create(URI serverUri,
+                               Consumer<EventMessage> eventCallback,
+                               String clientName,
+                               ReconnectPolicy reconnectPolicy,
+                               Runnable reconnectCallback);
+
+    /**
+     * @return factory of clients based on Tyrus
+     */
+    static OstisClientFactory tyrus() {
+        return OstisClientSync::new;
+    }
+
+    /**
+     * @param compression parameters of the permessage-deflate extension
+     * @return factory of clients based on Tyrus that compress big messages
+     */
+    static OstisClientFactory tyrus(DeflateExtension.Configuration compression) {
+        return (serverUri, eventCallback, clientName, reconnectPolicy, reconnectCallback) -> new OstisClientSync(
+                serverUri,
+                eventCallback,
+                clientName,
+                reconnectPolicy,
+                reconnectCallback,
+                compression);
+    }
+
+    /**
+     * @param compression     parameters of the permessage-deflate extension, or null to send messages uncompressed
+     * @param streamedReceive whether responses are deserialized while they are being received
+     * @return factory of clients based on Tyrus
+     * @see OstisClientSync#setStreamedReceive(boolean)
+     */
+    static OstisClientFactory tyrus(DeflateExtension.Configuration compression, boolean streamedReceive) {
+        return (serverUri, eventCallback, clientName, reconnectPolicy, reconnectCallback) -> {
+            OstisClientSync client = new OstisClientSync(
+                    serverUri,
+                    eventCallback,
+                    clientName,
+                    reconnectPolicy,
+                    reconnectCallback,
+                    compression);
+            client.setStreamedReceive(streamedReceive);
+            return client;
+        };
+    }
+
+    /**
+     * @return factory of clients based on the JDK websocket (it does not support extensions, so no compression)
+     */
+    static OstisClientFactory jdk() {
+        return OstisClientJdk::new;
+    }
+
+    /**
+     * @param executor executor for callbacks of the JDK websocket
+     * @return factory of clients based on the JDK websocket
+     */
+    static OstisClientFactory jdk(Executor executor) {
+        return (serverUri, eventCallback, clientName, reconnectPolicy, reconnectCallback) -> new OstisClientJdk(
+                serverUri,
+                eventCallback,
+                clientName,
+                reconnectPolicy,
+                reconnectCallback,
+                executor);
+    }
+}
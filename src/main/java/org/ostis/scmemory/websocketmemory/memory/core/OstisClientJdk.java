@@ -0,0 +1,273 @@
+package org.ostis.scmemory.websocketmemory.memory.core;
+
+import lombok.extern.slf4j.Slf4j;
+import org.ostis.scmemory.websocketmemory.core.OstisClient;
+import org.ostis.scmemory.websocketmemory.memory.exception.OstisWebsocketClientException;
+import org.ostis.scmemory.websocketmemory.memory.message.response.EventMessage;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.WebSocket;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+/**
+ * {@link OstisClient} implementation based on the JDK {@link WebSocket}, so it needs no websocket library.
+ * Partial text frames are assembled into a reused buffer.
+ * Listener callbacks run on the executor of the underlying {@link HttpClient}.
+ *
+ * @author artrayme
+ * @since 0.8.2
+ */
+@Slf4j(topic = "OstisClient")
+public class OstisClientJdk extends AbstractOstisClient {
+    private static final int INITIAL_BUFFER_CAPACITY = 8 * 1024;
+    //    bigger buffers are not kept after a message, so one huge response does not hold memory forever
+    private static final int MAX_RETAINED_BUFFER_CAPACITY = 1024 * 1024;
+
+    private final HttpClient httpClient;
+    private volatile WebSocket webSocket;
+    //    JDK websocket allows only one outstanding send, so sends are chained
+    private CompletableFuture<?> lastSend = CompletableFuture.completedFuture(null);
+    //    sends are synchronized, so one buffer serves all fragmented messages
+    private char[] sendBuffer;
+
+    public OstisClientJdk(URI serverUri, Consumer<EventMessage> eventCallback, String clientName) {
+        this(
+                serverUri,
+                eventCallback,
+                clientName,
+                ReconnectPolicy.disabled(),
+                () -> {
+                });
+    }
+
+    public OstisClientJdk(URI serverUri,
+                          Consumer<EventMessage> eventCallback,
+                          String clientName,
+                          ReconnectPolicy reconnectPolicy,
+                          Runnable reconnectCallback) {
+        this(
+                serverUri,
+                eventCallback,
+                clientName,
+                reconnectPolicy,
+                reconnectCallback,
+                null);
+    }
+
+    /**
+     * @param executor executor for listener callbacks and async tasks of the {@link HttpClient},
+     *                 or null for the default one
+     */
+    public OstisClientJdk(URI serverUri,
+                          Consumer<EventMessage> eventCallback,
+                          String clientName,
+                          ReconnectPolicy reconnectPolicy,
+                          Runnable reconnectCallback,
+                          Executor executor) {
+        super(
+                serverUri,
+                eventCallback,
+                clientName,
+                reconnectPolicy,
+                reconnectCallback);
+        HttpClient.Builder builder = HttpClient.newBuilder();
+        if (executor != null) {
+            builder.executor(executor);
+        }
+        httpClient = builder.build();
+    }
+
+    @Override
+    protected synchronized void connect() throws IOException, OstisWebsocketClientException {
+        disconnect();
+        if (getConfiguration() == null) {
+            throw new OstisWebsocketClientException("address is not correct: null");
+        }
+        try {
+            webSocket = httpClient.newWebSocketBuilder()
+                                  .connectTimeout(getDefaultTimeout())
+                                  .buildAsync(
+                                          getConfiguration(),
+                                          new Listener())
+                                  .get(
+                                          getDefaultTimeout().toNanos(),
+                                          TimeUnit.NANOSECONDS);
+            lastSend = CompletableFuture.completedFuture(null);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new OstisWebsocketClientException(
+                    "cannot connect to URI: " + getConfiguration(),
+                    e);
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                  .interrupt();
+            throw new OstisWebsocketClientException(
+                    "connection was interrupted",
+                    e);
+        }
+        log.info(
+                "websocket client \"{}\" session has been started",
+                getName());
+    }
+
+    @Override
+    protected synchronized void disconnect() throws IOException {
+        WebSocket closing = webSocket;
+        if (closing != null) {
+            webSocket = null;
+            closing.sendClose(
+                           WebSocket.NORMAL_CLOSURE,
+                           "")
+                   .whenComplete((ws, e) -> closing.abort());
+            log.info(
+                    "ostis websocket client \"{}\" was disconnected from URI: {}",
+                    getName(),
+                    getConfiguration());
+        }
+    }
+
+    @Override
+    protected synchronized void sendMessage(String message) throws OstisWebsocketClientException {
+        WebSocket current = webSocket;
+        if (current == null) {
+            throw new OstisWebsocketClientException("session is null");
+        }
+        //        a failed send fails only its own request, the next message is sent anyway
+        CompletableFuture<WebSocket> sending = lastSend.handle((r, e) -> null)
+                                                       .thenCompose(ignored -> current.sendText(
+                                                               message,
+                                                               true));
+        sending.whenComplete((ws, e) -> {
+            if (e != null) {
+                onSendFailed(
+                        message,
+                        e instanceof CompletionException ? e.getCause() : e);
+            }
+        });
+        lastSend = sending;
+        log.info(
+                "ostis websocket \"{}\" client send message {}",
+                getName(),
+                message);
+    }
+
+    /**
+     * A big message is sent in fragments, each fragment is sent after the previous one,
+     * so at most one fragment is kept in memory.
+     * Other messages of this connection wait until the last fragment is sent.
+     */
+    @Override
+    protected synchronized void sendMessage(RequestWriter message) throws OstisWebsocketClientException, IOException {
+        WebSocket current = webSocket;
+        if (current == null) {
+            throw new OstisWebsocketClientException("session is null");
+        }
+        if (sendBuffer == null) {
+            sendBuffer = new char[FragmentedTextWriter.DEFAULT_FRAGMENT_SIZE];
+        }
+        String whole = new FragmentedTextWriter(
+                sendBuffer,
+                (fragment, last) -> {
+                    lastSend = lastSend.handle((r, e) -> null)
+                                       .thenCompose(ignored -> current.sendText(
+                                               fragment,
+                                               last));
+                    awaitLastSend();
+                }).writeMessage(message);
+        if (whole != null) {
+            sendMessage(whole);
+        } else {
+            log.info(
+                    "ostis websocket \"{}\" client send fragmented message",
+                    getName());
+        }
+    }
+
+    private void awaitLastSend() throws IOException {
+        try {
+            lastSend.get(
+                    getDefaultTimeout().toNanos(),
+                    TimeUnit.NANOSECONDS);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IOException(
+                    "cannot send a fragment of the message",
+                    e);
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                  .interrupt();
+            throw new IOException(
+                    "sending was interrupted",
+                    e);
+        }
+    }
+
+    @Override
+    public boolean isOpen() {
+        WebSocket current = webSocket;
+        return current != null && !current.isOutputClosed() && !current.isInputClosed();
+    }
+
+    private void connectionLost(WebSocket lost) {
+        boolean current;
+        synchronized (this) {
+            current = lost == webSocket;
+            if (current) {
+                webSocket = null;
+            }
+        }
+        if (current) {
+            onConnectionLost();
+        }
+    }
+
+    /**
+     * Collects partial text frames into one message.
+     * Every connection has its own listener, so the buffer is not shared.
+     */
+    private class Listener implements WebSocket.Listener {
+        private StringBuilder buffer = new StringBuilder(INITIAL_BUFFER_CAPACITY);
+
+        @Override
+        public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
+            if (last && buffer.length() == 0) {
+                onMessage(data.toString());
+            } else {
+                buffer.append(data);
+                if (last) {
+                    String message = buffer.toString();
+                    if (buffer.capacity() > MAX_RETAINED_BUFFER_CAPACITY) {
+                        buffer = new StringBuilder(INITIAL_BUFFER_CAPACITY);
+                    } else {
+                        buffer.setLength(0);
+                    }
+                    onMessage(message);
+                }
+            }
+            webSocket.request(1);
+            return null;
+        }
+
+        @Override
+        public CompletionStage<?> onClose(WebSocket webSocket, int statusCode, String reason) {
+            connectionLost(webSocket);
+            return null;
+        }
+
+        @Override
+        public void onError(WebSocket webSocket, Throwable error) {
+            log.info(
+                    "something went wrong in ostisWebsocketClient \"{}\": {}",
+                    getName(),
+                    error.getMessage());
+            connectionLost(webSocket);
+        }
+    }
+}
@@ -1,124 +1,132 @@
 package org.ostis.scmemory.websocketmemory.memory.core;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.DeserializationFeature;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.websocket.ClientEndpointConfig;
 import jakarta.websocket.CloseReason;
-import jakarta.websocket.ContainerProvider;
 import jakarta.websocket.DeploymentException;
 import jakarta.websocket.Endpoint;
 import jakarta.websocket.EndpointConfig;
 import jakarta.websocket.MessageHandler;
+import jakarta.websocket.RemoteEndpoint;
 import jakarta.websocket.Session;
 import jakarta.websocket.WebSocketContainer;
 import lombok.extern.slf4j.Slf4j;
 import org.ostis.scmemory.websocketmemory.core.OstisClient;
-import org.ostis.scmemory.websocketmemory.memory.exception.OstisClientConfigurationException;
-import org.ostis.scmemory.websocketmemory.memory.exception.OstisConnectionException;
 import org.ostis.scmemory.websocketmemory.memory.exception.OstisWebsocketClientException;
 import org.ostis.scmemory.websocketmemory.memory.message.response.EventMessage;
 
 import java.io.IOException;
+import java.io.Reader;
 import java.net.URI;
-import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.List;
 import java.util.function.Consumer;
 
 /**
- * {@link OstisClient} implementation for sending requests in JSON format
+ * {@link OstisClient} implementation for sending requests in JSON format.
+ * The websocket connection is established by the Tyrus client of the {@link SharedWebSocketContainer}.
  *
  * @author Michael
  * @since 0.7.0
  */
 @Slf4j(topic = "OstisClient")
-public class OstisClientSync implements OstisClient {
-
+public class OstisClientSync extends AbstractOstisClient {
     private final OstisWebsocketClient webSocketClient;
-    private final ReentrantLock lock = new ReentrantLock();
-    private String responseMassage;
-    private CountDownLatch latch;
-    private final URI address;
-    private final ObjectMapper mapper = new ObjectMapper();
-
-    private final Consumer<EventMessage> eventCallback;
-    private final String clientName;
+    private final ClientEndpointConfig endpointConfig;
+    private volatile boolean streamedReceive;
 
     public OstisClientSync(URI serverUri, Consumer<EventMessage> eventCallback, String clientName) {
+        this(
+                serverUri,
+                eventCallback,
+                clientName,
+                ReconnectPolicy.disabled(),
+                () -> {
+                });
+    }
+
+    /**
+     * @param reconnectPolicy   rules of restoring a dropped connection
+     * @param reconnectCallback is called after every successful reconnect (but not after {@link #open()}).
+     *                          Can be used to restore a server-side state, e.g. event subscriptions
+     */
+    public OstisClientSync(URI serverUri,
+                           Consumer<EventMessage> eventCallback,
+                           String clientName,
+                           ReconnectPolicy reconnectPolicy,
+                           Runnable reconnectCallback) {
+        this(
+                serverUri,
+                eventCallback,
+                clientName,
+                reconnectPolicy,
+                reconnectCallback,
+                null);
+    }
+
+    /**
+     * @param compression parameters of the permessage-deflate extension offered to the server,
+     *                    or null to send messages uncompressed
+     * @since 0.8.2
+     */
+    public OstisClientSync(URI serverUri,
+                           Consumer<EventMessage> eventCallback,
+                           String clientName,
+                           ReconnectPolicy reconnectPolicy,
+                           Runnable reconnectCallback,
+                           DeflateExtension.Configuration compression) {
+        super(
+                serverUri,
+                eventCallback,
+                clientName,
+                reconnectPolicy,
+                reconnectCallback);
         webSocketClient = new OstisWebsocketClient(serverUri);
-        address = serverUri;
-        this.eventCallback = eventCallback;
-        this.clientName = clientName;
-        mapper.configure(
-                DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES,
-                false);
+        ClientEndpointConfig.Builder config = ClientEndpointConfig.Builder.create();
+        if (compression != null) {
+            config.extensions(List.of(new DeflateExtension(compression)));
+        }
+        endpointConfig = config.build();
+    }
+
+    /**
+     * In the streamed mode a message is deserialized while its fragments are being received,
+     * so big responses (e.g. results of a search) are never kept in memory as a whole text.
+     * Takes effect on the next connection.
+     *
+     * @param streamedReceive whether responses are deserialized while they are being received
+     * @since 0.8.2
+     */
+    public void setStreamedReceive(boolean streamedReceive) {
+        this.streamedReceive = streamedReceive;
+    }
+
+    public boolean isStreamedReceive() {
+        return streamedReceive;
     }
 
     @Override
-    public void open() {
+    protected void connect() throws IOException, OstisWebsocketClientException {
         try {
-            lock.lock();
             webSocketClient.connect();
-            log.info(
-                    "ostis client \"{}\" is connected to URI: {}",
-                    clientName,
-                    webSocketClient.getAddress());
-        } catch (DeploymentException | IOException | OstisWebsocketClientException e) {
-            String msg = "cannot connect to URI: " + webSocketClient.getAddress();
-            log.error(msg);
-            throw new OstisClientConfigurationException(
-                    msg,
+        } catch (DeploymentException e) {
+            throw new OstisWebsocketClientException(
+                    "cannot connect to URI: " + getConfiguration(),
                     e);
-        } finally {
-            lock.unlock();
         }
     }
 
     @Override
-    public String sendToOstis(String jsonRequest) throws OstisConnectionException {
-        String response;
-        lock.lock();
-        latch = new CountDownLatch(1);
-        try {
-            log.info(
-                    "try to send request: {}",
-                    jsonRequest);
-            webSocketClient.sendMessage(jsonRequest);
-            latch.await();
-            response = responseMassage;
-        } catch (InterruptedException e) {
-            String msg = "some exception in concurrency";
-            log.error(
-                    msg,
-                    e);
-            throw new OstisConnectionException(
-                    msg,
-                    e);
-        } catch (OstisWebsocketClientException e) {
-            String msg = "you should open connection first";
-            log.error(
-                    msg,
-                    jsonRequest);
-            throw new OstisConnectionException(
-                    msg,
-                    e);
-        } finally {
-            lock.unlock();
-        }
-        log.info(
-                "ostis client \"{}\" return response: {}",
-                clientName,
-                response);
-        return response;
+    protected void disconnect() throws IOException {
+        webSocketClient.disconnect();
     }
 
     @Override
-    public URI getConfiguration() {
-        return address;
+    protected void sendMessage(String message) throws OstisWebsocketClientException {
+        webSocketClient.sendMessage(message);
     }
 
     @Override
-    public String getName() {
-        return clientName;
+    protected void sendMessage(RequestWriter message) throws OstisWebsocketClientException, IOException {
+        webSocketClient.sendMessage(message);
     }
 
     @Override
@@ -126,106 +134,123 @@ public class OstisClientSync implements OstisClient {
         return webSocketClient.isOpen();
     }
 
-
-    @Override
-    public void close() throws Exception {
-        lock.lock();
-        webSocketClient.disconnect();
-        lock.unlock();
-        log.info("ostis client \"{}\" is closed", clientName);
-    }
-
     /**
      * A class designed to send requests and receive responses from the base
      */
     private class OstisWebsocketClient extends Endpoint {
         private URI address;
-        private Session session;
+        private volatile Session session;
+        //        sends are synchronized, so one buffer serves all fragmented messages
+        private char[] sendBuffer;
 
         public OstisWebsocketClient(URI address) {
             this.address = address;
         }
 
-        public void connect() throws DeploymentException, IOException, OstisWebsocketClientException {
+        public synchronized void connect() throws DeploymentException, IOException, OstisWebsocketClientException {
             disconnect();
             if (address == null) {
                 throw new OstisWebsocketClientException("address is not correct: null");
             }
 
-            WebSocketContainer container = ContainerProvider.getWebSocketContainer();
+            WebSocketContainer container = SharedWebSocketContainer.get();
 
             container.connectToServer(
                     this,
+                    endpointConfig,
                     address);
         }
 
-        public void disconnect() throws IOException {
+        public synchronized void disconnect() throws IOException {
             if (session != null) {
-                session.close();
+                Session closingSession = session;
                 session = null;
+                closingSession.close();
                 log.info(
                         "ostis websocket client \"{}\" was disconnected from URI: {}",
-                        clientName,
+                        getName(),
                         address);
             }
         }
 
-        public void sendMessage(String message) throws OstisWebsocketClientException {
-            if (session == null) {
+        public synchronized void sendMessage(String message) throws OstisWebsocketClientException {
+            Session current = session;
+            if (current == null) {
                 throw new OstisWebsocketClientException("session is null");
             }
 
-            session.getAsyncRemote()
+            current.getAsyncRemote()
                    .sendText(message);
             log.info(
                     "ostis websocket \"{}\" client send message {}",
-                    clientName,
+                    getName(),
                     message);
         }
 
+        public synchronized void sendMessage(RequestWriter message) throws OstisWebsocketClientException, IOException {
+            Session current = session;
+            if (current == null) {
+                throw new OstisWebsocketClientException("session is null");
+            }
+            if (sendBuffer == null) {
+                sendBuffer = new char[FragmentedTextWriter.DEFAULT_FRAGMENT_SIZE];
+            }
+            RemoteEndpoint.Basic remote = current.getBasicRemote();
+            String whole = new FragmentedTextWriter(
+                    sendBuffer,
+                    remote::sendText).writeMessage(message);
+            if (whole != null) {
+                sendMessage(whole);
+            } else {
+                log.info(
+                        "ostis websocket \"{}\" client send fragmented message",
+                        getName());
+            }
+        }
+
         @Override
         public void onClose(Session session, CloseReason closeReason) {
-            log.info("websocket client \"{}\" is closed", clientName);
+            if (session == this.session) {
+                this.session = null;
+                onConnectionLost();
+            }
         }
 
         @Override
         public void onError(Session session, Throwable thr) {
             log.info(
                     "something went wrong in ostisWebsocketClient \"{}\": {}",
-                    clientName,
+                    getName(),
                     thr.getMessage());
         }
 
         @Override
         public void onOpen(Session session, EndpointConfig config) {
-            session.addMessageHandler(new MessageHandler.Whole<String>() {
-                @Override
-                public void onMessage(String message) {
-                    log.info(
-                            "ostis websocket client \"{}\" catch response: {}",
-                            clientName,
-                            message);
-                    try {
-                        EventMessage eventResponse = mapper.readValue(
-                                message,
-                                EventMessage.class);
-                        if (eventResponse.getEvent()) {
-                            eventCallback.accept(eventResponse);
-                        } else {
-                            responseMassage = message;
-                            latch.countDown();
-                        }
-                    } catch (JsonProcessingException e) {
-                        responseMassage = message;
-                        latch.countDown();
+            if (streamedReceive) {
+                //                Tyrus passes fragments to the reader as they come
+                session.addMessageHandler(new MessageHandler.Whole<Reader>() {
+                    @Override
+                    public void onMessage(Reader message) {
+                        OstisClientSync.this.onMessage(message);
+                    }
+                });
+            } else {
+                session.addMessageHandler(new MessageHandler.Whole<String>() {
+                    @Override
+                    public void onMessage(String message) {
+                        OstisClientSync.this.onMessage(message);
                     }
-                }
-            });
+                });
+            }
             this.session = session;
-            log.info("websocket client \"{}\" session has been started", clientName);
+            log.info(
+                    "websocket client \"{}\" session has been started",
+                    getName());
         }
+
         public boolean isOpen() {
-            return session.isOpen();
+            Session current = session;
+            return current != null && current.isOpen();
         }
 
         public URI getAddress() {
@@ -236,4 +261,4 @@ public class OstisClientSync implements OstisClient {
             this.address = address;
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,74 @@
+package org.ostis.scmemory.websocketmemory.memory.core;
+
+/**
+ * Describes how {@link OstisClientSync} restores a websocket connection that was dropped
+ * without {@link OstisClientSync#close()} being called.
+ * Delay between attempts grows exponentially: {@code initialDelay * multiplier^attempt},
+ * but never exceeds {@code maxDelay}.
+ *
+ * @author Michael
+ * @since 0.8.2
+ */
+public final class ReconnectPolicy {
+    private static final ReconnectPolicy DISABLED = new ReconnectPolicy(
+            0,
+            0,
+            1,
+            0);
+
+    private final long initialDelayMillis;
+    private final long maxDelayMillis;
+    private final double multiplier;
+    private final int maxAttempts;
+
+    /**
+     * @param initialDelayMillis delay before the first reconnect attempt
+     * @param maxDelayMillis     upper bound of the delay between attempts
+     * @param multiplier         factor the delay is multiplied by after each failed attempt
+     * @param maxAttempts        number of attempts before giving up, or a negative number for unlimited attempts
+     */
+    public ReconnectPolicy(long initialDelayMillis, long maxDelayMillis, double multiplier, int maxAttempts) {
+        if (initialDelayMillis < 0 || maxDelayMillis < initialDelayMillis || multiplier < 1) {
+            throw new IllegalArgumentException("Incorrect reconnect policy: initialDelay = " + initialDelayMillis + ", maxDelay = " + maxDelayMillis + ", multiplier = " + multiplier);
+        }
+        this.initialDelayMillis = initialDelayMillis;
+        this.maxDelayMillis = maxDelayMillis;
+        this.multiplier = multiplier;
+        this.maxAttempts = maxAttempts;
+    }
+
+    /**
+     * @return policy with unlimited attempts, starting from 250 ms and growing up to 30 s
+     */
+    public static ReconnectPolicy defaultPolicy() {
+        return new ReconnectPolicy(
+                250,
+                30_000,
+                2,
+                -1);
+    }
+
+    /**
+     * @return policy without reconnection. Used by short-lived clients.
+     */
+    public static ReconnectPolicy disabled() {
+        return DISABLED;
+    }
+
+    public boolean isAttemptAllowed(int attempt) {
+        return maxAttempts < 0 || attempt < maxAttempts;
+    }
+
+    /**
+     * @param attempt zero-based number of the reconnect attempt
+     * @return delay in milliseconds before this attempt
+     */
+    public long getDelay(int attempt) {
+        double delay = initialDelayMillis * Math.pow(
+                multiplier,
+                attempt);
+        return (long) Math.min(
+                delay,
+                maxDelayMillis);
+    }
+}
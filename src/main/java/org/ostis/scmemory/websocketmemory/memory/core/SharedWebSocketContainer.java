@@ -0,0 +1,113 @@
+package org.ostis.scmemory.websocketmemory.memory.core;
+
+import jakarta.websocket.WebSocketContainer;
+import org.glassfish.tyrus.client.ClientManager;
+import org.glassfish.tyrus.client.ClientProperties;
+import org.glassfish.tyrus.client.ThreadPoolConfig;
+
+/**
+ * One Tyrus container for all {@link OstisClientSync} instances of the process.
+ * {@link jakarta.websocket.ContainerProvider#getWebSocketContainer()} creates a new container
+ * with its own selector and thread pools on every call, so short-lived clients were expensive.
+ * <p>
+ * The container is created on the first connection. Its transport is stopped by Tyrus after
+ * {@link Configuration#idleTimeoutSeconds()} without open sessions and is started again on the next connection.
+ * So no explicit shutdown is needed.
+ *
+ * @author artrayme
+ * @since 0.8.2
+ */
+public final class SharedWebSocketContainer {
+    private static Configuration configuration = Configuration.defaultConfiguration();
+    private static volatile ClientManager container;
+
+    private SharedWebSocketContainer() {
+    }
+
+    /**
+     * Must be called before the first connection.
+     *
+     * @param configuration parameters of the container
+     * @throws IllegalStateException if the container is already created
+     */
+    public static synchronized void configure(Configuration configuration) {
+        if (container != null) {
+            throw new IllegalStateException("Shared websocket container is already created");
+        }
+        SharedWebSocketContainer.configuration = configuration;
+    }
+
+    public static WebSocketContainer get() {
+        ClientManager result = container;
+        if (result == null) {
+            synchronized (SharedWebSocketContainer.class) {
+                result = container;
+                if (result == null) {
+                    result = create(configuration);
+                    container = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    private static ClientManager create(Configuration configuration) {
+        ClientManager client = ClientManager.createClient();
+        client.getProperties()
+              .put(
+                      ClientProperties.SHARED_CONTAINER,
+                      true);
+        client.getProperties()
+              .put(
+                      ClientProperties.SHARED_CONTAINER_IDLE_TIMEOUT,
+                      configuration.idleTimeoutSeconds());
+        client.getProperties()
+              .put(
+                      ClientProperties.WORKER_THREAD_POOL_CONFIG,
+                      ThreadPoolConfig.defaultConfig()
+                                      .setCorePoolSize(configuration.workerThreads())
+                                      .setMaxPoolSize(configuration.workerThreads())
+                                      .setDaemon(true)
+                                      .setPoolName("ostis-websocket-worker"));
+        client.getProperties()
+              .put(
+                      ClientProperties.SELECTOR_THREAD_POOL_CONFIG,
+                      ThreadPoolConfig.defaultConfig()
+                                      .setCorePoolSize(configuration.selectorThreads())
+                                      .setMaxPoolSize(configuration.selectorThreads())
+                                      .setDaemon(true)
+                                      .setPoolName("ostis-websocket-selector"));
+        client.setDefaultMaxTextMessageBufferSize(configuration.maxTextMessageSize());
+        return client;
+    }
+
+    /**
+     * @param workerThreads      threads that run message handlers. Event handlers may wait for responses
+     *                           of other requests, so there must be more than one thread
+     * @param selectorThreads    threads that do network IO
+     * @param maxTextMessageSize max size of one text message in bytes
+     * @param idleTimeoutSeconds time without open sessions after which the transport is stopped
+     */
+    public record Configuration(int workerThreads, int selectorThreads, int maxTextMessageSize, int idleTimeoutSeconds) {
+        public Configuration {
+            if (workerThreads < 2 || selectorThreads < 1 || maxTextMessageSize < 1 || idleTimeoutSeconds < 1) {
+                throw new IllegalArgumentException("Incorrect container configuration: " + workerThreads + " worker threads, " + selectorThreads + " selector threads, " + maxTextMessageSize + " bytes per message, " + idleTimeoutSeconds + " s idle timeout");
+            }
+        }
+
+        /**
+         * @return configuration with a thread per processor (at least 4 worker threads),
+         * one selector thread, 64 MiB messages and 30 s idle timeout
+         */
+        public static Configuration defaultConfiguration() {
+            return new Configuration(
+                    Math.max(
+                            4,
+                            Runtime.getRuntime()
+                                   .availableProcessors()),
+                    1,
+                    64 * 1024 * 1024,
+                    30);
+        }
+    }
+}
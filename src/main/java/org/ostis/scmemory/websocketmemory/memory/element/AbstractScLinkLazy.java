@@ -0,0 +1,131 @@
+package org.ostis.scmemory.websocketmemory.memory.element;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.ostis.scmemory.model.element.link.LinkContentType;
+import org.ostis.scmemory.model.element.link.LinkType;
+import org.ostis.scmemory.model.element.link.ScLink;
+import org.ostis.scmemory.model.element.link.ScLinkLazy;
+import org.ostis.scmemory.model.exception.ScMemoryException;
+import org.ostis.scmemory.websocketmemory.memory.batch.LinkContentLoader;
+
+/**
+ * Common part of lazy links: the content is downloaded by {@link LinkContentLoader} on first access and kept.
+ * Subclasses with a known content type implement the typed link interface
+ * ({@link org.ostis.scmemory.model.element.link.ScLinkString} etc.),
+ * {@link ScLinkLazyImpl} is used when the content type is not known before the download.
+ *
+ * @author artrayme
+ * @since 0.8.2
+ */
+@JsonAutoDetect(fieldVisibility = JsonAutoDetect.Visibility.ANY)
+public abstract class AbstractScLinkLazy extends ScEntity implements ScLinkLazy {
+    @JsonProperty("type")
+    private final LinkType linkType;
+    //    null if the content type is known only after the download
+    @JsonIgnore
+    private final LinkContentType contentType;
+    @JsonIgnore
+    private final LinkContentLoader loader;
+    @JsonIgnore
+    private volatile ScLink loaded;
+
+    protected AbstractScLinkLazy(LinkType linkType,
+                                 Long address,
+                                 LinkContentType contentType,
+                                 LinkContentLoader loader) {
+        super(
+                "link",
+                address);
+        this.linkType = linkType;
+        this.contentType = contentType;
+        this.loader = loader;
+    }
+
+    @JsonIgnore
+    @Override
+    public LinkType getType() {
+        return linkType;
+    }
+
+    @JsonIgnore
+    @Override
+    public boolean isLoaded() {
+        return loaded != null;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws ScMemoryException if the content cannot be downloaded,
+     *                           or the content type of the link differs from the expected one
+     */
+    @JsonIgnore
+    @Override
+    public ScLink load() throws ScMemoryException {
+        ScLink result = loaded;
+        if (result == null) {
+            result = loader.load(
+                    address,
+                    linkType);
+            if (result == null) {
+                throw new ScMemoryException("Cannot download content of the link " + address);
+            }
+            if (contentType != null && result.getContentType() != contentType) {
+                throw new ScMemoryException("Link " + address + " has " + result.getContentType() + " content, but " + contentType + " is expected");
+            }
+            loaded = result;
+        }
+        return result;
+    }
+
+    /**
+     * Replaces the downloaded link, e.g. after the content is read or changed by {@link org.ostis.scmemory.model.ScMemory}.
+     *
+     * @param link typed link with the same address and content type
+     */
+    @JsonIgnore
+    public void setLoaded(ScLink link) {
+        if (contentType != null && link.getContentType() != contentType) {
+            throw new IllegalArgumentException("Link " + address + " has " + contentType + " content, but " + link.getContentType() + " is passed");
+        }
+        loaded = link;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalStateException if the content type is not known and the content cannot be downloaded
+     */
+    @JsonIgnore
+    @Override
+    public LinkContentType getContentType() {
+        if (contentType != null) {
+            return contentType;
+        }
+        try {
+            return load().getContentType();
+        } catch (ScMemoryException e) {
+            throw new IllegalStateException(
+                    "Unable to get content type of the link " + address,
+                    e);
+        }
+    }
+
+    /**
+     * Content getters of typed links cannot throw {@link ScMemoryException},
+     * so a failed download is thrown as {@link IllegalStateException} with the cause.
+     *
+     * @return downloaded link
+     */
+    protected <L extends ScLink> L loadTyped(Class<L> type) {
+        try {
+            return type.cast(load());
+        } catch (ScMemoryException e) {
+            throw new IllegalStateException(
+                    "Unable to download content of the link " + address,
+                    e);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package org.ostis.scmemory.websocketmemory.memory.element;
 
 import com.fasterxml.jackson.annotation.JsonValue;
+import com.fasterxml.jackson.core.io.SerializedString;
 
 /**
  * @author artrayme
@@ -11,8 +12,14 @@ public enum EdgeEndpointType {
 
     @JsonValue
     private final String type;
+    private final SerializedString serializedType;
 
     EdgeEndpointType(String type) {
         this.type = type;
+        this.serializedType = new SerializedString(type);
+    }
+
+    SerializedString getType() {
+        return serializedType;
     }
 }
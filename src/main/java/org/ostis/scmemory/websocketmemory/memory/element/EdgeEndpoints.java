@@ -0,0 +1,12 @@
+package org.ostis.scmemory.websocketmemory.memory.element;
+
+import org.ostis.scmemory.model.element.ScElement;
+
+/**
+ * Source and target of a sc-edge.
+ *
+ * @author artrayme
+ * @since 0.8.2
+ */
+public record EdgeEndpoints(ScElement source, ScElement target) {
+}
@@ -0,0 +1,14 @@
+package org.ostis.scmemory.websocketmemory.memory.element;
+
+import org.ostis.scmemory.model.exception.ScMemoryException;
+
+/**
+ * Finds endpoints of an edge whose source and target are unknown at creation time.
+ *
+ * @author artrayme
+ * @since 0.8.2
+ */
+@FunctionalInterface
+public interface EdgeEndpointsResolver {
+    EdgeEndpoints resolve(Long edgeAddress) throws ScMemoryException;
+}
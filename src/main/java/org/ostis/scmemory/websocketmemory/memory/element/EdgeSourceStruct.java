@@ -2,6 +2,10 @@ package org.ostis.scmemory.websocketmemory.memory.element;
 
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+
+import java.io.IOException;
 
 /**
  * @author artrayme
@@ -9,6 +13,9 @@ import com.fasterxml.jackson.annotation.JsonProperty;
  */
 @JsonAutoDetect(fieldVisibility = JsonAutoDetect.Visibility.ANY)
 public class EdgeSourceStruct {
+    private static final SerializedString TYPE = new SerializedString("type");
+    private static final SerializedString VALUE = new SerializedString("value");
+
     @JsonProperty("type")
     private final EdgeEndpointType type;
     @JsonProperty("value")
@@ -19,4 +26,17 @@ public class EdgeSourceStruct {
         this.value = value;
     }
 
+    void write(JsonGenerator gen) throws IOException {
+        gen.writeStartObject();
+        gen.writeFieldName(TYPE);
+        gen.writeString(type.getType());
+        gen.writeFieldName(VALUE);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value);
+        }
+        gen.writeEndObject();
+    }
+
 }
@@ -3,15 +3,25 @@ package org.ostis.scmemory.websocketmemory.memory.element;
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
 import org.ostis.scmemory.model.element.ScElement;
 import org.ostis.scmemory.model.element.edge.EdgeType;
 import org.ostis.scmemory.model.element.edge.ScEdge;
+import org.ostis.scmemory.model.exception.ScEdgeEndpointsException;
+import org.ostis.scmemory.model.exception.ScMemoryException;
+
+import java.io.IOException;
 
 /**
  * @author Michael
  * @since 0.0.1
  */
 @JsonAutoDetect(fieldVisibility = JsonAutoDetect.Visibility.ANY)
+@JsonSerialize(using = ScEdgeImpl.Serializer.class)
 public class ScEdgeImpl extends ScEntity implements ScEdge {
     @JsonProperty("src")
     private EdgeSourceStruct source;
@@ -23,6 +33,8 @@ public class ScEdgeImpl extends ScEntity implements ScEdge {
     private ScElement targetElement;
     @JsonProperty("type")
     private EdgeType edgeType;
+    @JsonIgnore
+    private EdgeEndpointsResolver endpointsResolver;
 
     public ScEdgeImpl(EdgeType edgeType, ScElement sourceElement, ScElement targetElement) {
         super("edge");
@@ -52,6 +64,18 @@ public class ScEdgeImpl extends ScEntity implements ScEdge {
         setAddress(address);
     }
 
+    /**
+     * Creates an edge with unknown endpoints.
+     * They are resolved by the resolver when {@link #getSource()} or {@link #getTarget()} is called first time.
+     * Endpoints are read and written under the monitor of the edge, so the edge can be shared between threads.
+     */
+    public ScEdgeImpl(EdgeType edgeType, Long address, EdgeEndpointsResolver endpointsResolver) {
+        this(
+                edgeType,
+                address);
+        this.endpointsResolver = endpointsResolver;
+    }
+
     @JsonIgnore
     @Override
     public EdgeType getType() {
@@ -60,28 +84,102 @@ public class ScEdgeImpl extends ScEntity implements ScEdge {
 
     @JsonIgnore
     @Override
-    public ScElement getSource() {
+    public synchronized ScElement getSource() {
+        resolveEndpoints();
         return sourceElement;
     }
 
     @JsonIgnore
     @Override
-    public ScElement getTarget() {
+    public synchronized ScElement getTarget() {
+        resolveEndpoints();
         return targetElement;
     }
 
-    public void setSourceElement(ScElement sourceElement) {
+    private synchronized void resolveEndpoints() {
+        if (endpointsResolver == null || sourceElement != null) {
+            return;
+        }
+        EdgeEndpoints endpoints;
+        try {
+            endpoints = endpointsResolver.resolve(address);
+        } catch (ScMemoryException e) {
+            throw new ScEdgeEndpointsException(
+                    address,
+                    e);
+        }
+        setSourceElement(endpoints.source());
+        setTargetElement(endpoints.target());
+        endpointsResolver = null;
+    }
+
+    public synchronized void setSourceElement(ScElement sourceElement) {
         this.sourceElement = sourceElement;
         source = new EdgeSourceStruct(
                 EdgeEndpointType.ADDR,
                 sourceElement.getAddress());
     }
 
-    public void setTargetElement(ScElement targetElement) {
+    public synchronized void setTargetElement(ScElement targetElement) {
         this.targetElement = targetElement;
         target = new EdgeSourceStruct(
                 EdgeEndpointType.ADDR,
                 targetElement.getAddress());
     }
 
+    /**
+     * Writes {@code {"el":"edge","src":...,"trg":...,"type":...}} without bean introspection.
+     *
+     * @since 0.8.2
+     */
+    public static class Serializer extends StdSerializer<ScEdgeImpl> {
+        public static final Serializer INSTANCE = new Serializer();
+        private static final SerializedString EL = new SerializedString("el");
+        private static final SerializedString EDGE = new SerializedString("edge");
+        private static final SerializedString SRC = new SerializedString("src");
+        private static final SerializedString TRG = new SerializedString("trg");
+        private static final SerializedString TYPE = new SerializedString("type");
+
+        public Serializer() {
+            super(ScEdgeImpl.class);
+        }
+
+        @Override
+        public void serialize(ScEdgeImpl edge, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            EdgeSourceStruct source;
+            EdgeSourceStruct target;
+            synchronized (edge) {
+                source = edge.source;
+                target = edge.target;
+            }
+            gen.writeStartObject();
+            gen.writeFieldName(EL);
+            gen.writeString(EDGE);
+            writeEndpoint(
+                    SRC,
+                    source,
+                    gen);
+            writeEndpoint(
+                    TRG,
+                    target,
+                    gen);
+            gen.writeFieldName(TYPE);
+            if (edge.edgeType == null) {
+                gen.writeNull();
+            } else {
+                gen.writeNumber(edge.edgeType.getCode());
+            }
+            gen.writeEndObject();
+        }
+
+        private static void writeEndpoint(SerializedString name, EdgeSourceStruct endpoint, JsonGenerator gen) throws IOException {
+            gen.writeFieldName(name);
+            if (endpoint == null) {
+                gen.writeNull();
+            } else {
+                endpoint.write(gen);
+            }
+        }
+    }
+
 }
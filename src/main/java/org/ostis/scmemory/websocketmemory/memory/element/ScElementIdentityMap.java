@@ -0,0 +1,309 @@
+package org.ostis.scmemory.websocketmemory.memory.element;
+
+import org.ostis.scmemory.model.element.ScElement;
+import org.ostis.scmemory.model.element.edge.ScEdge;
+import org.ostis.scmemory.model.element.link.ScLink;
+import org.ostis.scmemory.model.element.node.ScNode;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+
+/**
+ * Identity map from an sc-address to the {@link ScElement} object that represents it,
+ * so the same element found many times (e.g. a keynode) is represented by the same object.
+ * <p>
+ * Elements are referenced weakly: an element that is not used by the application anymore is collected by GC
+ * and its entry is removed. Keys are primitive {@code long} addresses stored in open addressing tables,
+ * so a lookup does not box the address. The map is split into segments with their own locks.
+ * <p>
+ * One map may be shared by all {@link org.ostis.scmemory.websocketmemory.memory.SyncOstisScMemory}
+ * instances of the process (see {@link #global()}), but only if all of them are connected to the same base,
+ * because addresses of different bases are not related.
+ *
+ * @author artrayme
+ * @since 0.8.2
+ */
+public class ScElementIdentityMap {
+    private static final ScElementIdentityMap GLOBAL = new ScElementIdentityMap();
+    private static final int SEGMENT_BITS = 4;
+    private static final int INITIAL_SEGMENT_CAPACITY = 16;
+
+    private final Segment[] segments = new Segment[1 << SEGMENT_BITS];
+
+    public ScElementIdentityMap() {
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = new Segment();
+        }
+    }
+
+    /**
+     * @return map shared by the whole process
+     */
+    public static ScElementIdentityMap global() {
+        return GLOBAL;
+    }
+
+    /**
+     * @param address sc-address
+     * @return element with the address, or null if there is no such element in the map
+     */
+    public ScElement get(long address) {
+        int hash = hash(address);
+        return segmentFor(hash).get(
+                address,
+                hash);
+    }
+
+    /**
+     * Returns the element already known by the map if it represents the same sc-element
+     * (same address, same class and same sc-type), otherwise remembers the passed element.
+     *
+     * @param element element with an address
+     * @return the known element, or the passed one
+     */
+    public <T extends ScElement> T intern(T element) {
+        long address = element.getAddress();
+        int hash = hash(address);
+        return segmentFor(hash).intern(
+                address,
+                hash,
+                element);
+    }
+
+    /**
+     * Remembers the element, replacing the known element with the same address.
+     *
+     * @param element element with an address
+     */
+    public void put(ScElement element) {
+        long address = element.getAddress();
+        int hash = hash(address);
+        segmentFor(hash).put(
+                address,
+                hash,
+                element);
+    }
+
+    /**
+     * Forgets the element, e.g. because it was deleted and its address may be reused by the base.
+     *
+     * @param address sc-address
+     */
+    public void remove(long address) {
+        int hash = hash(address);
+        segmentFor(hash).remove(
+                address,
+                hash);
+    }
+
+    /**
+     * @return number of elements in the map (collected elements are not counted)
+     */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    public void clear() {
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    private Segment segmentFor(int hash) {
+        return segments[hash >>> (Integer.SIZE - SEGMENT_BITS)];
+    }
+
+    private static int hash(long address) {
+        long h = address * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private static boolean isSameElement(ScElement known, ScElement element) {
+        return known.getClass() == element.getClass() && typeOf(known) == typeOf(element);
+    }
+
+    private static Object typeOf(ScElement element) {
+        if (element instanceof ScNode node) {
+            return node.getType();
+        } else if (element instanceof ScEdge edge) {
+            return edge.getType();
+        } else if (element instanceof ScLink link) {
+            return link.getType();
+        }
+        return null;
+    }
+
+    private static final class Entry extends WeakReference<ScElement> {
+        private final long address;
+        private final int hash;
+
+        private Entry(ScElement element, long address, int hash, ReferenceQueue<ScElement> queue) {
+            super(
+                    element,
+                    queue);
+            this.address = address;
+            this.hash = hash;
+        }
+    }
+
+    /**
+     * Open addressing table with linear probing. Empty slots are nulls,
+     * removed slots are filled by backward shifting, so no tombstones are needed.
+     */
+    private static final class Segment {
+        private final ReferenceQueue<ScElement> queue = new ReferenceQueue<>();
+        private Entry[] entries = new Entry[INITIAL_SEGMENT_CAPACITY];
+        private int size;
+
+        private synchronized ScElement get(long address, int hash) {
+            int index = indexOf(
+                    address,
+                    hash);
+            return index < 0 ? null : entries[index].get();
+        }
+
+        @SuppressWarnings("unchecked")
+        private synchronized <T extends ScElement> T intern(long address, int hash, T element) {
+            expungeCollected();
+            int index = indexOf(
+                    address,
+                    hash);
+            if (index >= 0) {
+                ScElement known = entries[index].get();
+                if (known != null && isSameElement(
+                        known,
+                        element)) {
+                    return (T) known;
+                }
+                entries[index] = new Entry(
+                        element,
+                        address,
+                        hash,
+                        queue);
+                return element;
+            }
+            insert(new Entry(
+                    element,
+                    address,
+                    hash,
+                    queue));
+            return element;
+        }
+
+        private synchronized void put(long address, int hash, ScElement element) {
+            expungeCollected();
+            Entry entry = new Entry(
+                    element,
+                    address,
+                    hash,
+                    queue);
+            int index = indexOf(
+                    address,
+                    hash);
+            if (index >= 0) {
+                entries[index] = entry;
+            } else {
+                insert(entry);
+            }
+        }
+
+        private synchronized void remove(long address, int hash) {
+            expungeCollected();
+            int index = indexOf(
+                    address,
+                    hash);
+            if (index >= 0) {
+                removeAt(index);
+            }
+        }
+
+        private synchronized int size() {
+            expungeCollected();
+            return size;
+        }
+
+        private synchronized void clear() {
+            entries = new Entry[INITIAL_SEGMENT_CAPACITY];
+            size = 0;
+            while (queue.poll() != null) {
+                //                entries of the old table are not in the map anymore
+            }
+        }
+
+        private int indexOf(long address, int hash) {
+            int mask = entries.length - 1;
+            for (int i = hash & mask; entries[i] != null; i = (i + 1) & mask) {
+                if (entries[i].address == address) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private void insert(Entry entry) {
+            if ((size + 1) * 4 > entries.length * 3) {
+                resize();
+            }
+            int mask = entries.length - 1;
+            int i = entry.hash & mask;
+            while (entries[i] != null) {
+                i = (i + 1) & mask;
+            }
+            entries[i] = entry;
+            size++;
+        }
+
+        private void resize() {
+            Entry[] old = entries;
+            entries = new Entry[old.length * 2];
+            size = 0;
+            int mask = entries.length - 1;
+            for (Entry entry : old) {
+                //                collected entries are dropped here, and skipped later when they come from the queue
+                if (entry != null && entry.get() != null) {
+                    int i = entry.hash & mask;
+                    while (entries[i] != null) {
+                        i = (i + 1) & mask;
+                    }
+                    entries[i] = entry;
+                    size++;
+                }
+            }
+        }
+
+        private void removeAt(int index) {
+            int mask = entries.length - 1;
+            int gap = index;
+            entries[gap] = null;
+            size--;
+            for (int i = (gap + 1) & mask; entries[i] != null; i = (i + 1) & mask) {
+                int ideal = entries[i].hash & mask;
+                //                the entry may fill the gap if the gap is between its ideal slot and its current slot
+                if (((i - ideal) & mask) >= ((i - gap) & mask)) {
+                    entries[gap] = entries[i];
+                    entries[i] = null;
+                    gap = i;
+                }
+            }
+        }
+
+        private void expungeCollected() {
+            Reference<? extends ScElement> reference;
+            while ((reference = queue.poll()) != null) {
+                Entry collected = (Entry) reference;
+                int index = indexOf(
+                        collected.address,
+                        collected.hash);
+                //                the address may be mapped to a newer element already
+                if (index >= 0 && entries[index] == collected) {
+                    removeAt(index);
+                }
+            }
+        }
+    }
+}
@@ -5,8 +5,6 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import org.ostis.scmemory.model.element.ScElement;
 
-import java.util.Objects;
-
 /**
  * @author Michael
  * @since 0.0.1
@@ -42,7 +40,7 @@ public abstract class ScEntity implements ScElement {
     @JsonIgnore
     @Override
     public int hashCode() {
-        return Objects.hash(address);
+        return Long.hashCode(address);
     }
 
     @JsonIgnore
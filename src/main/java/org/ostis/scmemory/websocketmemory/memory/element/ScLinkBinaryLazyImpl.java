@@ -0,0 +1,43 @@
+package org.ostis.scmemory.websocketmemory.memory.element;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.ostis.scmemory.model.element.link.LinkContentType;
+import org.ostis.scmemory.model.element.link.LinkType;
+import org.ostis.scmemory.model.element.link.ScLinkBinary;
+import org.ostis.scmemory.model.exception.ScMemoryException;
+import org.ostis.scmemory.websocketmemory.memory.batch.LinkContentLoader;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+/**
+ * Lazy {@link ScLinkBinary}, the content is downloaded on first access.
+ *
+ * @author artrayme
+ * @since 0.8.2
+ */
+public class ScLinkBinaryLazyImpl extends AbstractScLinkLazy implements ScLinkBinary {
+
+    public ScLinkBinaryLazyImpl(LinkType linkType, Long address, LinkContentLoader loader) {
+        super(
+                linkType,
+                address,
+                LinkContentType.BINARY,
+                loader);
+    }
+
+    /**
+     * @throws IOException if the content cannot be downloaded
+     */
+    @JsonIgnore
+    @Override
+    public ByteArrayOutputStream getContent() throws IOException {
+        try {
+            return ((ScLinkBinary) load()).getContent();
+        } catch (ScMemoryException e) {
+            throw new IOException(
+                    "Unable to download content of the link " + address,
+                    e);
+        }
+    }
+}
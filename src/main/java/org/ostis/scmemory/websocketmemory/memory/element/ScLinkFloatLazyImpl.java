@@ -0,0 +1,33 @@
+package org.ostis.scmemory.websocketmemory.memory.element;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.ostis.scmemory.model.element.link.LinkContentType;
+import org.ostis.scmemory.model.element.link.LinkType;
+import org.ostis.scmemory.model.element.link.ScLinkFloat;
+import org.ostis.scmemory.websocketmemory.memory.batch.LinkContentLoader;
+
+/**
+ * Lazy {@link ScLinkFloat}, the content is downloaded on first access.
+ *
+ * @author artrayme
+ * @since 0.8.2
+ */
+public class ScLinkFloatLazyImpl extends AbstractScLinkLazy implements ScLinkFloat {
+
+    public ScLinkFloatLazyImpl(LinkType linkType, Long address, LinkContentLoader loader) {
+        super(
+                linkType,
+                address,
+                LinkContentType.FLOAT,
+                loader);
+    }
+
+    /**
+     * @throws IllegalStateException if the content cannot be downloaded
+     */
+    @JsonIgnore
+    @Override
+    public float getContent() {
+        return loadTyped(ScLinkFloat.class).getContent();
+    }
+}
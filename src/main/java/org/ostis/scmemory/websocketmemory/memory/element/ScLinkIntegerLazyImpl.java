@@ -0,0 +1,33 @@
+package org.ostis.scmemory.websocketmemory.memory.element;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.ostis.scmemory.model.element.link.LinkContentType;
+import org.ostis.scmemory.model.element.link.LinkType;
+import org.ostis.scmemory.model.element.link.ScLinkInteger;
+import org.ostis.scmemory.websocketmemory.memory.batch.LinkContentLoader;
+
+/**
+ * Lazy {@link ScLinkInteger}, the content is downloaded on first access.
+ *
+ * @author artrayme
+ * @since 0.8.2
+ */
+public class ScLinkIntegerLazyImpl extends AbstractScLinkLazy implements ScLinkInteger {
+
+    public ScLinkIntegerLazyImpl(LinkType linkType, Long address, LinkContentLoader loader) {
+        super(
+                linkType,
+                address,
+                LinkContentType.INT,
+                loader);
+    }
+
+    /**
+     * @throws IllegalStateException if the content cannot be downloaded
+     */
+    @JsonIgnore
+    @Override
+    public int getContent() {
+        return loadTyped(ScLinkInteger.class).getContent();
+    }
+}
@@ -0,0 +1,54 @@
+package org.ostis.scmemory.websocketmemory.memory.element;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.ostis.scmemory.model.element.link.LinkType;
+import org.ostis.scmemory.model.element.link.ScLink;
+import org.ostis.scmemory.model.element.link.ScLinkBinary;
+import org.ostis.scmemory.model.element.link.ScLinkFloat;
+import org.ostis.scmemory.model.element.link.ScLinkInteger;
+import org.ostis.scmemory.model.element.link.ScLinkString;
+import org.ostis.scmemory.model.exception.ScMemoryException;
+import org.ostis.scmemory.websocketmemory.memory.batch.LinkContentLoader;
+
+import java.io.IOException;
+
+/**
+ * Lazy link whose content type is not known before the download.
+ *
+ * @author artrayme
+ * @since 0.8.2
+ */
+public class ScLinkLazyImpl extends AbstractScLinkLazy {
+
+    public ScLinkLazyImpl(LinkType linkType, Long address, LinkContentLoader loader) {
+        super(
+                linkType,
+                address,
+                null,
+                loader);
+    }
+
+    /**
+     * @return content of this link: {@link Integer}, {@link Float}, {@link String}
+     * or {@link java.io.ByteArrayOutputStream}, depending on {@link #getContentType()}
+     * @throws ScMemoryException if the content cannot be downloaded
+     */
+    @JsonIgnore
+    public Object getContent() throws ScMemoryException {
+        ScLink link = load();
+        if (link instanceof ScLinkInteger l) {
+            return l.getContent();
+        } else if (link instanceof ScLinkFloat l) {
+            return l.getContent();
+        } else if (link instanceof ScLinkString l) {
+            return l.getContent();
+        }
+        try {
+            return ((ScLinkBinary) link).getContent();
+        } catch (IOException e) {
+            throw new ScMemoryException(
+                    "Unable to read binary content",
+                    e);
+        }
+    }
+}
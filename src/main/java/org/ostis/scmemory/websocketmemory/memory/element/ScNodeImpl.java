@@ -3,14 +3,22 @@ package org.ostis.scmemory.websocketmemory.memory.element;
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
 import org.ostis.scmemory.model.element.node.NodeType;
 import org.ostis.scmemory.model.element.node.ScNode;
 
+import java.io.IOException;
+
 /**
  * @author Michael
  * @since 0.0.1
  */
 @JsonAutoDetect(fieldVisibility = JsonAutoDetect.Visibility.ANY)
+@JsonSerialize(using = ScNodeImpl.Serializer.class)
 public class ScNodeImpl extends ScEntity implements ScNode {
     @JsonProperty("type")
     private final NodeType nodeType;
@@ -33,5 +41,35 @@ public class ScNodeImpl extends ScEntity implements ScNode {
         return nodeType;
     }
 
+    /**
+     * Writes {@code {"el":"node","type":...}} without bean introspection.
+     *
+     * @since 0.8.2
+     */
+    public static class Serializer extends StdSerializer<ScNodeImpl> {
+        public static final Serializer INSTANCE = new Serializer();
+        private static final SerializedString EL = new SerializedString("el");
+        private static final SerializedString NODE = new SerializedString("node");
+        private static final SerializedString TYPE = new SerializedString("type");
+
+        public Serializer() {
+            super(ScNodeImpl.class);
+        }
+
+        @Override
+        public void serialize(ScNodeImpl node, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject();
+            gen.writeFieldName(EL);
+            gen.writeString(NODE);
+            gen.writeFieldName(TYPE);
+            if (node.nodeType == null) {
+                gen.writeNull();
+            } else {
+                gen.writeNumber(node.nodeType.getCode());
+            }
+            gen.writeEndObject();
+        }
+    }
+
 }
 
@@ -0,0 +1,17 @@
+package org.ostis.scmemory.websocketmemory.memory.exception;
+
+/**
+ * This exception indicates that the base did not answer a request in time.
+ * The request is cancelled, and its late response will be discarded.
+ *
+ * @author artrayme
+ * @since 0.8.2
+ */
+public class OstisTimeoutException extends OstisConnectionException {
+
+    public OstisTimeoutException(String message, Throwable cause) {
+        super(
+                message,
+                cause);
+    }
+}
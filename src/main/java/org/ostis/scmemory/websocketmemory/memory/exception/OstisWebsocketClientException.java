@@ -4,4 +4,10 @@ public class OstisWebsocketClientException extends Exception{
     public OstisWebsocketClientException(String message) {
         super(message);
     }
+
+    public OstisWebsocketClientException(String message, Throwable cause) {
+        super(
+                message,
+                cause);
+    }
 }
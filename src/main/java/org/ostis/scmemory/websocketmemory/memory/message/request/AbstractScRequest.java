@@ -1,6 +1,7 @@
 package org.ostis.scmemory.websocketmemory.memory.message.request;
 
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import org.ostis.scmemory.websocketmemory.message.request.RequestType;
 import org.ostis.scmemory.websocketmemory.message.request.ScRequest;
@@ -25,4 +26,22 @@ public abstract class AbstractScRequest implements ScRequest {
         this.requestType = requestType;
     }
 
+    @Override
+    @JsonIgnore
+    public long getRequestId() {
+        return requestId;
+    }
+
+    @Override
+    @JsonIgnore
+    public RequestType getRequestType() {
+        return requestType;
+    }
+
+    @Override
+    @JsonIgnore
+    public boolean isReadOnly() {
+        return false;
+    }
+
 }
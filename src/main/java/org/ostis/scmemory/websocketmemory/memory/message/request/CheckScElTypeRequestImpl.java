@@ -41,4 +41,10 @@ public class CheckScElTypeRequestImpl extends AbstractScRequest implements Check
         return addresses.stream();
     }
 
+    @JsonIgnore
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
 }
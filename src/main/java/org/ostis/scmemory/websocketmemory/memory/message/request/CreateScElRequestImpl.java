@@ -3,10 +3,17 @@ package org.ostis.scmemory.websocketmemory.memory.message.request;
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
 import org.ostis.scmemory.model.element.ScElement;
+import org.ostis.scmemory.websocketmemory.memory.element.ScEdgeImpl;
+import org.ostis.scmemory.websocketmemory.memory.element.ScNodeImpl;
 import org.ostis.scmemory.websocketmemory.message.request.CreateScElRequest;
 import org.ostis.scmemory.websocketmemory.message.request.RequestType;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -19,6 +26,7 @@ import java.util.List;
  * @since 0.0.1
  */
 @JsonAutoDetect(fieldVisibility = JsonAutoDetect.Visibility.ANY)
+@JsonSerialize(using = CreateScElRequestImpl.Serializer.class)
 public class CreateScElRequestImpl extends AbstractScRequest implements CreateScElRequest {
     @JsonProperty("payload")
     private List<ScElement> elementsToCreate;
@@ -46,4 +54,48 @@ public class CreateScElRequestImpl extends AbstractScRequest implements CreateSc
         elementsToCreate.clear();
     }
 
+    /**
+     * Writes the request without bean introspection. Nodes and edges are written directly,
+     * other elements (links) are written by their Jackson serializers.
+     *
+     * @since 0.8.2
+     */
+    public static class Serializer extends StdSerializer<CreateScElRequestImpl> {
+        public Serializer() {
+            super(CreateScElRequestImpl.class);
+        }
+
+        @Override
+        public void serialize(CreateScElRequestImpl request, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject();
+            gen.writeNumberField(
+                    "id",
+                    request.getRequestId());
+            provider.defaultSerializeField(
+                    "type",
+                    request.getRequestType(),
+                    gen);
+            gen.writeArrayFieldStart("payload");
+            for (ScElement element : request.elementsToCreate) {
+                if (element instanceof ScNodeImpl node) {
+                    ScNodeImpl.Serializer.INSTANCE.serialize(
+                            node,
+                            gen,
+                            provider);
+                } else if (element instanceof ScEdgeImpl edge) {
+                    ScEdgeImpl.Serializer.INSTANCE.serialize(
+                            edge,
+                            gen,
+                            provider);
+                } else {
+                    provider.defaultSerializeValue(
+                            element,
+                            gen);
+                }
+            }
+            gen.writeEndArray();
+            gen.writeEndObject();
+        }
+    }
+
 }
@@ -28,4 +28,10 @@ public class FindByPatternRequestImpl extends AbstractScRequest implements FindB
     public boolean addComponent(ScPatternTriplet component) {
         return components.add(component);
     }
+
+    @JsonIgnore
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
 }
@@ -0,0 +1,42 @@
+package org.ostis.scmemory.websocketmemory.memory.message.request;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import org.ostis.scmemory.websocketmemory.message.request.FindByPreparedPatternRequest;
+import org.ostis.scmemory.websocketmemory.message.request.RequestType;
+
+/**
+ * Search request with the payload rendered by {@link org.ostis.scmemory.websocketmemory.memory.pattern.PreparedScPattern}.
+ * The payload is written as is.
+ *
+ * @author artrayme
+ * @since 0.8.2
+ */
+@JsonAutoDetect(fieldVisibility = JsonAutoDetect.Visibility.ANY)
+public class FindByPreparedPatternRequestImpl extends AbstractScRequest implements FindByPreparedPatternRequest {
+    @JsonProperty("payload")
+    @JsonRawValue
+    private final String payload;
+
+    /**
+     * @param payload JSON array of triplets
+     */
+    public FindByPreparedPatternRequestImpl(String payload) {
+        super(RequestType.SEARCH_TEMPLATE);
+        this.payload = payload;
+    }
+
+    @JsonIgnore
+    @Override
+    public String getPayload() {
+        return payload;
+    }
+
+    @JsonIgnore
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+}
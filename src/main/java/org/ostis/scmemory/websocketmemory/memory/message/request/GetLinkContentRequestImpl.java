@@ -48,6 +48,12 @@ public class GetLinkContentRequestImpl extends AbstractScRequest implements GetL
         contentStructs.clear();
     }
 
+    @JsonIgnore
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
     /**
      * Class describing the structure of a request to retrieve the content of the {@link org.ostis.scmemory.model.element.link.ScLink}
      * <p>
@@ -1,7 +1,9 @@
 package org.ostis.scmemory.websocketmemory.memory.message.request;
 
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import org.ostis.scmemory.websocketmemory.memory.structures.FindKeynodeStruct;
 import org.ostis.scmemory.websocketmemory.memory.structures.KeynodeStruct;
 import org.ostis.scmemory.websocketmemory.message.request.KeynodeRequest;
 import org.ostis.scmemory.websocketmemory.message.request.RequestType;
@@ -28,4 +30,14 @@ public class KeynodeRequestImpl extends AbstractScRequest implements KeynodeRequ
         keynodeStructs.addAll(idtf);
     }
 
+    /**
+     * @return true if the request only finds keynodes (resolving creates missing ones)
+     */
+    @JsonIgnore
+    @Override
+    public boolean isReadOnly() {
+        return keynodeStructs.stream()
+                             .allMatch(FindKeynodeStruct.class::isInstance);
+    }
+
 }
@@ -18,16 +18,21 @@ import java.util.stream.Stream;
 @JsonAutoDetect(fieldVisibility = JsonAutoDetect.Visibility.ANY)
 public class CheckScElTypeResponseImpl extends AbstractScResponse implements CheckScElTypeResponse {
     @JsonProperty("payload")
-    private List<Integer> foundTypes;
+    private int[] foundTypes = new int[0];
 
     @JsonIgnore
     @Override
     public Stream<Object> getTypes() {
-        List<Object> result = new ArrayList<>(foundTypes.size());
-        foundTypes.forEach(e -> {
-            result.add(ScTypesMap.INSTANCE.getTypes()
-                                          .get(e));
-        });
+        List<Object> result = new ArrayList<>(foundTypes.length);
+        for (int type : foundTypes) {
+            result.add(ScTypesMap.INSTANCE.getType(type));
+        }
         return result.stream();
     }
+
+    @JsonIgnore
+    @Override
+    public int[] getTypeCodes() {
+        return foundTypes;
+    }
 }
@@ -2,14 +2,16 @@ package org.ostis.scmemory.websocketmemory.memory.message.response;
 
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import org.ostis.scmemory.websocketmemory.memory.message.response.deserializer.LongArrayDeserializer;
 import org.ostis.scmemory.websocketmemory.message.response.CreateScElResponse;
 
-import java.util.List;
+import java.util.Arrays;
 import java.util.stream.Stream;
 
 /**
  * Implementation of the response to the request for
- * creating elements in the database. The payload part is a {@link List}
+ * creating elements in the database. The payload part is an array
  * of addresses of the created {@link org.ostis.scmemory.model.element.ScElement}. Or 0 if the item could not be created.
  * Jackson's annotations are used to further serialize the request.
  *
@@ -19,11 +21,18 @@ import java.util.stream.Stream;
 @JsonAutoDetect(fieldVisibility = JsonAutoDetect.Visibility.ANY)
 public class CreateScElResponseImpl extends AbstractScResponse implements CreateScElResponse {
     @JsonProperty("payload")
-    private List<Long> createdElementAddress;
+    @JsonDeserialize(using = LongArrayDeserializer.class)
+    private long[] createdElementAddress = new long[0];
 
     @Override
     public Stream<Long> getAddresses() {
-        return createdElementAddress.stream();
+        return Arrays.stream(createdElementAddress)
+                     .boxed();
+    }
+
+    @Override
+    public long[] getAddressArray() {
+        return createdElementAddress;
     }
 
 }
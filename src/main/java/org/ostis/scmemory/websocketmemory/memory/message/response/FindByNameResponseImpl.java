@@ -1,19 +1,29 @@
 package org.ostis.scmemory.websocketmemory.memory.message.response;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import org.ostis.scmemory.websocketmemory.memory.message.response.deserializer.LongArrayDeserializer;
 import org.ostis.scmemory.websocketmemory.message.response.FindByNameResponce;
-import org.ostis.scmemory.websocketmemory.message.response.ScResponse;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Stream;
 
 public class FindByNameResponseImpl extends AbstractScResponse implements FindByNameResponce {
     @JsonProperty("payload")
-    private final List<List<Long>> addresses = new ArrayList<>();
+    @JsonDeserialize(contentUsing = LongArrayDeserializer.class)
+    private long[][] addresses = new long[0][];
 
     @Override
     public Stream<List<Long>> getFoundAddresses() {
-        return addresses.stream();
+        return Arrays.stream(addresses)
+                     .map(e -> Arrays.stream(e)
+                                     .boxed()
+                                     .toList());
+    }
+
+    @Override
+    public long[][] getFoundAddressArrays() {
+        return addresses;
     }
 }
@@ -3,9 +3,9 @@ package org.ostis.scmemory.websocketmemory.memory.message.response;
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import org.ostis.scmemory.websocketmemory.memory.structures.PayloadFoundByTemplateStruct;
+import org.ostis.scmemory.websocketmemory.message.response.AddressTable;
 import org.ostis.scmemory.websocketmemory.message.response.FindByPatternResponse;
 
-import java.util.Collection;
 import java.util.stream.Stream;
 
 /**
@@ -20,9 +20,15 @@ public class FindByPatternResponseImpl extends AbstractScResponse implements Fin
 
     @Override
     public Stream<Stream<Long>> getFoundAddresses() {
-        return payloadFoundByTemplateStruct.getFoundAddresses()
-                                           .stream()
-                                           .map(Collection::stream);
+        return getFoundAddressTable().stream();
+    }
+
+    @Override
+    public AddressTable getFoundAddressTable() {
+        if (payloadFoundByTemplateStruct == null) {
+            return AddressTable.empty();
+        }
+        return payloadFoundByTemplateStruct.getFoundAddresses();
     }
 
 }
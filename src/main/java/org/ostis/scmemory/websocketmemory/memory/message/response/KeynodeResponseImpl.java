@@ -2,10 +2,11 @@ package org.ostis.scmemory.websocketmemory.memory.message.response;
 
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import org.ostis.scmemory.websocketmemory.memory.message.response.deserializer.LongArrayDeserializer;
 import org.ostis.scmemory.websocketmemory.message.response.KeynodeResponse;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 import java.util.stream.Stream;
 
 /**
@@ -15,10 +16,17 @@ import java.util.stream.Stream;
 @JsonAutoDetect(fieldVisibility = JsonAutoDetect.Visibility.ANY)
 public class KeynodeResponseImpl extends AbstractScResponse implements KeynodeResponse {
     @JsonProperty("payload")
-    private final List<Long> addresses = new ArrayList<>();
+    @JsonDeserialize(using = LongArrayDeserializer.class)
+    private long[] addresses = new long[0];
 
     @Override
     public Stream<Long> getFindAddresses() {
-        return addresses.stream();
+        return Arrays.stream(addresses)
+                     .boxed();
+    }
+
+    @Override
+    public long[] getFindAddressArray() {
+        return addresses;
     }
 }
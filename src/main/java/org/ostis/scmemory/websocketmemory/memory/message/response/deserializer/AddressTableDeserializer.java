@@ -0,0 +1,81 @@
+package org.ostis.scmemory.websocketmemory.memory.message.response.deserializer;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import org.ostis.scmemory.websocketmemory.message.response.AddressTable;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Decodes rows of found constructions ({@code [[1,2,3],[4,5,6]]}) into one flat {@code long[]}
+ * without creating a {@link Long} and a list per address.
+ * All rows must have the same length.
+ *
+ * @author artrayme
+ * @since 0.8.2
+ */
+public class AddressTableDeserializer extends StdDeserializer<AddressTable> {
+    private static final int INITIAL_CAPACITY = 64;
+
+    public AddressTableDeserializer() {
+        super(AddressTable.class);
+    }
+
+    @Override
+    public AddressTable deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (!p.isExpectedStartArrayToken()) {
+            return (AddressTable) ctxt.handleUnexpectedToken(
+                    AddressTable.class,
+                    p);
+        }
+        long[] addresses = new long[INITIAL_CAPACITY];
+        int size = 0;
+        int rowCount = 0;
+        int rowLength = -1;
+        while (p.nextToken() != JsonToken.END_ARRAY) {
+            if (!p.isExpectedStartArrayToken()) {
+                return (AddressTable) ctxt.handleUnexpectedToken(
+                        AddressTable.class,
+                        p);
+            }
+            int rowStart = size;
+            JsonToken token;
+            while ((token = p.nextToken()) != JsonToken.END_ARRAY) {
+                if (token != JsonToken.VALUE_NUMBER_INT) {
+                    return (AddressTable) ctxt.handleUnexpectedToken(
+                            AddressTable.class,
+                            p);
+                }
+                if (size == addresses.length) {
+                    addresses = Arrays.copyOf(
+                            addresses,
+                            size * 2);
+                }
+                addresses[size++] = p.getLongValue();
+            }
+            if (rowLength == -1) {
+                rowLength = size - rowStart;
+            } else if (rowLength != size - rowStart) {
+                ctxt.reportInputMismatch(
+                        this,
+                        "Rows of found constructions have different lengths: " + rowLength + " and " + (size - rowStart));
+            }
+            rowCount++;
+        }
+        if (rowCount == 0) {
+            return AddressTable.empty();
+        }
+        return new AddressTable(
+                addresses,
+                rowCount,
+                rowLength);
+    }
+
+    @Override
+    public AddressTable getNullValue(DeserializationContext ctxt) {
+        return AddressTable.empty();
+    }
+}
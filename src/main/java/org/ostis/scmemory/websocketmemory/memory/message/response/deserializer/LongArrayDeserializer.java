@@ -0,0 +1,58 @@
+package org.ostis.scmemory.websocketmemory.memory.message.response.deserializer;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Decodes a flat list of addresses ({@code [1,2,3]}) into a {@code long[]} without boxing.
+ * {@code null} is decoded into an empty array.
+ *
+ * @author artrayme
+ * @since 0.8.2
+ */
+public class LongArrayDeserializer extends StdDeserializer<long[]> {
+    private static final long[] EMPTY = new long[0];
+    private static final int INITIAL_CAPACITY = 16;
+
+    public LongArrayDeserializer() {
+        super(long[].class);
+    }
+
+    @Override
+    public long[] deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (!p.isExpectedStartArrayToken()) {
+            return (long[]) ctxt.handleUnexpectedToken(
+                    long[].class,
+                    p);
+        }
+        long[] addresses = new long[INITIAL_CAPACITY];
+        int size = 0;
+        JsonToken token;
+        while ((token = p.nextToken()) != JsonToken.END_ARRAY) {
+            if (token != JsonToken.VALUE_NUMBER_INT) {
+                return (long[]) ctxt.handleUnexpectedToken(
+                        long[].class,
+                        p);
+            }
+            if (size == addresses.length) {
+                addresses = Arrays.copyOf(
+                        addresses,
+                        size * 2);
+            }
+            addresses[size++] = p.getLongValue();
+        }
+        return size == addresses.length ? addresses : Arrays.copyOf(
+                addresses,
+                size);
+    }
+
+    @Override
+    public long[] getNullValue(DeserializationContext ctxt) {
+        return EMPTY;
+    }
+}
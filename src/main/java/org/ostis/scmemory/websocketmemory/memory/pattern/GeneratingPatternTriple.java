@@ -4,14 +4,21 @@ import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonValue;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
 import org.ostis.scmemory.model.pattern.ScPatternTriplet;
 import org.ostis.scmemory.model.pattern.element.ScPatternElement;
 
+import java.io.IOException;
+
 /**
  * @author artrayme
  * @since 0.6.0
  */
 @JsonAutoDetect(fieldVisibility = JsonAutoDetect.Visibility.ANY)
+@JsonSerialize(using = GeneratingPatternTriple.Serializer.class)
 public class GeneratingPatternTriple implements ScPatternTriplet {
 
     @JsonValue
@@ -60,5 +67,22 @@ public class GeneratingPatternTriple implements ScPatternTriplet {
         elements[2] = element;
     }
 
+    /**
+     * Writes the triple as an array of three pattern elements without bean introspection.
+     *
+     * @since 0.8.2
+     */
+    public static class Serializer extends StdSerializer<GeneratingPatternTriple> {
+        public Serializer() {
+            super(GeneratingPatternTriple.class);
+        }
 
+        @Override
+        public void serialize(GeneratingPatternTriple triple, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            SearchingPatternTriple.writeElements(
+                    triple.elements,
+                    gen,
+                    provider);
+        }
+    }
 }
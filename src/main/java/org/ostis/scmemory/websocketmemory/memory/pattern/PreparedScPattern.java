@@ -0,0 +1,172 @@
+package org.ostis.scmemory.websocketmemory.memory.pattern;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.ostis.scmemory.model.element.ScElement;
+import org.ostis.scmemory.model.pattern.ScPattern;
+import org.ostis.scmemory.model.pattern.element.ScAliasedElement;
+import org.ostis.scmemory.model.pattern.element.ScPatternElement;
+import org.ostis.scmemory.model.pattern.element.ScTypedElement;
+import org.ostis.scmemory.websocketmemory.util.internal.JsonCodec;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * {@link ScPattern} compiled once for many searches with different fixed elements.
+ * <p>
+ * Every fixed element ({@link org.ostis.scmemory.model.pattern.element.ScFixedElement}) of the pattern is a parameter,
+ * parameters are numbered in the order of their appearance in the pattern.
+ * Elements of the pattern passed to the constructor are only used to describe the template,
+ * so it may be created with any elements (e.g. {@code () -> 0L}) in fixed places.
+ * <p>
+ * JSON of the request is rendered at the creation, a search only inserts addresses of parameters into it.
+ * Columns of aliases are resolved at the creation too, so the found constructions are mapped without lookups by alias.
+ * <p>
+ * Instances are immutable and can be shared between threads.
+ * Use them with {@link org.ostis.scmemory.websocketmemory.memory.SyncOstisScMemory#find(PreparedScPattern, ScElement...)}.
+ *
+ * @author artrayme
+ * @since 0.8.2
+ */
+public final class PreparedScPattern {
+    private static final String FIXED_ELEMENT_START = "{\"type\":\"addr\",\"value\":";
+    private static final String FIXED_ELEMENT_END = "}";
+
+    //    payload of the request is skeleton[0] + address_0 + skeleton[1] + ... + address_n-1 + skeleton[n]
+    private final String[] skeleton;
+    private final List<ScPatternElement> elements;
+    //    column -> number of the parameter or -1
+    private final int[] parameterColumns;
+    //    column -> column of the typed element with the same alias, or -1
+    private final int[] aliasColumns;
+    private final int parameterCount;
+    //    enough for the skeleton and all addresses, the builder of a payload is not resized
+    private final int payloadCapacity;
+
+    /**
+     * @param pattern template of the search
+     * @throws IllegalArgumentException if elements of the pattern cannot be serialized
+     */
+    public PreparedScPattern(ScPattern pattern) {
+        elements = pattern.getElements()
+                          .flatMap(e -> Stream.of(
+                                  e.get1(),
+                                  e.get2(),
+                                  e.get3()))
+                          .toList();
+        parameterColumns = new int[elements.size()];
+        aliasColumns = new int[elements.size()];
+        Arrays.fill(
+                aliasColumns,
+                -1);
+
+        Map<ScAliasedElement, Integer> typedColumns = new HashMap<>();
+        for (int column = 0; column < elements.size(); column++) {
+            if (elements.get(column) instanceof ScTypedElement<?> typed && typed.getAlias() != null) {
+                typedColumns.putIfAbsent(
+                        typed.getAlias(),
+                        column);
+            }
+        }
+
+        List<String> parts = new ArrayList<>();
+        StringBuilder part = new StringBuilder("[");
+        int parameter = 0;
+        try {
+            for (int column = 0; column < elements.size(); column++) {
+                ScPatternElement element = elements.get(column);
+                part.append(column % 3 == 0 ? (column == 0 ? "[" : ",[") : ",");
+                parameterColumns[column] = -1;
+                switch (element.getType()) {
+                    case ADDR -> {
+                        part.append(FIXED_ELEMENT_START);
+                        parts.add(part.toString());
+                        part = new StringBuilder(FIXED_ELEMENT_END);
+                        parameterColumns[column] = parameter++;
+                    }
+                    case ALIAS -> {
+                        aliasColumns[column] = typedColumns.getOrDefault(
+                                (ScAliasedElement) element,
+                                -1);
+                        part.append(JsonCodec.INSTANCE.getMapper()
+                                                      .writeValueAsString(element));
+                    }
+                    default -> part.append(JsonCodec.INSTANCE.getMapper()
+                                                             .writeValueAsString(element));
+                }
+                if (column % 3 == 2) {
+                    part.append(']');
+                }
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException(
+                    "cant serialize pattern - " + pattern,
+                    e);
+        }
+        part.append(']');
+        parts.add(part.toString());
+        skeleton = parts.toArray(String[]::new);
+        parameterCount = parameter;
+        payloadCapacity = parts.stream()
+                               .mapToInt(String::length)
+                               .sum() + parameterCount * 20;
+    }
+
+    /**
+     * @return number of fixed elements that must be passed to a search
+     */
+    public int getParameterCount() {
+        return parameterCount;
+    }
+
+    /**
+     * @return flat list of pattern elements (three per triplet), the same order as in found constructions
+     */
+    public List<ScPatternElement> getElements() {
+        return elements;
+    }
+
+    /**
+     * @return number of the parameter in the column, or -1 if the column is not a fixed element
+     */
+    public int getParameter(int column) {
+        return parameterColumns[column];
+    }
+
+    /**
+     * @return column of the typed element that declares the alias in the column,
+     * or -1 if the column is not an alias or the alias is not declared in the pattern
+     */
+    public int getAliasColumn(int column) {
+        return aliasColumns[column];
+    }
+
+    /**
+     * @param parameters fixed elements in the order of their appearance in the pattern
+     * @return JSON payload of the search request
+     * @throws IllegalArgumentException if the number of parameters is not equal to {@link #getParameterCount()}
+     */
+    public String render(ScElement... parameters) {
+        if (parameters.length != parameterCount) {
+            throw new IllegalArgumentException("Pattern has " + parameterCount + " parameters, but " + parameters.length + " are passed");
+        }
+        StringBuilder payload = new StringBuilder(payloadCapacity);
+        payload.append(skeleton[0]);
+        for (int i = 0; i < parameterCount; i++) {
+            payload.append((long) parameters[i].getAddress());
+            payload.append(skeleton[i + 1]);
+        }
+        return payload.toString();
+    }
+
+    @Override
+    public String toString() {
+        return String.join(
+                "?",
+                skeleton);
+    }
+}
@@ -0,0 +1,124 @@
+package org.ostis.scmemory.websocketmemory.memory.pattern;
+
+import org.ostis.scmemory.model.element.ScElement;
+import org.ostis.scmemory.model.pattern.ScPattern;
+import org.ostis.scmemory.model.pattern.element.ScPatternElement;
+import org.ostis.scmemory.websocketmemory.memory.pattern.element.AliasPatternElement;
+import org.ostis.scmemory.websocketmemory.memory.pattern.element.FixedPatternElement;
+import org.ostis.scmemory.websocketmemory.memory.pattern.element.TypePatternElement;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Builds {@link ScPattern} of any number of triplets with named elements.
+ * <pre>
+ *     {@code
+ *     ScPatternBuilder b = new ScPatternBuilder();
+ *     ScPattern pattern = b.triple(b.fixed(set), b.var(EdgeType.ACCESS_VAR_POS_PERM, "access"), b.var(NodeType.VAR, "element"))
+ *                          .triple(b.ref("element"), b.var(EdgeType.D_COMMON_VAR, "relation_edge"), b.var(NodeType.VAR, "value"))
+ *                          .build();
+ *     }
+ * </pre>
+ * Every typed element must have a unique name, {@link #ref(String)} uses the element with this name in other triplets.
+ * References are checked by {@link #build()}, so they may be added before the named element.
+ * Names are the keys of columns in {@link org.ostis.scmemory.websocketmemory.memory.structures.ScElementColumns}.
+ *
+ * @author artrayme
+ * @since 0.8.2
+ */
+public class ScPatternBuilder {
+    private final Map<String, AliasPatternElement> aliases = new LinkedHashMap<>();
+    private final Set<String> declared = new LinkedHashSet<>();
+    private final List<ScPatternElement[]> triplets = new ArrayList<>();
+
+    /**
+     * @param element element that must be present in every found construction
+     * @return fixed element of the pattern
+     */
+    public ScPatternElement fixed(ScElement element) {
+        return new FixedPatternElement(element);
+    }
+
+    /**
+     * @param type {@link org.ostis.scmemory.model.element.node.NodeType}, {@link org.ostis.scmemory.model.element.edge.EdgeType},
+     *             {@link org.ostis.scmemory.model.element.link.LinkType}
+     *             or {@link org.ostis.scmemory.model.element.UnknownScElement}
+     * @param name unique name of the element
+     * @return typed element of the pattern
+     * @throws IllegalArgumentException if the name is already declared by another typed element
+     */
+    public <T> ScPatternElement var(T type, String name) {
+        if (!declared.add(checkName(name))) {
+            throw new IllegalArgumentException("Element " + name + " is already declared");
+        }
+        return new TypePatternElement<>(
+                type,
+                alias(name));
+    }
+
+    /**
+     * @param name name of a typed element of the pattern
+     * @return the same element as the typed element with this name
+     */
+    public ScPatternElement ref(String name) {
+        return alias(checkName(name));
+    }
+
+    /**
+     * @return this builder
+     */
+    public ScPatternBuilder triple(ScPatternElement element1, ScPatternElement element2, ScPatternElement element3) {
+        triplets.add(new ScPatternElement[]{element1, element2, element3});
+        return this;
+    }
+
+    /**
+     * @return names of typed elements in the order of declaration
+     */
+    public List<String> getNames() {
+        return List.copyOf(declared);
+    }
+
+    /**
+     * Creates a new pattern, the builder can be used further.
+     *
+     * @return pattern with all added triplets
+     * @throws IllegalStateException if there are no triplets or a referenced name is not declared
+     */
+    public ScPattern build() {
+        if (triplets.isEmpty()) {
+            throw new IllegalStateException("Pattern has no triplets");
+        }
+        for (String name : aliases.keySet()) {
+            if (!declared.contains(name)) {
+                throw new IllegalStateException("Element " + name + " is referenced, but not declared by var()");
+            }
+        }
+        ScPattern pattern = new DefaultWebsocketScPattern();
+        for (ScPatternElement[] triplet : triplets) {
+            pattern.addElement(new SearchingPatternTriple(
+                    triplet[0],
+                    triplet[1],
+                    triplet[2]));
+        }
+        return pattern;
+    }
+
+    private AliasPatternElement alias(String name) {
+        return aliases.computeIfAbsent(
+                name,
+                AliasPatternElement::new);
+    }
+
+    private String checkName(String name) {
+        if (name == null || name.isEmpty()) {
+            throw new IllegalArgumentException("Name of the element must not be empty");
+        }
+        return name;
+    }
+}
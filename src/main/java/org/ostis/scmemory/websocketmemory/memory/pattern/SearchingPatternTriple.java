@@ -3,14 +3,24 @@ package org.ostis.scmemory.websocketmemory.memory.pattern;
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonValue;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
 import org.ostis.scmemory.model.pattern.ScPatternTriplet;
 import org.ostis.scmemory.model.pattern.element.ScPatternElement;
+import org.ostis.scmemory.websocketmemory.memory.pattern.element.AliasPatternElement;
+import org.ostis.scmemory.websocketmemory.memory.pattern.element.FixedPatternElement;
+import org.ostis.scmemory.websocketmemory.memory.pattern.element.TypePatternElement;
+
+import java.io.IOException;
 
 /**
  * @author artrayme
  * @since 0.3.2
  */
 @JsonAutoDetect(fieldVisibility = JsonAutoDetect.Visibility.ANY)
+@JsonSerialize(using = SearchingPatternTriple.Serializer.class)
 public class SearchingPatternTriple implements ScPatternTriplet {
     @JsonValue
     private final ScPatternElement[] elements = new ScPatternElement[3];
@@ -55,4 +65,55 @@ public class SearchingPatternTriple implements ScPatternTriplet {
     public void set3(ScPatternElement element) {
         elements[2] = element;
     }
+
+    /**
+     * Writes elements of a triple as an array, known pattern elements are written without serializer lookup.
+     */
+    static void writeElements(ScPatternElement[] elements,
+                              JsonGenerator gen,
+                              SerializerProvider provider) throws IOException {
+        gen.writeStartArray();
+        for (ScPatternElement element : elements) {
+            if (element instanceof TypePatternElement<?> typed) {
+                TypePatternElement.Serializer.INSTANCE.serialize(
+                        typed,
+                        gen,
+                        provider);
+            } else if (element instanceof AliasPatternElement alias) {
+                AliasPatternElement.Serializer.INSTANCE.serialize(
+                        alias,
+                        gen,
+                        provider);
+            } else if (element instanceof FixedPatternElement fixed) {
+                FixedPatternElement.Serializer.INSTANCE.serialize(
+                        fixed,
+                        gen,
+                        provider);
+            } else {
+                provider.defaultSerializeValue(
+                        element,
+                        gen);
+            }
+        }
+        gen.writeEndArray();
+    }
+
+    /**
+     * Writes the triple as an array of three pattern elements without bean introspection.
+     *
+     * @since 0.8.2
+     */
+    public static class Serializer extends StdSerializer<SearchingPatternTriple> {
+        public Serializer() {
+            super(SearchingPatternTriple.class);
+        }
+
+        @Override
+        public void serialize(SearchingPatternTriple triple, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            writeElements(
+                    triple.elements,
+                    gen,
+                    provider);
+        }
+    }
 }
@@ -3,13 +3,22 @@ package org.ostis.scmemory.websocketmemory.memory.pattern.element;
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
 import org.ostis.scmemory.model.pattern.element.ScAliasedElement;
 
+import java.io.IOException;
+import java.util.Objects;
+
 /**
  * @author artrayme
  * @since 0.3.2
  */
 @JsonAutoDetect(fieldVisibility = JsonAutoDetect.Visibility.ANY)
+@JsonSerialize(using = AliasPatternElement.Serializer.class)
 public final class AliasPatternElement implements ScAliasedElement {
     @JsonProperty("type")
     private final String type = "alias";
@@ -26,4 +35,51 @@ public final class AliasPatternElement implements ScAliasedElement {
         return alias;
     }
 
+    @JsonIgnore
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(alias);
+    }
+
+    /**
+     * Aliases with the same name are equal, like sc-machine matches them.
+     *
+     * @since 0.8.2
+     */
+    @JsonIgnore
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        AliasPatternElement that = (AliasPatternElement) o;
+        return Objects.equals(
+                alias,
+                that.alias);
+    }
+
+    /**
+     * Writes {@code {"type":"alias","value":...}} without bean introspection.
+     *
+     * @since 0.8.2
+     */
+    public static class Serializer extends StdSerializer<AliasPatternElement> {
+        public static final Serializer INSTANCE = new Serializer();
+        private static final SerializedString TYPE = new SerializedString("type");
+        private static final SerializedString VALUE = new SerializedString("value");
+
+        public Serializer() {
+            super(AliasPatternElement.class);
+        }
+
+        @Override
+        public void serialize(AliasPatternElement element, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject();
+            gen.writeFieldName(TYPE);
+            gen.writeString(element.type);
+            gen.writeFieldName(VALUE);
+            gen.writeString(element.alias);
+            gen.writeEndObject();
+        }
+    }
+
 }
@@ -3,14 +3,22 @@ package org.ostis.scmemory.websocketmemory.memory.pattern.element;
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
 import org.ostis.scmemory.model.element.ScElement;
 import org.ostis.scmemory.model.pattern.element.ScFixedElement;
 
+import java.io.IOException;
+
 /**
  * @author artrayme
  * @since 0.3.2
  */
 @JsonAutoDetect(fieldVisibility = JsonAutoDetect.Visibility.ANY)
+@JsonSerialize(using = FixedPatternElement.Serializer.class)
 public final class FixedPatternElement implements ScFixedElement {
     @JsonProperty("type")
     private final String type = "addr";
@@ -29,6 +37,35 @@ public final class FixedPatternElement implements ScFixedElement {
     public ScElement getElement() {
         return element;
     }
+
+    /**
+     * Writes {@code {"type":"addr","value":...}} without bean introspection.
+     *
+     * @since 0.8.2
+     */
+    public static class Serializer extends StdSerializer<FixedPatternElement> {
+        public static final Serializer INSTANCE = new Serializer();
+        private static final SerializedString TYPE = new SerializedString("type");
+        private static final SerializedString VALUE = new SerializedString("value");
+
+        public Serializer() {
+            super(FixedPatternElement.class);
+        }
+
+        @Override
+        public void serialize(FixedPatternElement element, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject();
+            gen.writeFieldName(TYPE);
+            gen.writeString(element.type);
+            gen.writeFieldName(VALUE);
+            if (element.fixedNode == null) {
+                gen.writeNull();
+            } else {
+                gen.writeNumber(element.fixedNode);
+            }
+            gen.writeEndObject();
+        }
+    }
 }
 
 
@@ -4,8 +4,16 @@ import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
 import org.ostis.scmemory.model.pattern.element.ScAliasedElement;
 import org.ostis.scmemory.model.pattern.element.ScTypedElement;
+import org.ostis.scmemory.websocketmemory.util.api.ScTypesMap;
+
+import java.io.IOException;
 
 /**
  * @author artrayme
@@ -13,6 +21,7 @@ import org.ostis.scmemory.model.pattern.element.ScTypedElement;
  */
 @JsonAutoDetect(fieldVisibility = JsonAutoDetect.Visibility.ANY)
 @JsonPropertyOrder({"type", "value", "alias"})
+@JsonSerialize(using = TypePatternElement.Serializer.class)
 public final class TypePatternElement<T> implements ScTypedElement<T> {
     @JsonProperty("type")
     private final String type = "type";
@@ -40,4 +49,43 @@ public final class TypePatternElement<T> implements ScTypedElement<T> {
     public ScAliasedElement getAlias() {
         return aliasedElement;
     }
+
+    /**
+     * Writes {@code {"type":"type","value":...,"alias":...}} without bean introspection.
+     * Known sc-types are written as codes directly, other values are written by Jackson.
+     *
+     * @since 0.8.2
+     */
+    public static class Serializer extends StdSerializer<TypePatternElement<?>> {
+        public static final Serializer INSTANCE = new Serializer();
+        private static final SerializedString TYPE = new SerializedString("type");
+        private static final SerializedString VALUE = new SerializedString("value");
+        private static final SerializedString ALIAS = new SerializedString("alias");
+
+        public Serializer() {
+            super(
+                    TypePatternElement.class,
+                    false);
+        }
+
+        @Override
+        public void serialize(TypePatternElement<?> element, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject();
+            gen.writeFieldName(TYPE);
+            gen.writeString(element.type);
+            int code = ScTypesMap.INSTANCE.getCode(element.scElementType);
+            if (code >= 0) {
+                gen.writeFieldName(VALUE);
+                gen.writeNumber(code);
+            } else {
+                provider.defaultSerializeField(
+                        "value",
+                        element.scElementType,
+                        gen);
+            }
+            gen.writeFieldName(ALIAS);
+            gen.writeString(element.alias);
+            gen.writeEndObject();
+        }
+    }
 }
@@ -1,13 +1,13 @@
 package org.ostis.scmemory.websocketmemory.memory.sender;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.DeserializationFeature;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.ObjectWriter;
 import lombok.extern.slf4j.Slf4j;
 import org.ostis.scmemory.model.exception.ScMemoryException;
+import org.ostis.scmemory.model.exception.ScMemoryTimeoutException;
 import org.ostis.scmemory.websocketmemory.core.OstisClient;
+import org.ostis.scmemory.websocketmemory.memory.batch.SingleFlight;
 import org.ostis.scmemory.websocketmemory.memory.exception.OstisConnectionException;
+import org.ostis.scmemory.websocketmemory.memory.exception.OstisTimeoutException;
 import org.ostis.scmemory.websocketmemory.memory.message.response.CheckScElTypeResponseImpl;
 import org.ostis.scmemory.websocketmemory.memory.message.response.CreateScElResponseImpl;
 import org.ostis.scmemory.websocketmemory.memory.message.response.DeleteScElResponseImpl;
@@ -24,10 +24,12 @@ import org.ostis.scmemory.websocketmemory.message.request.CreateScElRequest;
 import org.ostis.scmemory.websocketmemory.message.request.DeleteScElRequest;
 import org.ostis.scmemory.websocketmemory.message.request.FindByNameRequest;
 import org.ostis.scmemory.websocketmemory.message.request.FindByPatternRequest;
+import org.ostis.scmemory.websocketmemory.message.request.FindByPreparedPatternRequest;
 import org.ostis.scmemory.websocketmemory.message.request.FindStringBySubstringRequest;
 import org.ostis.scmemory.websocketmemory.message.request.GenerateByPatternRequest;
 import org.ostis.scmemory.websocketmemory.message.request.GetLinkContentRequest;
 import org.ostis.scmemory.websocketmemory.message.request.KeynodeRequest;
+import org.ostis.scmemory.websocketmemory.message.request.RequestPriority;
 import org.ostis.scmemory.websocketmemory.message.request.ScRequest;
 import org.ostis.scmemory.websocketmemory.message.request.SetLinkContentRequest;
 import org.ostis.scmemory.websocketmemory.message.request.EventRequest;
@@ -43,30 +45,45 @@ import org.ostis.scmemory.websocketmemory.message.response.KeynodeResponse;
 import org.ostis.scmemory.websocketmemory.message.response.SetLinkContentResponse;
 import org.ostis.scmemory.websocketmemory.message.response.EventResponse;
 import org.ostis.scmemory.websocketmemory.sender.RequestSender;
+import org.ostis.scmemory.websocketmemory.util.internal.JsonCodec;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.net.URI;
+import java.time.Duration;
 
 /**
  * {@link RequestSender} implementation for serialization and sending requests
  * using the {@link OstisClient}, as well as for deserializing responses.
- * Deserialization and serialization occurs using the JACKSON-databind library.
+ * Deserialization and serialization occurs using the JACKSON-databind library,
+ * the mapper and its readers and writers are shared by all senders (see {@link JsonCodec}).
  *
  * @author Michael
  * @since 0.0.1
  */
 @Slf4j(topic = "RequestSender")
 public class RequestSenderImpl implements RequestSender {
+    //    bigger read-only requests are not shared, computing their keys costs more than a rare coincidence saves
+    private static final int MAX_SHARED_REQUEST_LENGTH = 16 * 1024;
+
     private final OstisClient client;
-    private final ObjectMapper mapper;
-    private final ObjectWriter writer;
+    private final SingleFlight<String, Object> singleFlight;
+    //    null means the default timeout of the client
+    private final Duration timeout;
+    private final RequestPriority priority;
 
     public RequestSenderImpl(OstisClient client) {
         this.client = client;
-        mapper = new ObjectMapper();
-        mapper.configure(
-                DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES,
-                false);
-        writer = mapper.writer();
+        singleFlight = new SingleFlight<>();
+        timeout = null;
+        priority = RequestPriority.INTERACTIVE;
+    }
+
+    private RequestSenderImpl(RequestSenderImpl other, Duration timeout, RequestPriority priority) {
+        this.client = other.client;
+        this.singleFlight = other.singleFlight;
+        this.timeout = timeout;
+        this.priority = priority;
     }
 
     @Override
@@ -74,6 +91,25 @@ public class RequestSenderImpl implements RequestSender {
         return client.getConfiguration();
     }
 
+    @Override
+    public RequestSender withTimeout(Duration timeout) {
+        if (timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException("Timeout must be positive, but it is " + timeout);
+        }
+        return new RequestSenderImpl(
+                this,
+                timeout,
+                priority);
+    }
+
+    @Override
+    public RequestSender withPriority(RequestPriority priority) {
+        return new RequestSenderImpl(
+                this,
+                timeout,
+                priority);
+    }
+
     @Override
     public CreateScElResponse sendCreateElRequest(CreateScElRequest request) throws ScMemoryException {
         return send(
@@ -95,6 +131,21 @@ public class RequestSenderImpl implements RequestSender {
                 FindByPatternResponseImpl.class);
     }
 
+    /**
+     * Method for sending the searchByTemplate request with the payload rendered beforehand.
+     * It is not a part of {@link RequestSender}: the rendered payload cannot be sent by other senders.
+     *
+     * @param request a request that contains the rendered pattern
+     * @return response where is the information about the searched elements
+     * @throws ScMemoryException if something went wrong with the connection to the base
+     * @since 0.8.2
+     */
+    public FindByPatternResponse sendFindByPreparedPatternRequest(FindByPreparedPatternRequest request) throws ScMemoryException {
+        return send(
+                request,
+                FindByPatternResponseImpl.class);
+    }
+
     @Override
     public GenerateByPatternResponse sendGenerateByPatternRequest(GenerateByPatternRequest request) throws ScMemoryException {
         return send(
@@ -154,7 +205,9 @@ public class RequestSenderImpl implements RequestSender {
     /**
      * The method that serializes the {@link ScRequest} object, sends a
      * request to the database through the {@link OstisClient} and deserializes the response
-     * into a {@link org.ostis.scmemory.websocketmemory.message.response.ScResponse} object
+     * into a {@link org.ostis.scmemory.websocketmemory.message.response.ScResponse} object.
+     * Identical {@link ScRequest#isReadOnly() read-only} requests sent at the same time share one response,
+     * unless they are longer than {@link #MAX_SHARED_REQUEST_LENGTH}
      *
      * @param request           request
      * @param responseClassType type of response
@@ -163,23 +216,138 @@ public class RequestSenderImpl implements RequestSender {
      * @return {@link org.ostis.scmemory.websocketmemory.message.response.ScResponse} with all the necessary data
      * @throws ScMemoryException if there is any problem with the {@link OstisClient}
      */
-    private <T1, T2> T2 send(T1 request, Class<T2> responseClassType) throws ScMemoryException {
-        try {
-            String jsonRequest = writer.writeValueAsString(request);
-            String msg = client.sendToOstis(jsonRequest);
-            return mapper.readValue(
-                    msg,
+    private <T1 extends ScRequest, T2> T2 send(T1 request, Class<T2> responseClassType) throws ScMemoryException {
+        String key = request.isReadOnly() ? sharingKey(request) : null;
+        if (key == null) {
+            return exchange(
+                    request,
                     responseClassType);
-        } catch (JsonProcessingException e) {
-            String msg = "cant parse request/response - " + request;
+        }
+        return responseClassType.cast(singleFlight.execute(
+                responseClassType.getName() + key,
+                timeout != null ? timeout : client.getDefaultTimeout(),
+                () -> exchange(
+                        request,
+                        responseClassType)));
+    }
+
+    /**
+     * Identical requests get equal keys, because the id is skipped.
+     * Writing of the key is stopped after {@link #MAX_SHARED_REQUEST_LENGTH} chars,
+     * so a big request is not serialized twice.
+     *
+     * @return the key, or null if the request is too big to be shared
+     */
+    private String sharingKey(ScRequest request) throws ScMemoryException {
+        LimitedWriter out = new LimitedWriter(MAX_SHARED_REQUEST_LENGTH);
+        try {
+            JsonCodec.INSTANCE.keyWriter(request.getClass())
+                              .writeValue(
+                                      out,
+                                      request);
+        } catch (LimitExceededException e) {
+            return null;
+        } catch (IOException e) {
+            String msg = "cant serialize request - " + request;
             log.error(
                     msg,
                     e);
             throw new ScMemoryException(
                     msg,
                     e);
+        }
+        return out.toString();
+    }
+
+    private <T1 extends ScRequest, T2> T2 exchange(T1 request, Class<T2> responseClassType) throws ScMemoryException {
+        try {
+            if (request.getRequestId() == 0) {
+                return exchangeWithoutId(
+                        request,
+                        responseClassType);
+            }
+            //            the request is serialized directly into the connection, big requests are sent in fragments
+            return client.sendToOstis(
+                    request.getRequestId(),
+                    request.getRequestType(),
+                    priority,
+                    out -> JsonCodec.INSTANCE.writer(request.getClass())
+                                             .writeValue(
+                                                     out,
+                                                     request),
+                    responseClassType,
+                    timeout != null ? timeout : client.getDefaultTimeout());
+        } catch (OstisTimeoutException e) {
+            throw new ScMemoryTimeoutException(
+                    e.getMessage(),
+                    e);
         } catch (OstisConnectionException e) {
             throw new ScMemoryException(e);
         }
     }
+
+    /**
+     * Requests that do not know their id are serialized first and the id is read from the JSON.
+     */
+    private <T1 extends ScRequest, T2> T2 exchangeWithoutId(T1 request,
+                                                             Class<T2> responseClassType) throws OstisConnectionException {
+        String jsonRequest;
+        long requestId;
+        try {
+            jsonRequest = JsonCodec.INSTANCE.writer(request.getClass())
+                                            .writeValueAsString(request);
+            requestId = JsonCodec.INSTANCE.getMapper()
+                                          .readTree(jsonRequest)
+                                          .path("id")
+                                          .asLong();
+        } catch (JsonProcessingException e) {
+            throw new OstisConnectionException(
+                    "cant serialize request - " + request,
+                    e);
+        }
+        return client.sendToOstis(
+                requestId,
+                jsonRequest,
+                responseClassType,
+                timeout != null ? timeout : client.getDefaultTimeout());
+    }
+
+    /**
+     * Collects written chars, but fails as soon as the limit is exceeded.
+     */
+    private static class LimitedWriter extends Writer {
+        private final StringBuilder text = new StringBuilder();
+        private final int limit;
+
+        private LimitedWriter(int limit) {
+            this.limit = limit;
+        }
+
+        @Override
+        public void write(char[] chars, int offset, int length) throws IOException {
+            if (text.length() + length > limit) {
+                throw new LimitExceededException();
+            }
+            text.append(
+                    chars,
+                    offset,
+                    length);
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public String toString() {
+            return text.toString();
+        }
+    }
+
+    private static class LimitExceededException extends IOException {
+    }
 }
@@ -0,0 +1,121 @@
+package org.ostis.scmemory.websocketmemory.memory.structures;
+
+import org.ostis.scmemory.model.element.ScElement;
+import org.ostis.scmemory.websocketmemory.message.response.AddressTable;
+
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Compact form of big search results: each found element takes one {@code long} address
+ * and one {@code short} type code (10 bytes) instead of a whole {@link ScElement} object.
+ * {@link ScElement} views are created on demand by {@link #get(int, int)} and are not kept,
+ * so only the elements that are really used by the caller occupy the heap.
+ * <p>
+ * Like {@link AddressTable}, elements are stored by rows (found constructions) of the same length.
+ *
+ * @author artrayme
+ * @since 0.8.2
+ */
+public final class CompactScElements {
+    private final AddressTable addresses;
+    private final short[] typeCodes;
+    private final ViewFactory viewFactory;
+
+    /**
+     * @param addresses   addresses of found elements
+     * @param typeCodes   sc-type codes of found elements in the same order as addresses
+     * @param viewFactory creates {@link ScElement} views of elements
+     */
+    public CompactScElements(AddressTable addresses, short[] typeCodes, ViewFactory viewFactory) {
+        if (typeCodes.length != addresses.getRowCount() * addresses.getRowLength()) {
+            throw new IllegalArgumentException("Number of type codes " + typeCodes.length + " is not equal to the number of addresses " + addresses.getRowCount() * addresses.getRowLength());
+        }
+        this.addresses = addresses;
+        this.typeCodes = typeCodes;
+        this.viewFactory = viewFactory;
+    }
+
+    public int getRowCount() {
+        return addresses.getRowCount();
+    }
+
+    public int getRowLength() {
+        return addresses.getRowLength();
+    }
+
+    public boolean isEmpty() {
+        return addresses.isEmpty();
+    }
+
+    public long getAddress(int row, int column) {
+        return addresses.get(
+                row,
+                column);
+    }
+
+    /**
+     * @return sc-type code of the element, see {@link org.ostis.scmemory.websocketmemory.util.api.ScTypesMap}
+     */
+    public int getTypeCode(int row, int column) {
+        return typeCodes[index(
+                row,
+                column)] & 0xFFFF;
+    }
+
+    /**
+     * Creates a new view of the element. Views of the same element are equal, but not the same.
+     *
+     * @return element
+     */
+    public ScElement get(int row, int column) {
+        return viewFactory.create(
+                addresses.get(
+                        row,
+                        column),
+                typeCodes[index(
+                        row,
+                        column)] & 0xFFFF);
+    }
+
+    /**
+     * @param row index of the row
+     * @return views of elements of the row, they are created while the stream is consumed
+     */
+    public Stream<ScElement> getRow(int row) {
+        if (row < 0 || row >= getRowCount()) {
+            throw new IndexOutOfBoundsException("row = " + row + ", rowCount = " + getRowCount());
+        }
+        return IntStream.range(
+                                0,
+                                getRowLength())
+                        .mapToObj(column -> get(
+                                row,
+                                column));
+    }
+
+    /**
+     * @return views of all rows, they are created while the streams are consumed
+     */
+    public Stream<Stream<ScElement>> stream() {
+        return IntStream.range(
+                                0,
+                                getRowCount())
+                        .mapToObj(this::getRow);
+    }
+
+    private int index(int row, int column) {
+        if (row < 0 || row >= getRowCount() || column < 0 || column >= getRowLength()) {
+            throw new IndexOutOfBoundsException("row = " + row + ", column = " + column + ", size = " + getRowCount() + "x" + getRowLength());
+        }
+        return row * getRowLength() + column;
+    }
+
+    /**
+     * Creates an {@link ScElement} by its address and sc-type code.
+     */
+    @FunctionalInterface
+    public interface ViewFactory {
+        ScElement create(long address, int typeCode);
+    }
+}
@@ -2,8 +2,9 @@ package org.ostis.scmemory.websocketmemory.memory.structures;
 
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.JsonProperty;
-
-import java.util.List;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import org.ostis.scmemory.websocketmemory.memory.message.response.deserializer.AddressTableDeserializer;
+import org.ostis.scmemory.websocketmemory.message.response.AddressTable;
 
 /**
  * @author artrayme
@@ -16,13 +17,14 @@ public class PayloadFoundByTemplateStruct {
     private AliasesStruct aliases = new AliasesStruct();
 
     @JsonProperty("addrs")
-    private List<List<Long>> foundAddresses;
+    @JsonDeserialize(using = AddressTableDeserializer.class)
+    private AddressTable foundAddresses = AddressTable.empty();
 
     public AliasesStruct getAliases() {
         return aliases;
     }
 
-    public List<List<Long>> getFoundAddresses() {
+    public AddressTable getFoundAddresses() {
         return foundAddresses;
     }
 
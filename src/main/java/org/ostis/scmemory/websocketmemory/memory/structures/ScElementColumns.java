@@ -0,0 +1,146 @@
+package org.ostis.scmemory.websocketmemory.memory.structures;
+
+import org.ostis.scmemory.model.element.ScElement;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Search result stored by columns: one column per alias of the pattern,
+ * each column is an array of addresses and an array of sc-type codes (one per found construction).
+ * Columns are found by alias names, so the caller does not depend on positions of elements in the pattern.
+ * {@link ScElement} views are created on demand by {@link #get(String, int)}, like in {@link CompactScElements}.
+ *
+ * @author artrayme
+ * @since 0.8.2
+ */
+public final class ScElementColumns {
+    private final List<String> aliases;
+    private final Map<String, Integer> aliasIndexes;
+    private final long[][] addresses;
+    private final short[][] typeCodes;
+    private final int rowCount;
+    private final CompactScElements.ViewFactory viewFactory;
+
+    /**
+     * @param aliases     names of columns
+     * @param addresses   addresses of every column, all columns have the same length
+     * @param typeCodes   sc-type codes of every column in the same order as addresses
+     * @param rowCount    number of found constructions
+     * @param viewFactory creates {@link ScElement} views of elements
+     */
+    public ScElementColumns(List<String> aliases,
+                            long[][] addresses,
+                            short[][] typeCodes,
+                            int rowCount,
+                            CompactScElements.ViewFactory viewFactory) {
+        if (aliases.size() != addresses.length || aliases.size() != typeCodes.length) {
+            throw new IllegalArgumentException("Number of columns is not equal: aliases = " + aliases.size() + ", addresses = " + addresses.length + ", type codes = " + typeCodes.length);
+        }
+        aliasIndexes = new HashMap<>(aliases.size() * 2);
+        for (int i = 0; i < aliases.size(); i++) {
+            if (addresses[i].length != rowCount || typeCodes[i].length != rowCount) {
+                throw new IllegalArgumentException("Column " + aliases.get(i) + " has " + addresses[i].length + " addresses and " + typeCodes[i].length + " type codes, but " + rowCount + " rows are expected");
+            }
+            if (aliasIndexes.put(
+                    aliases.get(i),
+                    i) != null) {
+                throw new IllegalArgumentException("Alias " + aliases.get(i) + " is used by more than one column");
+            }
+        }
+        this.aliases = List.copyOf(aliases);
+        this.addresses = addresses;
+        this.typeCodes = typeCodes;
+        this.rowCount = rowCount;
+        this.viewFactory = viewFactory;
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public boolean isEmpty() {
+        return rowCount == 0;
+    }
+
+    /**
+     * @return names of columns in the order of the pattern
+     */
+    public List<String> getAliases() {
+        return aliases;
+    }
+
+    public boolean hasAlias(String alias) {
+        return aliasIndexes.containsKey(alias);
+    }
+
+    /**
+     * @return copy of addresses of the column
+     */
+    public long[] getAddresses(String alias) {
+        return addresses[column(alias)].clone();
+    }
+
+    /**
+     * @return sc-type codes of the column, see {@link org.ostis.scmemory.websocketmemory.util.api.ScTypesMap}
+     */
+    public int[] getTypeCodes(String alias) {
+        short[] codes = typeCodes[column(alias)];
+        int[] result = new int[codes.length];
+        for (int i = 0; i < codes.length; i++) {
+            result[i] = codes[i] & 0xFFFF;
+        }
+        return result;
+    }
+
+    public long getAddress(String alias, int row) {
+        return addresses[column(alias)][checkRow(row)];
+    }
+
+    public int getTypeCode(String alias, int row) {
+        return typeCodes[column(alias)][checkRow(row)] & 0xFFFF;
+    }
+
+    /**
+     * Creates a new view of the element. Views of the same element are equal, but not the same.
+     *
+     * @return element
+     */
+    public ScElement get(String alias, int row) {
+        int column = column(alias);
+        checkRow(row);
+        return viewFactory.create(
+                addresses[column][row],
+                typeCodes[column][row] & 0xFFFF);
+    }
+
+    private int column(String alias) {
+        Integer column = aliasIndexes.get(alias);
+        if (column == null) {
+            throw new IllegalArgumentException("There is no column " + alias + ", columns are " + aliases);
+        }
+        return column;
+    }
+
+    private int checkRow(int row) {
+        if (row < 0 || row >= rowCount) {
+            throw new IndexOutOfBoundsException("row = " + row + ", rowCount = " + rowCount);
+        }
+        return row;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder("ScElementColumns{rows=").append(rowCount);
+        for (int i = 0; i < aliases.size(); i++) {
+            result.append(", ")
+                  .append(aliases.get(i))
+                  .append('=')
+                  .append(Arrays.toString(addresses[i]));
+        }
+        return result.append('}')
+                     .toString();
+    }
+}
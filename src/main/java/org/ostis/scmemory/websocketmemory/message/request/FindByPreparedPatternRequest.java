@@ -0,0 +1,15 @@
+package org.ostis.scmemory.websocketmemory.message.request;
+
+/**
+ * Search request with the payload rendered beforehand,
+ * see {@link org.ostis.scmemory.websocketmemory.memory.pattern.PreparedScPattern}.
+ *
+ * @author artrayme
+ * @since 0.8.2
+ */
+public interface FindByPreparedPatternRequest extends ScRequest {
+    /**
+     * @return JSON array of triplets, it is sent as is
+     */
+    String getPayload();
+}
@@ -0,0 +1,22 @@
+package org.ostis.scmemory.websocketmemory.message.request;
+
+/**
+ * Priority of a {@link ScRequest} in the local queue of the client.
+ * It orders requests that are not sent yet: a message being written holds its connection,
+ * so bulk requests are sent through a separate connection by default
+ * (see {@code SyncOstisScMemory#setSeparateBulkConnection(boolean)}).
+ *
+ * @author artrayme
+ * @since 0.8.2
+ */
+public enum RequestPriority {
+    /**
+     * Short requests a user waits for. They are sent ahead of queued bulk requests.
+     */
+    INTERACTIVE,
+    /**
+     * Big requests of background work (e.g. import). They use only a part of the in-flight limit
+     * and wait while there are queued interactive requests.
+     */
+    BULK
+}
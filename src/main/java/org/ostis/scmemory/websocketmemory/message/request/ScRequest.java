@@ -17,4 +17,30 @@ package org.ostis.scmemory.websocketmemory.message.request;
  * @since 0.0.1
  */
 public interface ScRequest {
+
+    /**
+     * @return id of the request, the response has the same id.
+     * By default, 0 - the id is not known, so it is read from the serialized request
+     * @since 0.8.2
+     */
+    default long getRequestId() {
+        return 0;
+    }
+
+    /**
+     * @return type of the request, by default null - the type is not known
+     * @since 0.8.2
+     */
+    default RequestType getRequestType() {
+        return null;
+    }
+
+    /**
+     * @return whether the request does not change the base,
+     * so identical requests in flight can share one response. By default, false
+     * @since 0.8.2
+     */
+    default boolean isReadOnly() {
+        return false;
+    }
 }
@@ -0,0 +1,96 @@
+package org.ostis.scmemory.websocketmemory.message.response;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Addresses of found constructions stored in one flat array without boxing.
+ * All rows have the same length (the number of elements of the pattern),
+ * so the address of a row element is {@code addresses[row * rowLength + column]}.
+ *
+ * @author artrayme
+ * @since 0.8.2
+ */
+public final class AddressTable {
+    private static final AddressTable EMPTY = new AddressTable(
+            new long[0],
+            0,
+            0);
+
+    private final long[] addresses;
+    private final int rowCount;
+    private final int rowLength;
+
+    /**
+     * @param addresses addresses of all rows one by one, the array may be longer than {@code rowCount * rowLength}
+     * @param rowCount  number of rows
+     * @param rowLength number of addresses in each row
+     */
+    public AddressTable(long[] addresses, int rowCount, int rowLength) {
+        if (rowCount < 0 || rowLength < 0 || (long) rowCount * rowLength > addresses.length) {
+            throw new IllegalArgumentException("Incorrect address table: array length = " + addresses.length + ", rowCount = " + rowCount + ", rowLength = " + rowLength);
+        }
+        this.addresses = addresses;
+        this.rowCount = rowCount;
+        this.rowLength = rowLength;
+    }
+
+    public static AddressTable empty() {
+        return EMPTY;
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public int getRowLength() {
+        return rowLength;
+    }
+
+    public boolean isEmpty() {
+        return rowCount == 0;
+    }
+
+    /**
+     * @param row    index of the row
+     * @param column index of the element in the row
+     * @return address of the element
+     */
+    public long get(int row, int column) {
+        if (row < 0 || row >= rowCount || column < 0 || column >= rowLength) {
+            throw new IndexOutOfBoundsException("row = " + row + ", column = " + column + ", size = " + rowCount + "x" + rowLength);
+        }
+        return addresses[row * rowLength + column];
+    }
+
+    /**
+     * @param row index of the row
+     * @return copy of the row
+     */
+    public long[] getRow(int row) {
+        if (row < 0 || row >= rowCount) {
+            throw new IndexOutOfBoundsException("row = " + row + ", rowCount = " + rowCount);
+        }
+        return Arrays.copyOfRange(
+                addresses,
+                row * rowLength,
+                (row + 1) * rowLength);
+    }
+
+    /**
+     * Boxed view of the table, for callers that need streams.
+     *
+     * @return rows of addresses
+     */
+    public Stream<Stream<Long>> stream() {
+        return IntStream.range(
+                                0,
+                                rowCount)
+                        .mapToObj(row -> Arrays.stream(
+                                                       addresses,
+                                                       row * rowLength,
+                                                       (row + 1) * rowLength)
+                                               .boxed());
+    }
+}
@@ -1,7 +1,21 @@
 package org.ostis.scmemory.websocketmemory.message.response;
 
+import org.ostis.scmemory.websocketmemory.util.api.ScTypesMap;
+
 import java.util.stream.Stream;
 
 public interface CheckScElTypeResponse extends ScResponse {
     Stream<Object> getTypes();
+
+    /**
+     * Raw sc-type codes, without boxing. The array may be shared with the response and must not be modified.
+     * By default, the codes are taken from {@link #getTypes()}.
+     *
+     * @return type codes of checked elements, -1 for unknown types
+     * @since 0.8.2
+     */
+    default int[] getTypeCodes() {
+        return getTypes().mapToInt(ScTypesMap.INSTANCE::getCode)
+                         .toArray();
+    }
 }
@@ -17,4 +17,16 @@ public interface CreateScElResponse extends ScResponse {
      * @return address
      */
     Stream<Long> getAddresses();
+
+    /**
+     * Same addresses as {@link #getAddresses()}, but without boxing.
+     * The array may be shared with the response and must not be modified.
+     *
+     * @return addresses
+     * @since 0.8.2
+     */
+    default long[] getAddressArray() {
+        return getAddresses().mapToLong(Long::longValue)
+                             .toArray();
+    }
 }
@@ -5,4 +5,18 @@ import java.util.stream.Stream;
 
 public interface FindByNameResponce extends ScResponse{
    Stream<List<Long>> getFoundAddresses();
+
+   /**
+    * Same addresses as {@link #getFoundAddresses()}, but without boxing, one array per name.
+    * The arrays may be shared with the response and must not be modified.
+    *
+    * @return addresses of found elements
+    * @since 0.8.2
+    */
+   default long[][] getFoundAddressArrays() {
+       return getFoundAddresses().map(addresses -> addresses.stream()
+                                                            .mapToLong(Long::longValue)
+                                                            .toArray())
+                                 .toArray(long[][]::new);
+   }
 }
@@ -1,5 +1,6 @@
 package org.ostis.scmemory.websocketmemory.message.response;
 
+import java.util.List;
 import java.util.stream.Stream;
 
 /**
@@ -13,4 +14,38 @@ public interface FindByPatternResponse extends ScResponse {
      * @return addresses of search results
      */
     Stream<Stream<Long>> getFoundAddresses();
+
+    /**
+     * Same addresses as {@link #getFoundAddresses()}, but without boxing:
+     * one row per found construction, one column per pattern element.
+     * By default, the table is built from {@link #getFoundAddresses()}.
+     *
+     * @return addresses of search results
+     * @since 0.8.2
+     */
+    default AddressTable getFoundAddressTable() {
+        List<long[]> rows = getFoundAddresses().map(row -> row.mapToLong(Long::longValue)
+                                                              .toArray())
+                                               .toList();
+        if (rows.isEmpty()) {
+            return AddressTable.empty();
+        }
+        int rowLength = rows.get(0).length;
+        long[] addresses = new long[rows.size() * rowLength];
+        for (int row = 0; row < rows.size(); row++) {
+            if (rows.get(row).length != rowLength) {
+                throw new IllegalStateException("Found constructions have different lengths: " + rowLength + " and " + rows.get(row).length);
+            }
+            System.arraycopy(
+                    rows.get(row),
+                    0,
+                    addresses,
+                    row * rowLength,
+                    rowLength);
+        }
+        return new AddressTable(
+                addresses,
+                rows.size(),
+                rowLength);
+    }
 }
@@ -8,4 +8,16 @@ import java.util.stream.Stream;
  */
 public interface KeynodeResponse extends ScResponse {
     Stream<Long> getFindAddresses();
+
+    /**
+     * Same addresses as {@link #getFindAddresses()}, but without boxing.
+     * The array may be shared with the response and must not be modified.
+     *
+     * @return addresses of keynodes, 0 if a keynode is not found
+     * @since 0.8.2
+     */
+    default long[] getFindAddressArray() {
+        return getFindAddresses().mapToLong(address -> address == null ? 0 : address)
+                                 .toArray();
+    }
 }
@@ -10,6 +10,7 @@ import org.ostis.scmemory.websocketmemory.message.request.FindStringBySubstringR
 import org.ostis.scmemory.websocketmemory.message.request.GenerateByPatternRequest;
 import org.ostis.scmemory.websocketmemory.message.request.GetLinkContentRequest;
 import org.ostis.scmemory.websocketmemory.message.request.KeynodeRequest;
+import org.ostis.scmemory.websocketmemory.message.request.RequestPriority;
 import org.ostis.scmemory.websocketmemory.message.request.ScRequest;
 import org.ostis.scmemory.websocketmemory.message.request.SetLinkContentRequest;
 import org.ostis.scmemory.websocketmemory.message.request.EventRequest;
@@ -27,6 +28,7 @@ import org.ostis.scmemory.websocketmemory.message.response.SetLinkContentRespons
 import org.ostis.scmemory.websocketmemory.message.response.EventResponse;
 
 import java.net.URI;
+import java.time.Duration;
 
 /**
  * An interface that provides methods for sending various kinds of
@@ -40,6 +42,27 @@ public interface RequestSender {
 
     URI getAddress();
 
+    /**
+     * Method for getting a sender with another deadline.
+     * Requests sent through it fail with {@link org.ostis.scmemory.model.exception.ScMemoryTimeoutException}
+     * if the base does not answer in time.
+     *
+     * @param timeout max time to wait for each response
+     * @return sender that uses the same connection
+     * @since 0.8.2
+     */
+    RequestSender withTimeout(Duration timeout);
+
+    /**
+     * Method for getting a sender with another priority.
+     * Interactive requests are sent ahead of queued bulk requests of the same connection.
+     *
+     * @param priority priority of requests ({@link RequestPriority#INTERACTIVE} by default)
+     * @return sender that uses the same connection
+     * @since 0.8.2
+     */
+    RequestSender withPriority(RequestPriority priority);
+
     /**
      * Method for sending the create request
      *
@@ -14,10 +14,12 @@ import org.ostis.scmemory.websocketmemory.memory.pattern.element.TypePatternElem
 import org.ostis.scmemory.websocketmemory.memory.sender.RequestSenderImpl;
 import org.ostis.scmemory.websocketmemory.message.request.FindByPatternRequest;
 import org.ostis.scmemory.websocketmemory.message.request.GetLinkContentRequest;
+import org.ostis.scmemory.websocketmemory.message.response.AddressTable;
 import org.ostis.scmemory.websocketmemory.message.response.FindByPatternResponse;
 import org.ostis.scmemory.websocketmemory.message.response.GetLinkContentResponse;
 import org.ostis.scmemory.websocketmemory.sender.RequestSender;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Stream;
 
@@ -63,10 +65,14 @@ public class IdtfUtils {
 
         FindByPatternResponse response = sender.sendFindByPatternRequest(request);
         GetLinkContentRequest getLinkContentRequest = new GetLinkContentRequestImpl();
-        getLinkContentRequest.addToRequest(response.getFoundAddresses()
-                                                   .map(e -> e.toList()
-                                                              .get(2))
-                                                   .toList());
+        AddressTable found = response.getFoundAddressTable();
+        List<Long> links = new ArrayList<>(found.getRowCount());
+        for (int row = 0; row < found.getRowCount(); row++) {
+            links.add(found.get(
+                    row,
+                    2));
+        }
+        getLinkContentRequest.addToRequest(links);
         GetLinkContentResponse getLinkContentResponse = sender.sendGetLinkContentRequest(getLinkContentRequest);
         client.close();
 
@@ -4,7 +4,6 @@ import org.ostis.scmemory.model.element.edge.EdgeType;
 import org.ostis.scmemory.model.element.link.LinkType;
 import org.ostis.scmemory.model.element.node.NodeType;
 
-import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
@@ -17,30 +16,71 @@ public enum ScTypesMap {
     INSTANCE;
 
     private final Map<Integer, Object> types = new HashMap<>();
+    //    codes are small (less than 2^14), so a dense array indexed by code is faster than the hash map and does not box
+    private final Object[] typesByCode;
 
     ScTypesMap() {
-        Arrays.stream(NodeType.values())
-              .forEach(e -> {
-                  types.put(
-                          e.getCode(),
-                          e);
-              });
-        Arrays.stream(EdgeType.values())
-              .forEach(e -> {
-                  types.put(
-                          e.getCode(),
-                          e);
-              });
-        Arrays.stream(LinkType.values())
-              .forEach(e -> {
-                  types.put(
-                          e.getCode(),
-                          e);
-              });
+        int maxCode = 0;
+        for (NodeType e : NodeType.values()) {
+            types.put(
+                    e.getCode(),
+                    e);
+            maxCode = Math.max(
+                    maxCode,
+                    e.getCode());
+        }
+        for (EdgeType e : EdgeType.values()) {
+            types.put(
+                    e.getCode(),
+                    e);
+            maxCode = Math.max(
+                    maxCode,
+                    e.getCode());
+        }
+        for (LinkType e : LinkType.values()) {
+            types.put(
+                    e.getCode(),
+                    e);
+            maxCode = Math.max(
+                    maxCode,
+                    e.getCode());
+        }
+        typesByCode = new Object[maxCode + 1];
+        types.forEach((code, type) -> typesByCode[code] = type);
     }
 
+    /**
+     * @param code sc-type code
+     * @return {@link NodeType}, {@link EdgeType} or {@link LinkType} with the code, or null for an unknown code
+     */
+    public Object getType(int code) {
+        return code >= 0 && code < typesByCode.length ? typesByCode[code] : null;
+    }
+
+    /**
+     * @param code sc-type code
+     * @return the same as {@link #getType(int)}, or null if the code is null
+     * @deprecated use {@link #getType(int)}, it does not box the code
+     */
+    @Deprecated
     public Object getType(Integer code) {
-        return types.get(code);
+        return code == null ? null : getType(code.intValue());
+    }
+
+    /**
+     * @param type {@link NodeType}, {@link EdgeType} or {@link LinkType}
+     * @return code of the type, or -1 for other objects (e.g. {@link org.ostis.scmemory.model.element.UnknownScElement})
+     * @since 0.8.2
+     */
+    public int getCode(Object type) {
+        if (type instanceof NodeType nodeType) {
+            return nodeType.getCode();
+        } else if (type instanceof EdgeType edgeType) {
+            return edgeType.getCode();
+        } else if (type instanceof LinkType linkType) {
+            return linkType.getCode();
+        }
+        return -1;
     }
 
     public Map<Integer, Object> getTypes() {
@@ -0,0 +1,92 @@
+package org.ostis.scmemory.websocketmemory.util.internal;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.ostis.scmemory.websocketmemory.memory.message.request.AbstractScRequest;
+
+/**
+ * Jackson configuration shared by all clients and request senders.
+ * An {@link ObjectMapper} is expensive to create and keeps serializers in its own caches,
+ * so short-lived clients (e.g. the ones of {@link org.ostis.scmemory.websocketmemory.util.api.IdtfUtils})
+ * reuse one mapper that is already warmed up.
+ * Readers and writers are created once per class, with the root (de)serializer already resolved.
+ * <p>
+ * The mapper must not be reconfigured after the creation.
+ *
+ * @author artrayme
+ * @since 0.8.2
+ */
+public enum JsonCodec {
+    INSTANCE;
+
+    private final ObjectMapper mapper;
+    //    writes requests without id, identical requests get equal keys
+    private final ObjectMapper keyMapper;
+    private final ClassValue<ObjectReader> readers = new ClassValue<>() {
+        @Override
+        protected ObjectReader computeValue(Class<?> type) {
+            return mapper.readerFor(type);
+        }
+    };
+    private final ClassValue<ObjectWriter> writers = new ClassValue<>() {
+        @Override
+        protected ObjectWriter computeValue(Class<?> type) {
+            return mapper.writerFor(type);
+        }
+    };
+    private final ClassValue<ObjectWriter> keyWriters = new ClassValue<>() {
+        @Override
+        protected ObjectWriter computeValue(Class<?> type) {
+            return keyMapper.writerFor(type);
+        }
+    };
+
+    JsonCodec() {
+        mapper = new ObjectMapper();
+        mapper.configure(
+                DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES,
+                false);
+        keyMapper = mapper.copy()
+                          .addMixIn(
+                                  AbstractScRequest.class,
+                                  WithoutId.class);
+    }
+
+    /**
+     * @return the shared mapper, it must not be reconfigured
+     */
+    public ObjectMapper getMapper() {
+        return mapper;
+    }
+
+    /**
+     * @param type type of the read values
+     * @return cached reader of the type
+     */
+    public ObjectReader reader(Class<?> type) {
+        return readers.get(type);
+    }
+
+    /**
+     * @param type type of the written values
+     * @return cached writer of the type
+     */
+    public ObjectWriter writer(Class<?> type) {
+        return writers.get(type);
+    }
+
+    /**
+     * @param type type of the written requests
+     * @return cached writer of the type that skips the request id
+     */
+    public ObjectWriter keyWriter(Class<?> type) {
+        return keyWriters.get(type);
+    }
+
+    @JsonIgnoreProperties("id")
+    private abstract static class WithoutId {
+    }
+}
@@ -0,0 +1,170 @@
+package benchmark;
+
+import org.ostis.scmemory.websocketmemory.memory.core.DeflateCodec;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+import java.util.zip.Deflater;
+
+/**
+ * Measures bandwidth saved by permessage-deflate against CPU spent on compression
+ * for typical messages: a big create_elements request, a search_template response and a link content response.
+ * Not a unit test, run it manually: the output is a table of compression ratio and time per message for each level.
+ */
+public class DeflateBenchmark {
+    private static final int WARMUP_ITERATIONS = 2_000;
+    private static final int ITERATIONS = 5_000;
+    //    messages differ from each other, otherwise context takeover would make them almost free
+    private static final int VARIANTS = 64;
+
+    public static void main(String[] args) {
+        List<Payload> payloads = List.of(
+                Payload.of(
+                        "create_elements, 1000 nodes",
+                        seed -> createElementsRequest(
+                                seed,
+                                1000)),
+                Payload.of(
+                        "search_template, 1000 rows",
+                        seed -> searchTemplateResponse(
+                                seed,
+                                1000)),
+                Payload.of(
+                        "content, 100 links",
+                        seed -> contentResponse(
+                                seed,
+                                100)),
+                Payload.of(
+                        "create_elements, 1 node",
+                        seed -> createElementsRequest(
+                                seed,
+                                1)));
+        System.out.printf(
+                "%-30s %5s %10s %10s %8s %12s %12s%n",
+                "payload",
+                "level",
+                "raw, B",
+                "sent, B",
+                "saved",
+                "deflate, us",
+                "inflate, us");
+        for (Payload payload : payloads) {
+            for (int level : new int[]{Deflater.BEST_SPEED, 6, Deflater.BEST_COMPRESSION}) {
+                measure(
+                        payload,
+                        level);
+            }
+        }
+    }
+
+    private static void measure(Payload payload, int level) {
+        DeflateCodec sender = new DeflateCodec(
+                level,
+                true,
+                true);
+        DeflateCodec receiver = new DeflateCodec(
+                level,
+                true,
+                true);
+        long rawBytes = 0;
+        long compressedBytes = 0;
+        long deflateNanos = 0;
+        long inflateNanos = 0;
+        for (int i = 0; i < WARMUP_ITERATIONS + ITERATIONS; i++) {
+            byte[] data = payload.variants()[i % VARIANTS];
+            long start = System.nanoTime();
+            byte[] compressed = sender.compress(data);
+            long middle = System.nanoTime();
+            try {
+                receiver.decompress(
+                        compressed,
+                        true);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+            long end = System.nanoTime();
+            if (i >= WARMUP_ITERATIONS) {
+                rawBytes += data.length;
+                compressedBytes += compressed.length;
+                deflateNanos += middle - start;
+                inflateNanos += end - middle;
+            }
+        }
+        sender.close();
+        receiver.close();
+        double raw = (double) rawBytes / ITERATIONS;
+        double sent = (double) compressedBytes / ITERATIONS;
+        System.out.printf(
+                "%-30s %5d %10.0f %10.0f %7.1f%% %12.1f %12.1f%n",
+                payload.name(),
+                level,
+                raw,
+                sent,
+                100 * (1 - sent / raw),
+                deflateNanos / 1000.0 / ITERATIONS,
+                inflateNanos / 1000.0 / ITERATIONS);
+    }
+
+    private static byte[] createElementsRequest(int seed, int count) {
+        StringBuilder json = new StringBuilder("{\"id\":" + seed + ",\"type\":\"create_elements\",\"payload\":[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"el\":\"node\",\"type\":")
+                .append(1 << ((i * 7 + seed * 13 + i / 3) % 8))
+                .append('}');
+        }
+        return bytes(json.append("]}"));
+    }
+
+    private static byte[] searchTemplateResponse(int seed, int rows) {
+        StringBuilder json = new StringBuilder("{\"id\":" + seed + ",\"event\":0,\"status\":1,\"payload\":{\"aliases\":{\"1\":0,\"2\":1,\"3\":2},\"addrs\":[");
+        long address = 4_194_304L + 100_003L * seed;
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append('[')
+                .append(address)
+                .append(',')
+                .append(address + (i * 7919L + seed) % 65_521)
+                .append(',')
+                .append(address + (i * 104_729L + seed * 31L) % 1_000_003)
+                .append(']');
+        }
+        return bytes(json.append("]}}"));
+    }
+
+    private static byte[] contentResponse(int seed, int links) {
+        StringBuilder json = new StringBuilder("{\"id\":" + seed + ",\"event\":0,\"status\":1,\"payload\":[");
+        for (int i = 0; i < links; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"value\":\"semantic network node number ")
+                .append(seed * links + i)
+                .append(" with a human readable identifier\",\"type\":\"string\"}");
+        }
+        return bytes(json.append("]}"));
+    }
+
+    private static byte[] bytes(StringBuilder json) {
+        return json.toString()
+                   .getBytes(StandardCharsets.UTF_8);
+    }
+
+    private record Payload(String name, byte[][] variants) {
+        static Payload of(String name, IntFunction<byte[]> generator) {
+            return new Payload(
+                    name,
+                    IntStream.range(
+                                     0,
+                                     VARIANTS)
+                             .mapToObj(generator)
+                             .toArray(byte[][]::new));
+        }
+    }
+}
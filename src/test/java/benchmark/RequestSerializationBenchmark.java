@@ -0,0 +1,144 @@
+package benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.introspect.Annotated;
+import com.fasterxml.jackson.databind.introspect.JacksonAnnotationIntrospector;
+import org.ostis.scmemory.model.element.edge.EdgeType;
+import org.ostis.scmemory.model.element.node.NodeType;
+import org.ostis.scmemory.websocketmemory.memory.element.ScEdgeImpl;
+import org.ostis.scmemory.websocketmemory.memory.element.ScNodeImpl;
+import org.ostis.scmemory.websocketmemory.memory.message.request.CreateScElRequestImpl;
+import org.ostis.scmemory.websocketmemory.memory.message.request.FindByPatternRequestImpl;
+import org.ostis.scmemory.websocketmemory.memory.pattern.SearchingPatternTriple;
+import org.ostis.scmemory.websocketmemory.memory.pattern.element.AliasPatternElement;
+import org.ostis.scmemory.websocketmemory.memory.pattern.element.FixedPatternElement;
+import org.ostis.scmemory.websocketmemory.memory.pattern.element.TypePatternElement;
+import org.ostis.scmemory.websocketmemory.message.request.ScRequest;
+
+import java.io.Writer;
+
+/**
+ * Compares the hand-written serializers of create and search requests with reflective bean serialization
+ * (the same mapper, but {@code @JsonSerialize} annotations are ignored).
+ * Not a unit test, run it manually: the output is time per request for each way.
+ */
+public class RequestSerializationBenchmark {
+    private static final int WARMUP_ITERATIONS = 5_000;
+    private static final int ROUNDS = 10;
+    private static final int ITERATIONS = 500;
+
+    public static void main(String[] args) throws Exception {
+        ObjectWriter handWritten = new ObjectMapper().writer();
+        ObjectWriter reflective = new ObjectMapper().setAnnotationIntrospector(new JacksonAnnotationIntrospector() {
+                                                        @Override
+                                                        public Object findSerializer(Annotated a) {
+                                                            return null;
+                                                        }
+                                                    })
+                                                    .writer();
+        ScRequest create = createRequest(1000);
+        ScRequest search = searchRequest(1000);
+        if (!handWritten.writeValueAsString(create)
+                        .equals(reflective.writeValueAsString(create)) || !handWritten.writeValueAsString(search)
+                                                                                    .equals(reflective.writeValueAsString(search))) {
+            throw new IllegalStateException("serializers write different json");
+        }
+
+        System.out.printf(
+                "%-40s %14s %14s%n",
+                "request",
+                "reflective, us",
+                "written, us");
+        measure(
+                "create_elements, 500 nodes + 500 edges",
+                create,
+                reflective,
+                handWritten);
+        measure(
+                "search_template, 1000 triples",
+                search,
+                reflective,
+                handWritten);
+    }
+
+    private static void measure(String name, ScRequest request, ObjectWriter reflective, ObjectWriter handWritten) throws Exception {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            reflective.writeValue(
+                    Writer.nullWriter(),
+                    request);
+            handWritten.writeValue(
+                    Writer.nullWriter(),
+                    request);
+        }
+        //        rounds are interleaved and the best one is taken, so both ways suffer the same machine noise
+        double bestReflective = Double.MAX_VALUE;
+        double bestHandWritten = Double.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            bestReflective = Math.min(
+                    bestReflective,
+                    time(
+                            request,
+                            reflective));
+            bestHandWritten = Math.min(
+                    bestHandWritten,
+                    time(
+                            request,
+                            handWritten));
+        }
+        System.out.printf(
+                "%-40s %14.1f %14.1f%n",
+                name,
+                bestReflective,
+                bestHandWritten);
+    }
+
+    private static double time(ScRequest request, ObjectWriter writer) throws Exception {
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            writer.writeValue(
+                    Writer.nullWriter(),
+                    request);
+        }
+        return (System.nanoTime() - start) / 1000.0 / ITERATIONS;
+    }
+
+    private static ScRequest createRequest(int count) {
+        CreateScElRequestImpl request = new CreateScElRequestImpl();
+        ScNodeImpl previous = new ScNodeImpl(
+                NodeType.CONST,
+                1L);
+        for (int i = 0; i < count; i++) {
+            if (i % 2 == 0) {
+                previous = new ScNodeImpl(
+                        NodeType.CONST_CLASS,
+                        (long) i + 2);
+                request.addElementToRequest(previous);
+            } else {
+                request.addElementToRequest(new ScEdgeImpl(
+                        EdgeType.ACCESS_CONST_POS_PERM,
+                        previous,
+                        previous));
+            }
+        }
+        return request;
+    }
+
+    private static ScRequest searchRequest(int triples) {
+        FindByPatternRequestImpl request = new FindByPatternRequestImpl();
+        ScNodeImpl fixed = new ScNodeImpl(
+                NodeType.CONST,
+                4_194_304L);
+        for (int i = 0; i < triples; i++) {
+            request.addComponent(new SearchingPatternTriple(
+                    i == 0 ? new FixedPatternElement(fixed) : new AliasPatternElement("target_" + (i - 1)),
+                    new TypePatternElement<>(
+                            EdgeType.ACCESS_VAR_POS_PERM,
+                            new AliasPatternElement("edge_" + i)),
+                    new TypePatternElement<>(
+                            NodeType.VAR,
+                            new AliasPatternElement("target_" + i))));
+        }
+        return request;
+    }
+}
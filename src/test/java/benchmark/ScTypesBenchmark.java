@@ -0,0 +1,93 @@
+package benchmark;
+
+import org.ostis.scmemory.model.element.edge.EdgeType;
+import org.ostis.scmemory.model.element.link.LinkType;
+import org.ostis.scmemory.model.element.node.NodeType;
+import org.ostis.scmemory.websocketmemory.util.api.ScTypesMap;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Compares decoding of sc-type codes by the boxed hash map with the dense array,
+ * and search of the constant edge type by scanning all edge types with the precomputed mapping.
+ * Not a unit test, run it manually: the output is time per operation for each way.
+ */
+public class ScTypesBenchmark {
+    private static final int WARMUP_ROUNDS = 20;
+    private static final int ROUNDS = 50;
+    private static final int OPERATIONS = 1_000_000;
+
+    public static void main(String[] args) {
+        int[] codes = Stream.of(
+                                    Arrays.stream(NodeType.values())
+                                          .mapToInt(NodeType::getCode),
+                                    Arrays.stream(EdgeType.values())
+                                          .mapToInt(EdgeType::getCode),
+                                    Arrays.stream(LinkType.values())
+                                          .mapToInt(LinkType::getCode))
+                            .flatMapToInt(e -> e)
+                            .toArray();
+        EdgeType[] varTypes = Arrays.stream(EdgeType.values())
+                                    .filter(e -> e.toConst() != null)
+                                    .toArray(EdgeType[]::new);
+        Map<Integer, Object> boxedTypes = ScTypesMap.INSTANCE.getTypes();
+
+        System.out.printf(
+                "%-40s %12s%n",
+                "operation",
+                "time, ns/op");
+        measure(
+                "type by code, HashMap<Integer, Object>",
+                i -> boxedTypes.get(codes[i % codes.length])
+                               .hashCode());
+        measure(
+                "type by code, array",
+                i -> ScTypesMap.INSTANCE.getType(codes[i % codes.length])
+                                        .hashCode());
+        measure(
+                "const edge type, EnumSet scan",
+                i -> {
+                    EdgeType type = varTypes[i % varTypes.length];
+                    return EnumSet.allOf(EdgeType.class)
+                                  .stream()
+                                  .filter(edgeType -> edgeType.getCode() == type.getCode() - 32)
+                                  .findFirst()
+                                  .orElseThrow()
+                                  .ordinal();
+                });
+        measure(
+                "const edge type, precomputed",
+                i -> varTypes[i % varTypes.length].toConst()
+                                                  .ordinal());
+    }
+
+    private static void measure(String name, IntUnaryOperator operation) {
+        long nanos = 0;
+        long sink = 0;
+        for (int round = 0; round < WARMUP_ROUNDS + ROUNDS; round++) {
+            long start = System.nanoTime();
+            sink += IntStream.range(
+                                     0,
+                                     OPERATIONS)
+                             .map(operation)
+                             .sum();
+            long end = System.nanoTime();
+            if (round >= WARMUP_ROUNDS) {
+                nanos += end - start;
+            }
+        }
+        System.out.printf(
+                "%-40s %12.2f%n",
+                name,
+                (double) nanos / ROUNDS / OPERATIONS);
+        //        the result is used, so the JIT cannot drop the operation
+        if (sink == 42) {
+            System.out.println();
+        }
+    }
+}
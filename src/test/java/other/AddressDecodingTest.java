@@ -0,0 +1,171 @@
+package other;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.ostis.scmemory.websocketmemory.memory.message.response.CreateScElResponseImpl;
+import org.ostis.scmemory.websocketmemory.memory.message.response.FindByNameResponseImpl;
+import org.ostis.scmemory.websocketmemory.memory.message.response.FindByPatternResponseImpl;
+import org.ostis.scmemory.websocketmemory.message.response.AddressTable;
+import org.ostis.scmemory.websocketmemory.message.response.FindByPatternResponse;
+import org.ostis.scmemory.websocketmemory.message.response.KeynodeResponse;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AddressDecodingTest {
+    private final ObjectMapper mapper = new ObjectMapper().configure(
+            DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES,
+            false);
+
+    @Test
+    void defaultArraysAreBuiltFromStreams() {
+        FindByPatternResponse patternResponse = new FindByPatternResponse() {
+            @Override
+            public Stream<Stream<Long>> getFoundAddresses() {
+                return Stream.of(
+                        Stream.of(
+                                1L,
+                                2L,
+                                3L),
+                        Stream.of(
+                                4L,
+                                5L,
+                                6L));
+            }
+
+            @Override
+            public long getResponseId() {
+                return 1;
+            }
+
+            @Override
+            public boolean getResponseStatus() {
+                return true;
+            }
+
+            @Override
+            public boolean getEvent() {
+                return false;
+            }
+        };
+        KeynodeResponse keynodeResponse = new KeynodeResponse() {
+            @Override
+            public Stream<Long> getFindAddresses() {
+                return Stream.of(
+                        7L,
+                        0L);
+            }
+
+            @Override
+            public long getResponseId() {
+                return 2;
+            }
+
+            @Override
+            public boolean getResponseStatus() {
+                return true;
+            }
+
+            @Override
+            public boolean getEvent() {
+                return false;
+            }
+        };
+
+        AddressTable table = patternResponse.getFoundAddressTable();
+        assertEquals(
+                2,
+                table.getRowCount());
+        assertEquals(
+                5L,
+                table.get(
+                        1,
+                        1));
+        assertArrayEquals(
+                new long[]{7, 0},
+                keynodeResponse.getFindAddressArray());
+    }
+
+    @Test
+    void templateRowsAreDecodedIntoFlatTable() throws Exception {
+        FindByPatternResponseImpl response = mapper.readValue(
+                "{\"event\":0,\"id\":1,\"payload\":{\"addrs\":[[1,2,3],[4,5,6]],\"aliases\":{}},\"status\":1}",
+                FindByPatternResponseImpl.class);
+
+        AddressTable table = response.getFoundAddressTable();
+        assertEquals(
+                2,
+                table.getRowCount());
+        assertEquals(
+                3,
+                table.getRowLength());
+        assertEquals(
+                6L,
+                table.get(
+                        1,
+                        2));
+        assertArrayEquals(
+                new long[]{4, 5, 6},
+                table.getRow(1));
+        assertEquals(
+                List.of(
+                        List.of(1L, 2L, 3L),
+                        List.of(4L, 5L, 6L)),
+                response.getFoundAddresses()
+                        .map(Stream::toList)
+                        .toList());
+    }
+
+    @Test
+    void emptyTemplateResultIsEmptyTable() throws Exception {
+        FindByPatternResponseImpl response = mapper.readValue(
+                "{\"event\":0,\"id\":1,\"payload\":{\"addrs\":[],\"aliases\":{}},\"status\":1}",
+                FindByPatternResponseImpl.class);
+
+        assertTrue(response.getFoundAddressTable()
+                           .isEmpty());
+        assertEquals(
+                0L,
+                response.getFoundAddresses()
+                        .count());
+    }
+
+    @Test
+    void rowsOfDifferentLengthAreRejected() {
+        assertThrows(
+                Exception.class,
+                () -> mapper.readValue(
+                        "{\"event\":0,\"id\":1,\"payload\":{\"addrs\":[[1,2,3],[4,5]],\"aliases\":{}},\"status\":1}",
+                        FindByPatternResponseImpl.class));
+    }
+
+    @Test
+    void flatAndJaggedAddressesAreDecodedWithoutBoxing() throws Exception {
+        CreateScElResponseImpl created = mapper.readValue(
+                "{\"event\":0,\"id\":1,\"payload\":[10,20,0],\"status\":1}",
+                CreateScElResponseImpl.class);
+        assertArrayEquals(
+                new long[]{10, 20, 0},
+                created.getAddressArray());
+
+        FindByNameResponseImpl found = mapper.readValue(
+                "{\"event\":0,\"id\":1,\"payload\":[[7],[8,9],[]],\"status\":1}",
+                FindByNameResponseImpl.class);
+        long[][] rows = found.getFoundAddressArrays();
+        assertEquals(
+                3,
+                rows.length);
+        assertArrayEquals(
+                new long[]{8, 9},
+                rows[1]);
+        assertEquals(
+                0,
+                rows[2].length);
+    }
+}
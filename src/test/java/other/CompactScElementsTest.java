@@ -0,0 +1,119 @@
+package other;
+
+import org.junit.jupiter.api.Test;
+import org.ostis.scmemory.model.element.ScElement;
+import org.ostis.scmemory.model.element.edge.EdgeType;
+import org.ostis.scmemory.model.element.node.NodeType;
+import org.ostis.scmemory.websocketmemory.memory.element.ScNodeImpl;
+import org.ostis.scmemory.websocketmemory.memory.structures.CompactScElements;
+import org.ostis.scmemory.websocketmemory.message.response.AddressTable;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class CompactScElementsTest {
+
+    @Test
+    void viewsAreCreatedOnDemand() {
+        AtomicInteger created = new AtomicInteger();
+        CompactScElements elements = new CompactScElements(
+                new AddressTable(
+                        new long[]{1, 2, 3, 4, 5, 6},
+                        2,
+                        3),
+                new short[]{33, (short) 2224, 33, 33, (short) 2224, 2081},
+                (address, typeCode) -> {
+                    created.incrementAndGet();
+                    return new ScNodeImpl(
+                            NodeType.CONST,
+                            address);
+                });
+
+        assertEquals(
+                0,
+                created.get());
+        assertEquals(
+                EdgeType.ACCESS_CONST_POS_PERM.getCode(),
+                elements.getTypeCode(
+                        1,
+                        1));
+        assertEquals(
+                6L,
+                elements.getAddress(
+                        1,
+                        2));
+        assertEquals(
+                0,
+                created.get());
+
+        List<List<Long>> addresses = elements.stream()
+                                             .map(row -> row.map(ScElement::getAddress)
+                                                            .toList())
+                                             .toList();
+        assertEquals(
+                List.of(
+                        List.of(1L, 2L, 3L),
+                        List.of(4L, 5L, 6L)),
+                addresses);
+        assertEquals(
+                6,
+                created.get());
+    }
+
+    @Test
+    void viewsOfSameElementAreEqual() {
+        CompactScElements elements = new CompactScElements(
+                new AddressTable(
+                        new long[]{7},
+                        1,
+                        1),
+                new short[]{33},
+                (address, typeCode) -> new ScNodeImpl(
+                        NodeType.CONST,
+                        address));
+
+        ScElement first = elements.get(
+                0,
+                0);
+        ScElement second = elements.get(
+                0,
+                0);
+        assertNotSame(
+                first,
+                second);
+        assertEquals(
+                first,
+                second);
+        assertEquals(
+                first.hashCode(),
+                second.hashCode());
+    }
+
+    @Test
+    void wrongIndexOrSize() {
+        CompactScElements elements = new CompactScElements(
+                new AddressTable(
+                        new long[]{7},
+                        1,
+                        1),
+                new short[]{33},
+                (address, typeCode) -> () -> address);
+        assertThrows(
+                IndexOutOfBoundsException.class,
+                () -> elements.getTypeCode(
+                        0,
+                        1));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new CompactScElements(
+                        AddressTable.empty(),
+                        new short[]{33},
+                        (address, typeCode) -> () -> address));
+        assertFalse(elements.isEmpty());
+    }
+}
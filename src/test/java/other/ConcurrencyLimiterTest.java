@@ -0,0 +1,305 @@
+package other;
+
+import org.junit.jupiter.api.Test;
+import org.ostis.scmemory.websocketmemory.memory.core.ConcurrencyLimiter;
+import org.ostis.scmemory.websocketmemory.message.request.RequestPriority;
+import org.ostis.scmemory.websocketmemory.message.request.RequestType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ConcurrencyLimiterTest {
+    private static final long WAIT = TimeUnit.MILLISECONDS.toNanos(20);
+
+    @Test
+    void excessRequestsWaitInQueue() throws Exception {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(new ConcurrencyLimiter.Configuration(
+                2,
+                1,
+                10,
+                0.5,
+                3));
+        ConcurrencyLimiter.Permit first = limiter.acquire(
+                RequestType.SEARCH_TEMPLATE,
+                RequestPriority.INTERACTIVE,
+                WAIT);
+        limiter.acquire(
+                RequestType.SEARCH_TEMPLATE,
+                RequestPriority.INTERACTIVE,
+                WAIT);
+
+        assertThrows(
+                TimeoutException.class,
+                () -> limiter.acquire(
+                        RequestType.SEARCH_TEMPLATE,
+                        RequestPriority.INTERACTIVE,
+                        WAIT));
+
+        first.onIgnored();
+        limiter.acquire(
+                RequestType.SEARCH_TEMPLATE,
+                RequestPriority.INTERACTIVE,
+                WAIT);
+        assertEquals(
+                2,
+                limiter.getInFlight(RequestType.SEARCH_TEMPLATE));
+    }
+
+    @Test
+    void lanesAreIndependent() throws Exception {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(new ConcurrencyLimiter.Configuration(
+                1,
+                1,
+                10,
+                0.5,
+                3));
+        limiter.acquire(
+                RequestType.SEARCH_TEMPLATE,
+                RequestPriority.INTERACTIVE,
+                WAIT);
+
+        limiter.acquire(
+                RequestType.KEYNODES,
+                RequestPriority.INTERACTIVE,
+                WAIT);
+        limiter.acquire(
+                null,
+                RequestPriority.INTERACTIVE,
+                WAIT);
+        assertEquals(
+                1,
+                limiter.getInFlight(RequestType.KEYNODES));
+    }
+
+    @Test
+    void limitGrowsWhileUsedAndDropsOnTimeout() throws Exception {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(new ConcurrencyLimiter.Configuration(
+                4,
+                2,
+                100,
+                0.5,
+                1000));
+        for (int round = 0; round < 5; round++) {
+            List<ConcurrencyLimiter.Permit> permits = new ArrayList<>();
+            int limit = limiter.getLimit(RequestType.CONTENT);
+            for (int i = 0; i < limit; i++) {
+                permits.add(limiter.acquire(
+                        RequestType.CONTENT,
+                        RequestPriority.INTERACTIVE,
+                        WAIT));
+            }
+            permits.forEach(ConcurrencyLimiter.Permit::onSuccess);
+        }
+        int grown = limiter.getLimit(RequestType.CONTENT);
+        assertTrue(grown > 4);
+
+        limiter.acquire(
+                       RequestType.CONTENT,
+                       RequestPriority.INTERACTIVE,
+                       WAIT)
+               .onDropped();
+        assertTrue(limiter.getLimit(RequestType.CONTENT) < grown);
+        assertEquals(
+                0,
+                limiter.getInFlight(RequestType.CONTENT));
+    }
+
+    @Test
+    void roundOfSlowResponsesDecreasesLimitOnce() throws Exception {
+        AtomicLong clock = new AtomicLong();
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(
+                new ConcurrencyLimiter.Configuration(
+                        16,
+                        1,
+                        100,
+                        0.5,
+                        3),
+                clock::get);
+        ConcurrencyLimiter.Permit fast = limiter.acquire(
+                RequestType.SEARCH_TEMPLATE,
+                RequestPriority.INTERACTIVE,
+                WAIT);
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+        fast.onSuccess();
+
+        List<ConcurrencyLimiter.Permit> permits = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            permits.add(limiter.acquire(
+                    RequestType.SEARCH_TEMPLATE,
+                    RequestPriority.INTERACTIVE,
+                    WAIT));
+        }
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(20));
+        permits.forEach(ConcurrencyLimiter.Permit::onSuccess);
+        assertEquals(
+                8,
+                limiter.getLimit(RequestType.SEARCH_TEMPLATE));
+
+        //        a request sent after the decrease belongs to the next round
+        ConcurrencyLimiter.Permit next = limiter.acquire(
+                RequestType.SEARCH_TEMPLATE,
+                RequestPriority.INTERACTIVE,
+                WAIT);
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(20));
+        next.onDropped();
+        assertEquals(
+                4,
+                limiter.getLimit(RequestType.SEARCH_TEMPLATE));
+    }
+
+    @Test
+    void slowBulkResponsesDoNotDecreaseLimitOfInteractive() throws Exception {
+        AtomicLong clock = new AtomicLong();
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(
+                new ConcurrencyLimiter.Configuration(
+                        16,
+                        1,
+                        100,
+                        0.5,
+                        3),
+                clock::get);
+        for (int i = 0; i < 10; i++) {
+            ConcurrencyLimiter.Permit interactive = limiter.acquire(
+                    RequestType.CREATE_ELEMENTS,
+                    RequestPriority.INTERACTIVE,
+                    WAIT);
+            ConcurrencyLimiter.Permit bulk = limiter.acquire(
+                    RequestType.CREATE_ELEMENTS,
+                    RequestPriority.BULK,
+                    WAIT);
+            clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(10));
+            interactive.onSuccess();
+            clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(190));
+            bulk.onSuccess();
+        }
+        assertEquals(
+                16,
+                limiter.getLimit(RequestType.CREATE_ELEMENTS));
+
+        ConcurrencyLimiter.Permit slowInteractive = limiter.acquire(
+                RequestType.CREATE_ELEMENTS,
+                RequestPriority.INTERACTIVE,
+                WAIT);
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(200));
+        slowInteractive.onSuccess();
+        assertEquals(
+                8,
+                limiter.getLimit(RequestType.CREATE_ELEMENTS));
+    }
+
+    @Test
+    void limitDoesNotGrowWhenIdle() throws Exception {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(ConcurrencyLimiter.Configuration.defaultConfiguration());
+        for (int i = 0; i < 100; i++) {
+            limiter.acquire(
+                           RequestType.KEYNODES,
+                           RequestPriority.INTERACTIVE,
+                           WAIT)
+                   .onSuccess();
+        }
+        assertEquals(
+                16,
+                limiter.getLimit(RequestType.KEYNODES));
+    }
+
+    @Test
+    void bulkRequestsLeaveSlotsForInteractive() throws Exception {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(new ConcurrencyLimiter.Configuration(
+                4,
+                1,
+                10,
+                0.5,
+                3));
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire(
+                    RequestType.CREATE_ELEMENTS,
+                    RequestPriority.BULK,
+                    WAIT);
+        }
+
+        assertThrows(
+                TimeoutException.class,
+                () -> limiter.acquire(
+                        RequestType.CREATE_ELEMENTS,
+                        RequestPriority.BULK,
+                        WAIT));
+        limiter.acquire(
+                RequestType.CREATE_ELEMENTS,
+                RequestPriority.INTERACTIVE,
+                WAIT);
+    }
+
+    @Test
+    void interactiveRequestsGoAheadOfQueuedBulk() throws Exception {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(new ConcurrencyLimiter.Configuration(
+                1,
+                1,
+                10,
+                0.5,
+                3));
+        ConcurrencyLimiter.Permit running = limiter.acquire(
+                RequestType.SEARCH_TEMPLATE,
+                RequestPriority.BULK,
+                WAIT);
+        List<RequestPriority> order = new CopyOnWriteArrayList<>();
+        Thread bulk = new Thread(() -> {
+            try {
+                limiter.acquire(
+                               RequestType.SEARCH_TEMPLATE,
+                               RequestPriority.BULK,
+                               TimeUnit.SECONDS.toNanos(5))
+                       .onIgnored();
+                order.add(RequestPriority.BULK);
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+        bulk.start();
+        awaitWaiting(
+                limiter,
+                1);
+        Thread interactive = new Thread(() -> {
+            try {
+                ConcurrencyLimiter.Permit permit = limiter.acquire(
+                        RequestType.SEARCH_TEMPLATE,
+                        RequestPriority.INTERACTIVE,
+                        TimeUnit.SECONDS.toNanos(5));
+                order.add(RequestPriority.INTERACTIVE);
+                permit.onIgnored();
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+        interactive.start();
+        awaitWaiting(
+                limiter,
+                2);
+
+        running.onIgnored();
+        bulk.join();
+        interactive.join();
+        assertEquals(
+                List.of(
+                        RequestPriority.INTERACTIVE,
+                        RequestPriority.BULK),
+                order);
+    }
+
+    private static void awaitWaiting(ConcurrencyLimiter limiter, int waiting) {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (limiter.getWaiting(RequestType.SEARCH_TEMPLATE) < waiting && System.currentTimeMillis() < deadline) {
+            Thread.yield();
+        }
+        assertEquals(
+                waiting,
+                limiter.getWaiting(RequestType.SEARCH_TEMPLATE));
+    }
+}
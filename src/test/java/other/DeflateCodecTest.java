@@ -0,0 +1,123 @@
+package other;
+
+import org.junit.jupiter.api.Test;
+import org.ostis.scmemory.websocketmemory.memory.core.DeflateCodec;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.Deflater;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DeflateCodecTest {
+
+    @Test
+    void messagesWithContextTakeover() throws Exception {
+        DeflateCodec client = new DeflateCodec(
+                Deflater.DEFAULT_COMPRESSION,
+                true,
+                true);
+        DeflateCodec server = new DeflateCodec(
+                Deflater.DEFAULT_COMPRESSION,
+                true,
+                true);
+        byte[] first = message(1);
+        byte[] second = message(2);
+
+        byte[] firstCompressed = client.compress(first);
+        byte[] secondCompressed = client.compress(second);
+        assertTrue(firstCompressed.length < first.length / 4);
+        //        the second message reuses the window of the first one
+        assertTrue(secondCompressed.length < firstCompressed.length);
+
+        assertArrayEquals(
+                first,
+                server.decompress(
+                        firstCompressed,
+                        true));
+        assertArrayEquals(
+                second,
+                server.decompress(
+                        secondCompressed,
+                        true));
+    }
+
+    @Test
+    void messagesWithoutContextTakeover() throws Exception {
+        DeflateCodec client = new DeflateCodec(
+                Deflater.BEST_SPEED,
+                false,
+                false);
+        DeflateCodec server = new DeflateCodec(
+                Deflater.BEST_SPEED,
+                false,
+                false);
+        for (int i = 0; i < 3; i++) {
+            byte[] message = message(i);
+            assertArrayEquals(
+                    message,
+                    server.decompress(
+                            client.compress(message),
+                            true));
+        }
+    }
+
+    @Test
+    void fragmentedMessage() throws Exception {
+        DeflateCodec client = new DeflateCodec(
+                Deflater.BEST_COMPRESSION,
+                true,
+                true);
+        DeflateCodec server = new DeflateCodec(
+                Deflater.BEST_COMPRESSION,
+                true,
+                true);
+        byte[] message = message(5);
+        byte[] compressed = client.compress(message);
+        int middle = compressed.length / 2;
+        byte[] head = server.decompress(
+                Arrays.copyOfRange(
+                        compressed,
+                        0,
+                        middle),
+                false);
+        byte[] tail = server.decompress(
+                Arrays.copyOfRange(
+                        compressed,
+                        middle,
+                        compressed.length),
+                true);
+        byte[] result = new byte[head.length + tail.length];
+        System.arraycopy(
+                head,
+                0,
+                result,
+                0,
+                head.length);
+        System.arraycopy(
+                tail,
+                0,
+                result,
+                head.length,
+                tail.length);
+        assertArrayEquals(
+                message,
+                result);
+    }
+
+    private static byte[] message(int seed) {
+        StringBuilder json = new StringBuilder("{\"id\":" + seed + ",\"type\":\"create_elements\",\"payload\":[");
+        for (int i = 0; i < 500; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"el\":\"node\",\"type\":")
+                .append(1 + (i + seed) % 32)
+                .append('}');
+        }
+        return json.append("]}")
+                   .toString()
+                   .getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,225 @@
+package other;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+import org.ostis.scmemory.model.event.OnDeleteEvent;
+import org.ostis.scmemory.websocketmemory.memory.SyncOstisScMemory;
+import org.ostis.scmemory.websocketmemory.memory.core.AbstractOstisClient;
+import org.ostis.scmemory.websocketmemory.memory.core.ReconnectPolicy;
+import org.ostis.scmemory.websocketmemory.memory.exception.OstisWebsocketClientException;
+import org.ostis.scmemory.websocketmemory.memory.message.response.EventMessage;
+import org.ostis.scmemory.websocketmemory.util.internal.JsonCodec;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class EventResubscriptionTest {
+
+    @Test
+    void shortReplayFailsReconnectAndIdsAreRemappedByNextOne() throws Exception {
+        ReplayingClient[] events = new ReplayingClient[1];
+        SyncOstisScMemory memory = new SyncOstisScMemory(
+                URI.create("ws://localhost:8090/ws_json"),
+                new ReconnectPolicy(
+                        1,
+                        10,
+                        2,
+                        -1),
+                (serverUri, eventCallback, clientName, reconnectPolicy, reconnectCallback) -> {
+                    ReplayingClient client = new ReplayingClient(
+                            eventCallback,
+                            clientName,
+                            reconnectPolicy,
+                            reconnectCallback);
+                    if (clientName.equals("Client for events")) {
+                        events[0] = client;
+                    }
+                    return client;
+                });
+        memory.open();
+        ReplayingClient client = events[0];
+        OnDeleteEvent consumer = element -> {
+        };
+
+        client.answers.add(List.of(100L));
+        long first = memory.subscribeOnEvent(
+                                   () -> 5L,
+                                   consumer)
+                           .orElseThrow();
+        client.answers.add(List.of(101L));
+        long second = memory.subscribeOnEvent(
+                                    () -> 6L,
+                                    consumer)
+                            .orElseThrow();
+
+        //        the first replay restores only one subscription, so the reconnect is repeated
+        client.answers.add(List.of(200L));
+        client.answers.add(List.of(
+                300L,
+                301L));
+        client.sent.clear();
+        client.drop();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (client.sent.size() < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+
+        assertEquals(
+                2,
+                client.sent.size());
+        assertEquals(
+                3,
+                client.connects.get());
+        for (JsonNode replay : client.sent) {
+            assertEquals(
+                    "events",
+                    replay.path("type")
+                          .asText());
+            assertEquals(
+                    2,
+                    replay.path("payload")
+                          .path("create")
+                          .size());
+        }
+
+        client.answers.add(List.of());
+        memory.unsubscribeEvent(Stream.of(second));
+        JsonNode unsubscribe = client.sent.get(2);
+        assertEquals(
+                301L,
+                unsubscribe.path("payload")
+                           .path("delete")
+                           .get(0)
+                           .asLong());
+        assertTrue(first != second);
+        memory.close();
+    }
+
+    @Test
+    void serverIdsAfterReplayDoNotCollideWithUserIds() throws Exception {
+        ReplayingClient[] events = new ReplayingClient[1];
+        SyncOstisScMemory memory = new SyncOstisScMemory(
+                URI.create("ws://localhost:8090/ws_json"),
+                new ReconnectPolicy(
+                        1,
+                        10,
+                        2,
+                        -1),
+                (serverUri, eventCallback, clientName, reconnectPolicy, reconnectCallback) -> {
+                    ReplayingClient client = new ReplayingClient(
+                            eventCallback,
+                            clientName,
+                            reconnectPolicy,
+                            reconnectCallback);
+                    if (clientName.equals("Client for events")) {
+                        events[0] = client;
+                    }
+                    return client;
+                });
+        memory.open();
+        ReplayingClient client = events[0];
+        OnDeleteEvent consumer = element -> {
+        };
+
+        client.answers.add(List.of(50L));
+        long first = memory.subscribeOnEvent(
+                                   () -> 5L,
+                                   consumer)
+                           .orElseThrow();
+        client.answers.add(List.of(60L));
+        client.sent.clear();
+        client.drop();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (client.sent.isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        while (client.answers.size() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+
+        //        the new server gives the next subscription the id that was returned for the first one
+        client.answers.add(List.of(first));
+        long second = memory.subscribeOnEvent(
+                                    () -> 6L,
+                                    consumer)
+                            .orElseThrow();
+        client.answers.add(List.of());
+        memory.unsubscribeEvent(Stream.of(first));
+
+        assertTrue(first != second);
+        assertEquals(
+                60L,
+                client.sent.get(client.sent.size() - 1)
+                           .path("payload")
+                           .path("delete")
+                           .get(0)
+                           .asLong());
+        memory.close();
+    }
+
+    /**
+     * Answers every request with the next prepared list of event ids.
+     */
+    private static class ReplayingClient extends AbstractOstisClient {
+        private final Queue<List<Long>> answers = new ConcurrentLinkedQueue<>();
+        private final List<JsonNode> sent = new CopyOnWriteArrayList<>();
+        private final AtomicInteger connects = new AtomicInteger();
+
+        ReplayingClient(Consumer<EventMessage> eventCallback,
+                        String clientName,
+                        ReconnectPolicy reconnectPolicy,
+                        Runnable reconnectCallback) {
+            super(
+                    URI.create("ws://localhost:8090/ws_json"),
+                    eventCallback,
+                    clientName,
+                    reconnectPolicy,
+                    reconnectCallback);
+        }
+
+        @Override
+        protected void connect() {
+            connects.incrementAndGet();
+        }
+
+        @Override
+        protected void disconnect() {
+        }
+
+        @Override
+        protected void sendMessage(String message) throws OstisWebsocketClientException {
+            JsonNode request;
+            try {
+                request = JsonCodec.INSTANCE.getMapper()
+                                            .readTree(message);
+            } catch (Exception e) {
+                throw new OstisWebsocketClientException("broken request");
+            }
+            sent.add(request);
+            List<Long> ids = answers.poll();
+            if (ids == null) {
+                throw new OstisWebsocketClientException("no prepared answer");
+            }
+            onMessage("{\"id\":" + request.path("id")
+                                           .asLong() + ",\"event\":0,\"status\":1,\"payload\":" + ids + "}");
+        }
+
+        void drop() {
+            onConnectionLost();
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package other;
+
+import org.junit.jupiter.api.Test;
+import org.ostis.scmemory.websocketmemory.memory.core.FragmentedTextWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FragmentedTextWriterTest {
+
+    @Test
+    void shortMessageIsReturnedWhole() throws Exception {
+        List<String> fragments = new ArrayList<>();
+        FragmentedTextWriter writer = new FragmentedTextWriter(
+                new char[16],
+                (fragment, last) -> fragments.add(fragment));
+
+        String message = writer.writeMessage(out -> out.write("{\"id\":1}"));
+
+        assertEquals(
+                "{\"id\":1}",
+                message);
+        assertTrue(fragments.isEmpty());
+    }
+
+    @Test
+    void longMessageIsSentInFragments() throws Exception {
+        List<String> fragments = new ArrayList<>();
+        List<Boolean> lasts = new ArrayList<>();
+        FragmentedTextWriter writer = new FragmentedTextWriter(
+                new char[4],
+                (fragment, last) -> {
+                    fragments.add(fragment);
+                    lasts.add(last);
+                });
+
+        String message = writer.writeMessage(out -> {
+            out.write("abc");
+            out.write('d');
+            out.write("efghij".toCharArray());
+        });
+
+        assertNull(message);
+        assertEquals(
+                List.of(
+                        "abcd",
+                        "efgh",
+                        "ij"),
+                fragments);
+        assertEquals(
+                List.of(
+                        false,
+                        false,
+                        true),
+                lasts);
+    }
+
+    @Test
+    void surrogatePairIsNotSplit() throws Exception {
+        List<String> fragments = new ArrayList<>();
+        FragmentedTextWriter writer = new FragmentedTextWriter(
+                new char[4],
+                (fragment, last) -> fragments.add(fragment));
+
+        writer.writeMessage(out -> out.write("abc\uD83D\uDE00def"));
+
+        assertEquals(
+                List.of(
+                        "abc",
+                        "\uD83D\uDE00de",
+                        "f"),
+                fragments);
+    }
+
+    @Test
+    void failedMessageIsFinished() {
+        List<String> fragments = new ArrayList<>();
+        List<Boolean> lasts = new ArrayList<>();
+        FragmentedTextWriter writer = new FragmentedTextWriter(
+                new char[4],
+                (fragment, last) -> {
+                    fragments.add(fragment);
+                    lasts.add(last);
+                });
+
+        assertThrows(
+                IOException.class,
+                () -> writer.writeMessage(out -> {
+                    out.write("abcdef");
+                    throw new IOException("broken request");
+                }));
+        assertEquals(
+                List.of(
+                        "abcd",
+                        ""),
+                fragments);
+        assertEquals(
+                List.of(
+                        false,
+                        true),
+                lasts);
+    }
+}
@@ -0,0 +1,59 @@
+package other;
+
+import org.junit.jupiter.api.Test;
+import org.ostis.scmemory.websocketmemory.memory.message.request.KeynodeRequestImpl;
+import org.ostis.scmemory.websocketmemory.memory.message.response.KeynodeResponseImpl;
+import org.ostis.scmemory.websocketmemory.util.internal.JsonCodec;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class JsonCodecTest {
+
+    @Test
+    void readersAndWritersAreShared() {
+        assertSame(
+                JsonCodec.INSTANCE.reader(KeynodeResponseImpl.class),
+                JsonCodec.INSTANCE.reader(KeynodeResponseImpl.class));
+        assertSame(
+                JsonCodec.INSTANCE.writer(KeynodeRequestImpl.class),
+                JsonCodec.INSTANCE.writer(KeynodeRequestImpl.class));
+        assertSame(
+                JsonCodec.INSTANCE.keyWriter(KeynodeRequestImpl.class),
+                JsonCodec.INSTANCE.keyWriter(KeynodeRequestImpl.class));
+    }
+
+    @Test
+    void unknownPropertiesAreIgnored() throws Exception {
+        KeynodeResponseImpl response = JsonCodec.INSTANCE.reader(KeynodeResponseImpl.class)
+                                                         .readValue("{\"id\":3,\"status\":1,\"event\":0,\"unknown\":1,\"payload\":[7,8]}");
+
+        assertEquals(
+                3L,
+                response.getResponseId());
+        assertArrayEquals(
+                new long[]{7, 8},
+                response.getFindAddressArray());
+    }
+
+    @Test
+    void keyWriterSkipsRequestId() throws Exception {
+        KeynodeRequestImpl first = new KeynodeRequestImpl();
+        KeynodeRequestImpl second = new KeynodeRequestImpl();
+
+        String firstJson = JsonCodec.INSTANCE.writer(KeynodeRequestImpl.class)
+                                             .writeValueAsString(first);
+        String firstKey = JsonCodec.INSTANCE.keyWriter(KeynodeRequestImpl.class)
+                                            .writeValueAsString(first);
+
+        assertTrue(firstJson.contains("\"id\""));
+        assertFalse(firstKey.contains("\"id\""));
+        assertEquals(
+                firstKey,
+                JsonCodec.INSTANCE.keyWriter(KeynodeRequestImpl.class)
+                                  .writeValueAsString(second));
+    }
+}
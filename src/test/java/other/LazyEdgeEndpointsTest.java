@@ -0,0 +1,69 @@
+package other;
+
+import org.junit.jupiter.api.Test;
+import org.ostis.scmemory.model.element.edge.EdgeType;
+import org.ostis.scmemory.model.element.node.NodeType;
+import org.ostis.scmemory.model.exception.ScEdgeEndpointsException;
+import org.ostis.scmemory.model.exception.ScMemoryException;
+import org.ostis.scmemory.websocketmemory.memory.element.EdgeEndpoints;
+import org.ostis.scmemory.websocketmemory.memory.element.ScEdgeImpl;
+import org.ostis.scmemory.websocketmemory.memory.element.ScNodeImpl;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class LazyEdgeEndpointsTest {
+
+    @Test
+    void endpointsAreResolvedOnce() {
+        AtomicInteger calls = new AtomicInteger();
+        ScEdgeImpl edge = new ScEdgeImpl(
+                EdgeType.D_COMMON_VAR,
+                10L,
+                address -> {
+                    calls.incrementAndGet();
+                    return new EdgeEndpoints(
+                            new ScNodeImpl(
+                                    NodeType.CONST,
+                                    1L),
+                            new ScNodeImpl(
+                                    NodeType.CONST,
+                                    2L));
+                });
+
+        assertEquals(
+                Long.valueOf(1),
+                edge.getSource()
+                    .getAddress());
+        assertEquals(
+                Long.valueOf(2),
+                edge.getTarget()
+                    .getAddress());
+        assertEquals(
+                1,
+                calls.get());
+    }
+
+    @Test
+    void failedResolvingNamesTheEdge() {
+        ScEdgeImpl edge = new ScEdgeImpl(
+                EdgeType.D_COMMON_VAR,
+                10L,
+                address -> {
+                    throw new ScMemoryException("no connection");
+                });
+
+        ScEdgeEndpointsException e = assertThrows(
+                ScEdgeEndpointsException.class,
+                edge::getSource);
+        assertEquals(
+                10L,
+                e.getEdgeAddress());
+        assertInstanceOf(
+                ScMemoryException.class,
+                e.getCause());
+    }
+}
@@ -0,0 +1,198 @@
+package other;
+
+import org.junit.jupiter.api.Test;
+import org.ostis.scmemory.model.element.link.LinkContentType;
+import org.ostis.scmemory.model.element.link.LinkType;
+import org.ostis.scmemory.model.element.link.ScLink;
+import org.ostis.scmemory.model.element.link.ScLinkString;
+import org.ostis.scmemory.model.exception.ScMemoryException;
+import org.ostis.scmemory.websocketmemory.memory.batch.LinkContentLoader;
+import org.ostis.scmemory.websocketmemory.memory.element.ScLinkIntegerLazyImpl;
+import org.ostis.scmemory.websocketmemory.memory.element.ScLinkLazyImpl;
+import org.ostis.scmemory.websocketmemory.memory.element.ScLinkStringImpl;
+import org.ostis.scmemory.websocketmemory.memory.element.ScLinkStringLazyImpl;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LinkContentLoaderTest {
+
+    @Test
+    void contentIsLoadedOnFirstAccess() throws Exception {
+        List<Map<Long, LinkType>> requests = new CopyOnWriteArrayList<>();
+        LinkContentLoader loader = new LinkContentLoader(
+                linkTypes -> {
+                    requests.add(linkTypes);
+                    return stringLinks(linkTypes);
+                },
+                10);
+        ScLinkLazyImpl link = new ScLinkLazyImpl(
+                LinkType.LINK,
+                42L,
+                loader);
+
+        assertFalse(link.isLoaded());
+        assertTrue(requests.isEmpty());
+
+        assertEquals(
+                "content 42",
+                link.getContent());
+        assertEquals(
+                "content 42",
+                link.getContent());
+        assertTrue(link.isLoaded());
+        assertEquals(
+                1,
+                requests.size());
+    }
+
+    @Test
+    void concurrentLoadsAreCoalesced() throws Exception {
+        CountDownLatch firstRequestStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstRequest = new CountDownLatch(1);
+        List<Map<Long, LinkType>> requests = new CopyOnWriteArrayList<>();
+        LinkContentLoader loader = new LinkContentLoader(
+                linkTypes -> {
+                    requests.add(linkTypes);
+                    if (requests.size() == 1) {
+                        firstRequestStarted.countDown();
+                        try {
+                            releaseFirstRequest.await();
+                        } catch (InterruptedException e) {
+                            throw new ScMemoryException(e);
+                        }
+                    }
+                    return stringLinks(linkTypes);
+                },
+                100);
+        ExecutorService executor = Executors.newFixedThreadPool(11);
+        Future<ScLink> first = executor.submit(() -> loader.load(
+                0L,
+                LinkType.LINK));
+        firstRequestStarted.await();
+        List<Future<ScLink>> others = new CopyOnWriteArrayList<>();
+        for (long i = 1; i <= 10; i++) {
+            long address = i;
+            others.add(executor.submit(() -> loader.load(
+                    address,
+                    LinkType.LINK)));
+        }
+        long deadline = System.currentTimeMillis() + 5000;
+        while (loader.getPendingCount() < 10 && System.currentTimeMillis() < deadline) {
+            Thread.yield();
+        }
+        assertEquals(
+                10,
+                loader.getPendingCount());
+        releaseFirstRequest.countDown();
+
+        assertEquals(
+                "content 0",
+                ((ScLinkString) first.get()).getContent());
+        for (int i = 0; i < others.size(); i++) {
+            assertEquals(
+                    "content " + (i + 1),
+                    ((ScLinkString) others.get(i)
+                                          .get()).getContent());
+        }
+        assertEquals(
+                2,
+                requests.size());
+        assertEquals(
+                10,
+                requests.get(1)
+                        .size());
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(
+                1,
+                TimeUnit.SECONDS));
+    }
+
+    @Test
+    void failedLoad() {
+        LinkContentLoader loader = new LinkContentLoader(
+                linkTypes -> {
+                    throw new ScMemoryException("no connection");
+                },
+                10);
+        ScLinkLazyImpl link = new ScLinkLazyImpl(
+                LinkType.LINK,
+                1L,
+                loader);
+        assertThrows(
+                ScMemoryException.class,
+                link::load);
+        assertFalse(link.isLoaded());
+    }
+
+    @Test
+    void typedLazyLinkKnowsContentTypeBeforeLoad() throws Exception {
+        List<Map<Long, LinkType>> requests = new CopyOnWriteArrayList<>();
+        LinkContentLoader loader = new LinkContentLoader(
+                linkTypes -> {
+                    requests.add(linkTypes);
+                    return stringLinks(linkTypes);
+                },
+                10);
+        ScLinkString link = new ScLinkStringLazyImpl(
+                LinkType.LINK,
+                7L,
+                loader);
+
+        assertEquals(
+                LinkContentType.STRING,
+                link.getContentType());
+        assertTrue(requests.isEmpty());
+        assertEquals(
+                "content 7",
+                link.getContent());
+        assertEquals(
+                1,
+                requests.size());
+    }
+
+    @Test
+    void typedLazyLinkWithOtherContentFails() {
+        LinkContentLoader loader = new LinkContentLoader(
+                LinkContentLoaderTest::stringLinks,
+                10);
+        ScLinkIntegerLazyImpl link = new ScLinkIntegerLazyImpl(
+                LinkType.LINK,
+                7L,
+                loader);
+
+        assertThrows(
+                ScMemoryException.class,
+                link::load);
+        assertThrows(
+                IllegalStateException.class,
+                link::getContent);
+        assertFalse(link.isLoaded());
+    }
+
+    private static Map<Long, ScLink> stringLinks(Map<Long, LinkType> linkTypes) {
+        Map<Long, ScLink> result = new HashMap<>();
+        linkTypes.forEach((address, type) -> {
+            ScLinkStringImpl link = new ScLinkStringImpl(
+                    type,
+                    address);
+            link.setContent("content " + address);
+            result.put(
+                    address,
+                    link);
+        });
+        return result;
+    }
+}
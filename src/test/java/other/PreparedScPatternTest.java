@@ -0,0 +1,120 @@
+package other;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.ostis.scmemory.model.element.ScElement;
+import org.ostis.scmemory.model.element.edge.EdgeType;
+import org.ostis.scmemory.model.element.node.NodeType;
+import org.ostis.scmemory.model.pattern.ScPattern;
+import org.ostis.scmemory.websocketmemory.memory.element.ScNodeImpl;
+import org.ostis.scmemory.websocketmemory.memory.message.request.FindByPreparedPatternRequestImpl;
+import org.ostis.scmemory.websocketmemory.memory.pattern.DefaultWebsocketScPattern;
+import org.ostis.scmemory.websocketmemory.memory.pattern.PreparedScPattern;
+import org.ostis.scmemory.websocketmemory.memory.pattern.SearchingPatternTriple;
+import org.ostis.scmemory.websocketmemory.memory.pattern.element.AliasPatternElement;
+import org.ostis.scmemory.websocketmemory.memory.pattern.element.FixedPatternElement;
+import org.ostis.scmemory.websocketmemory.memory.pattern.element.TypePatternElement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class PreparedScPatternTest {
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void renderedPayloadIsEqualToSerializedPattern() throws Exception {
+        ScNodeImpl source = new ScNodeImpl(
+                NodeType.CONST,
+                42L);
+        ScNodeImpl relation = new ScNodeImpl(
+                NodeType.CONST_NO_ROLE,
+                7L);
+
+        PreparedScPattern prepared = new PreparedScPattern(pattern5(
+                () -> 0L,
+                () -> 0L));
+
+        assertEquals(
+                2,
+                prepared.getParameterCount());
+        assertEquals(
+                mapper.writeValueAsString(pattern5(
+                                                 source,
+                                                 relation).getElements()
+                                                          .toList()),
+                prepared.render(
+                        source,
+                        relation));
+    }
+
+    @Test
+    void aliasesAreResolvedToColumns() {
+        PreparedScPattern prepared = new PreparedScPattern(pattern5(
+                () -> 0L,
+                () -> 0L));
+
+        assertEquals(
+                0,
+                prepared.getParameter(0));
+        assertEquals(
+                1,
+                prepared.getParameter(3));
+        assertEquals(
+                -1,
+                prepared.getParameter(1));
+        assertEquals(
+                1,
+                prepared.getAliasColumn(5));
+        assertEquals(
+                -1,
+                prepared.getAliasColumn(2));
+    }
+
+    @Test
+    void requestContainsRenderedPayload() throws Exception {
+        PreparedScPattern prepared = new PreparedScPattern(pattern5(
+                () -> 0L,
+                () -> 0L));
+        FindByPreparedPatternRequestImpl request = new FindByPreparedPatternRequestImpl(prepared.render(
+                () -> 1L,
+                () -> 2L));
+
+        assertEquals(
+                "{\"id\":" + request.getRequestId() + ",\"type\":\"search_template\",\"payload\":" + prepared.render(
+                        () -> 1L,
+                        () -> 2L) + "}",
+                mapper.writeValueAsString(request));
+    }
+
+    @Test
+    void wrongNumberOfParametersIsRejected() {
+        PreparedScPattern prepared = new PreparedScPattern(pattern5(
+                () -> 0L,
+                () -> 0L));
+
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> prepared.render(() -> 1L));
+    }
+
+    private static ScPattern pattern5(ScElement source,
+                                      ScElement relation) {
+        AliasPatternElement edge = new AliasPatternElement("edge_2");
+        ScPattern pattern = new DefaultWebsocketScPattern();
+        pattern.addElement(new SearchingPatternTriple(
+                new FixedPatternElement(source),
+                new TypePatternElement<>(
+                        EdgeType.D_COMMON_VAR,
+                        edge),
+                new TypePatternElement<>(
+                        NodeType.VAR,
+                        new AliasPatternElement("element_3"))));
+        pattern.addElement(new SearchingPatternTriple(
+                new FixedPatternElement(relation),
+                new TypePatternElement<>(
+                        EdgeType.ACCESS_VAR_POS_PERM,
+                        new AliasPatternElement("edge_4")),
+                edge));
+        return pattern;
+    }
+}
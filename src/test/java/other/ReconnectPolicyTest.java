@@ -0,0 +1,71 @@
+package other;
+
+import org.junit.jupiter.api.Test;
+import org.ostis.scmemory.websocketmemory.memory.core.ReconnectPolicy;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ReconnectPolicyTest {
+
+    @Test
+    void delayGrowsExponentially() {
+        ReconnectPolicy policy = new ReconnectPolicy(
+                100,
+                1000,
+                2,
+                -1);
+        assertEquals(
+                100,
+                policy.getDelay(0));
+        assertEquals(
+                200,
+                policy.getDelay(1));
+        assertEquals(
+                800,
+                policy.getDelay(3));
+    }
+
+    @Test
+    void delayIsLimited() {
+        ReconnectPolicy policy = new ReconnectPolicy(
+                100,
+                1000,
+                2,
+                -1);
+        assertEquals(
+                1000,
+                policy.getDelay(4));
+        assertEquals(
+                1000,
+                policy.getDelay(100));
+    }
+
+    @Test
+    void attemptsAreLimited() {
+        ReconnectPolicy policy = new ReconnectPolicy(
+                100,
+                1000,
+                2,
+                3);
+        assertTrue(policy.isAttemptAllowed(2));
+        assertFalse(policy.isAttemptAllowed(3));
+        assertFalse(ReconnectPolicy.disabled()
+                                   .isAttemptAllowed(0));
+        assertTrue(ReconnectPolicy.defaultPolicy()
+                                  .isAttemptAllowed(1000));
+    }
+
+    @Test
+    void incorrectPolicy() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new ReconnectPolicy(
+                        100,
+                        10,
+                        2,
+                        -1));
+    }
+}
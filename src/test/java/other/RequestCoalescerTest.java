@@ -0,0 +1,122 @@
+package other;
+
+import org.junit.jupiter.api.Test;
+import org.ostis.scmemory.model.exception.ScMemoryException;
+import org.ostis.scmemory.websocketmemory.memory.batch.RequestCoalescer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RequestCoalescerTest {
+
+    @Test
+    void singleRequestIsSentImmediately() throws Exception {
+        List<List<Integer>> batches = new CopyOnWriteArrayList<>();
+        RequestCoalescer<Integer, Integer> coalescer = new RequestCoalescer<>(
+                requests -> {
+                    batches.add(requests);
+                    return requests.stream()
+                                   .map(r -> r * 2)
+                                   .toList();
+                },
+                10,
+                TimeUnit.SECONDS.toNanos(10));
+        long start = System.nanoTime();
+        assertEquals(
+                4,
+                (int) coalescer.submit(2));
+        assertEquals(
+                4,
+                (int) coalescer.submit(2));
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+        assertEquals(
+                2,
+                batches.size());
+    }
+
+    @Test
+    void concurrentRequestsAreMergedWithoutDeduplication() throws Exception {
+        CountDownLatch firstRequestStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstRequest = new CountDownLatch(1);
+        List<List<Integer>> batches = new CopyOnWriteArrayList<>();
+        RequestCoalescer<Integer, Integer> coalescer = new RequestCoalescer<>(
+                requests -> {
+                    batches.add(requests);
+                    if (batches.size() == 1) {
+                        firstRequestStarted.countDown();
+                        try {
+                            releaseFirstRequest.await();
+                        } catch (InterruptedException e) {
+                            throw new ScMemoryException(e);
+                        }
+                    }
+                    List<Integer> result = new ArrayList<>();
+                    for (int i = 0; i < requests.size(); i++) {
+                        result.add(requests.get(i) * 100 + batches.size() * 10 + i);
+                    }
+                    return result;
+                },
+                4,
+                0);
+        ExecutorService executor = Executors.newFixedThreadPool(9);
+        Future<Integer> first = executor.submit(() -> coalescer.submit(1));
+        firstRequestStarted.await();
+        List<Future<Integer>> others = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            others.add(executor.submit(() -> coalescer.submit(7)));
+        }
+        long deadline = System.currentTimeMillis() + 5000;
+        while (coalescer.getPendingCount() < 8 && System.currentTimeMillis() < deadline) {
+            Thread.yield();
+        }
+        assertEquals(
+                8,
+                coalescer.getPendingCount());
+        releaseFirstRequest.countDown();
+
+        assertEquals(
+                110,
+                (int) first.get());
+        List<Integer> results = new ArrayList<>();
+        for (Future<Integer> other : others) {
+            results.add(other.get());
+        }
+        assertEquals(
+                8,
+                results.stream()
+                       .distinct()
+                       .count());
+        assertEquals(
+                3,
+                batches.size());
+        assertEquals(
+                4,
+                batches.get(1)
+                       .size());
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(
+                1,
+                TimeUnit.SECONDS));
+    }
+
+    @Test
+    void wrongNumberOfResults() {
+        RequestCoalescer<Integer, Integer> coalescer = new RequestCoalescer<>(
+                requests -> List.of(),
+                10,
+                0);
+        assertThrows(
+                ScMemoryException.class,
+                () -> coalescer.submit(1));
+    }
+}
@@ -0,0 +1,124 @@
+package other;
+
+import org.junit.jupiter.api.Test;
+import org.ostis.scmemory.model.exception.ScMemoryException;
+import org.ostis.scmemory.websocketmemory.memory.batch.RequestPipeline;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RequestPipelineTest {
+
+    @Test
+    void resultsKeepOrderOfInputs() throws Exception {
+        RequestPipeline pipeline = new RequestPipeline(8);
+        List<Integer> inputs = IntStream.range(
+                                                0,
+                                                1000)
+                                        .boxed()
+                                        .toList();
+
+        List<String> results = pipeline.run(
+                inputs,
+                i -> "result_" + i);
+
+        assertEquals(
+                1000,
+                results.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(
+                    "result_" + i,
+                    results.get(i));
+        }
+    }
+
+    @Test
+    void requestsAreInFlightTogether() throws Exception {
+        RequestPipeline pipeline = new RequestPipeline(4);
+        //        every request waits until 4 requests are in flight, so it passes only if they are sent concurrently
+        CountDownLatch inFlight = new CountDownLatch(4);
+
+        List<Boolean> results = pipeline.run(
+                List.of(
+                        1,
+                        2,
+                        3,
+                        4),
+                i -> {
+                    inFlight.countDown();
+                    try {
+                        return inFlight.await(
+                                5,
+                                TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        throw new ScMemoryException(e);
+                    }
+                });
+
+        assertEquals(
+                List.of(
+                        true,
+                        true,
+                        true,
+                        true),
+                results);
+    }
+
+    @Test
+    void depthLimitsRequestsInFlight() throws Exception {
+        RequestPipeline pipeline = new RequestPipeline(3);
+        AtomicInteger current = new AtomicInteger();
+        AtomicInteger max = new AtomicInteger();
+
+        pipeline.run(
+                IntStream.range(
+                                 0,
+                                 100)
+                         .boxed()
+                         .toList(),
+                i -> {
+                    max.accumulateAndGet(
+                            current.incrementAndGet(),
+                            Math::max);
+                    LockSupport.parkNanos(1_000_000);
+                    current.decrementAndGet();
+                    return i;
+                });
+
+        assertTrue(max.get() <= 3);
+    }
+
+    @Test
+    void failureIsThrown() {
+        RequestPipeline pipeline = new RequestPipeline(4);
+        ScMemoryException failure = new ScMemoryException("broken");
+
+        ScMemoryException thrown = assertThrows(
+                ScMemoryException.class,
+                () -> pipeline.run(
+                        IntStream.range(
+                                         0,
+                                         100)
+                                 .boxed()
+                                 .toList(),
+                        i -> {
+                            if (i == 42) {
+                                throw failure;
+                            }
+                            return i;
+                        }));
+
+        assertSame(
+                failure,
+                thrown);
+    }
+}
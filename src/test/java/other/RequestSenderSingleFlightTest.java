@@ -0,0 +1,300 @@
+package other;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.ostis.scmemory.model.element.node.NodeType;
+import org.ostis.scmemory.model.exception.ScMemoryException;
+import org.ostis.scmemory.model.exception.ScMemoryTimeoutException;
+import org.ostis.scmemory.websocketmemory.core.OstisClient;
+import org.ostis.scmemory.websocketmemory.memory.batch.SingleFlight;
+import org.ostis.scmemory.websocketmemory.memory.exception.OstisConnectionException;
+import org.ostis.scmemory.websocketmemory.memory.message.request.CheckScElTypeRequestImpl;
+import org.ostis.scmemory.websocketmemory.memory.message.request.KeynodeRequestImpl;
+import org.ostis.scmemory.websocketmemory.memory.sender.RequestSenderImpl;
+import org.ostis.scmemory.websocketmemory.memory.structures.ResolveKeynodeStruct;
+import org.ostis.scmemory.websocketmemory.message.request.CheckScElTypeRequest;
+import org.ostis.scmemory.websocketmemory.message.response.CheckScElTypeResponse;
+import org.ostis.scmemory.websocketmemory.sender.RequestSender;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RequestSenderSingleFlightTest {
+
+    @Test
+    void identicalReadRequestsShareOneRoundTrip() throws Exception {
+        BlockingClient client = new BlockingClient();
+        RequestSender sender = new RequestSenderImpl(client);
+        AtomicReference<CheckScElTypeResponse> first = new AtomicReference<>();
+        AtomicReference<CheckScElTypeResponse> second = new AtomicReference<>();
+
+        Thread leader = new Thread(() -> first.set(check(
+                sender,
+                42L)));
+        leader.start();
+        client.sent.await();
+        Thread follower = new Thread(() -> second.set(check(
+                sender,
+                42L)));
+        follower.start();
+        Thread.sleep(100);
+        client.release.countDown();
+        leader.join();
+        follower.join();
+
+        assertEquals(
+                1,
+                client.calls.get());
+        assertNotNull(first.get());
+        assertSame(
+                first.get(),
+                second.get());
+    }
+
+    @Test
+    void finishedRequestsAreNotCached() {
+        BlockingClient client = new BlockingClient();
+        client.release.countDown();
+        RequestSender sender = new RequestSenderImpl(client);
+
+        check(
+                sender,
+                42L);
+        check(
+                sender,
+                42L);
+
+        assertEquals(
+                2,
+                client.calls.get());
+    }
+
+    @Test
+    void followerWaitsOnlyForItsOwnTimeout() throws Exception {
+        BlockingClient client = new BlockingClient();
+        RequestSender sender = new RequestSenderImpl(client);
+        Thread leader = new Thread(() -> check(
+                sender,
+                42L));
+        leader.start();
+        client.sent.await();
+
+        long start = System.nanoTime();
+        RuntimeException e = assertThrows(
+                RuntimeException.class,
+                () -> check(
+                        sender.withTimeout(Duration.ofMillis(50)),
+                        42L));
+        long waited = System.nanoTime() - start;
+        client.release.countDown();
+        leader.join();
+
+        assertInstanceOf(
+                ScMemoryTimeoutException.class,
+                e.getCause());
+        assertTrue(waited < Duration.ofSeconds(2)
+                                    .toNanos());
+        assertEquals(
+                1,
+                client.calls.get());
+    }
+
+    @Test
+    void followerMakesItsOwnCallWhenLeaderTimesOut() throws Exception {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>();
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch leaderCalled = new CountDownLatch(1);
+        CountDownLatch followerStarted = new CountDownLatch(1);
+        AtomicReference<Exception> leaderError = new AtomicReference<>();
+        Thread leader = new Thread(() -> {
+            try {
+                singleFlight.execute(
+                        "key",
+                        Duration.ofSeconds(5),
+                        () -> {
+                            calls.incrementAndGet();
+                            leaderCalled.countDown();
+                            try {
+                                followerStarted.await();
+                            } catch (InterruptedException e) {
+                                throw new ScMemoryException(e);
+                            }
+                            throw new ScMemoryTimeoutException(
+                                    "no answer",
+                                    null);
+                        });
+            } catch (ScMemoryException e) {
+                leaderError.set(e);
+            }
+        });
+        leader.start();
+        leaderCalled.await();
+
+        followerStarted.countDown();
+        String result = singleFlight.execute(
+                "key",
+                Duration.ofSeconds(5),
+                () -> {
+                    calls.incrementAndGet();
+                    return "answer";
+                });
+        leader.join();
+
+        assertEquals(
+                "answer",
+                result);
+        assertEquals(
+                2,
+                calls.get());
+        assertInstanceOf(
+                ScMemoryTimeoutException.class,
+                leaderError.get());
+    }
+
+    @Test
+    void bigReadRequestsAreNotShared() throws Exception {
+        BlockingClient client = new BlockingClient();
+        RequestSender sender = new RequestSenderImpl(client);
+        CheckScElTypeRequest request = new CheckScElTypeRequestImpl();
+        for (long address = 1_000_000; address < 1_010_000; address++) {
+            request.add(address);
+        }
+        Thread leader = new Thread(() -> {
+            try {
+                sender.sendCheckScElTypeRequest(request);
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+        leader.start();
+        client.sent.await();
+        Thread second = new Thread(() -> {
+            try {
+                sender.sendCheckScElTypeRequest(request);
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+        second.start();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (client.calls.get() < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        client.release.countDown();
+        leader.join();
+        second.join();
+
+        assertEquals(
+                2,
+                client.calls.get());
+    }
+
+    @Test
+    void resolvingKeynodesIsNotReadOnly() {
+        KeynodeRequestImpl request = new KeynodeRequestImpl();
+        assertTrue(request.isReadOnly());
+        request.addAllIdtf(List.of(new ResolveKeynodeStruct(
+                "idtf",
+                NodeType.CONST)));
+        assertFalse(request.isReadOnly());
+    }
+
+    private static CheckScElTypeResponse check(RequestSender sender, long address) {
+        CheckScElTypeRequest request = new CheckScElTypeRequestImpl();
+        request.add(address);
+        try {
+            return sender.sendCheckScElTypeRequest(request);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Answers requests after the release latch is opened.
+     */
+    private static class BlockingClient implements OstisClient {
+        private final ObjectMapper mapper = new ObjectMapper().configure(
+                DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES,
+                false);
+        private final AtomicInteger calls = new AtomicInteger();
+        private final CountDownLatch sent = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public void open() {
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public String sendToOstis(String jsonRequest) throws OstisConnectionException {
+            return sendToOstis(
+                    0,
+                    jsonRequest,
+                    getDefaultTimeout());
+        }
+
+        @Override
+        public String sendToOstis(long requestId, String jsonRequest, Duration timeout) throws OstisConnectionException {
+            return sendToOstis(
+                    requestId,
+                    jsonRequest,
+                    String.class,
+                    timeout);
+        }
+
+        @Override
+        public <T> T sendToOstis(long requestId,
+                                 String jsonRequest,
+                                 Class<T> responseType,
+                                 Duration timeout) throws OstisConnectionException {
+            calls.incrementAndGet();
+            sent.countDown();
+            try {
+                release.await();
+                return mapper.readValue(
+                        "{\"event\":0,\"id\":" + requestId + ",\"payload\":[1],\"status\":1}",
+                        responseType);
+            } catch (Exception e) {
+                throw new OstisConnectionException(
+                        "cannot answer",
+                        e);
+            }
+        }
+
+        @Override
+        public Duration getDefaultTimeout() {
+            return Duration.ofSeconds(5);
+        }
+
+        @Override
+        public URI getConfiguration() {
+            return URI.create("ws://localhost:8090/ws_json");
+        }
+
+        @Override
+        public String getName() {
+            return "Blocking client";
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
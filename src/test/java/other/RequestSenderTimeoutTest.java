@@ -0,0 +1,109 @@
+package other;
+
+import org.junit.jupiter.api.Test;
+import org.ostis.scmemory.model.exception.ScMemoryException;
+import org.ostis.scmemory.model.exception.ScMemoryTimeoutException;
+import org.ostis.scmemory.websocketmemory.core.OstisClient;
+import org.ostis.scmemory.websocketmemory.memory.exception.OstisConnectionException;
+import org.ostis.scmemory.websocketmemory.memory.exception.OstisTimeoutException;
+import org.ostis.scmemory.websocketmemory.memory.message.request.KeynodeRequestImpl;
+import org.ostis.scmemory.websocketmemory.memory.sender.RequestSenderImpl;
+import org.ostis.scmemory.websocketmemory.sender.RequestSender;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class RequestSenderTimeoutTest {
+
+    @Test
+    void defaultAndPerCallTimeouts() throws Exception {
+        TimingOutClient client = new TimingOutClient();
+        RequestSender sender = new RequestSenderImpl(client);
+
+        assertThrows(
+                ScMemoryTimeoutException.class,
+                () -> sender.sendKeynodeRequest(new KeynodeRequestImpl()));
+        assertThrows(
+                ScMemoryTimeoutException.class,
+                () -> sender.withTimeout(Duration.ofMillis(5))
+                            .sendKeynodeRequest(new KeynodeRequestImpl()));
+        assertEquals(
+                List.of(
+                        Duration.ofSeconds(7),
+                        Duration.ofMillis(5)),
+                client.timeouts);
+    }
+
+    @Test
+    void timeoutIsScMemoryException() {
+        RequestSender sender = new RequestSenderImpl(new TimingOutClient());
+        assertThrows(
+                ScMemoryException.class,
+                () -> sender.sendKeynodeRequest(new KeynodeRequestImpl()));
+    }
+
+    private static class TimingOutClient implements OstisClient {
+        private final List<Duration> timeouts = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void open() {
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public String sendToOstis(String jsonRequest) throws OstisConnectionException {
+            return sendToOstis(
+                    0,
+                    jsonRequest,
+                    getDefaultTimeout());
+        }
+
+        @Override
+        public String sendToOstis(long requestId, String jsonRequest, Duration timeout) throws OstisConnectionException {
+            return sendToOstis(
+                    requestId,
+                    jsonRequest,
+                    String.class,
+                    timeout);
+        }
+
+        @Override
+        public <T> T sendToOstis(long requestId,
+                                 String jsonRequest,
+                                 Class<T> responseType,
+                                 Duration timeout) throws OstisConnectionException {
+            timeouts.add(timeout);
+            throw new OstisTimeoutException(
+                    "no response to the request " + requestId,
+                    null);
+        }
+
+        @Override
+        public Duration getDefaultTimeout() {
+            return Duration.ofSeconds(7);
+        }
+
+        @Override
+        public URI getConfiguration() {
+            return URI.create("ws://localhost:8090/ws_json");
+        }
+
+        @Override
+        public String getName() {
+            return "Timing out client";
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
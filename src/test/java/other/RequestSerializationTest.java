@@ -0,0 +1,106 @@
+package other;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.Annotated;
+import com.fasterxml.jackson.databind.introspect.JacksonAnnotationIntrospector;
+import org.junit.jupiter.api.Test;
+import org.ostis.scmemory.model.element.UnknownScElement;
+import org.ostis.scmemory.model.element.edge.EdgeType;
+import org.ostis.scmemory.model.element.link.LinkType;
+import org.ostis.scmemory.model.element.node.NodeType;
+import org.ostis.scmemory.websocketmemory.memory.element.ScEdgeImpl;
+import org.ostis.scmemory.websocketmemory.memory.element.ScLinkStringImpl;
+import org.ostis.scmemory.websocketmemory.memory.element.ScNodeImpl;
+import org.ostis.scmemory.websocketmemory.memory.message.request.CreateScElRequestImpl;
+import org.ostis.scmemory.websocketmemory.memory.message.request.FindByPatternRequestImpl;
+import org.ostis.scmemory.websocketmemory.memory.pattern.GeneratingPatternTriple;
+import org.ostis.scmemory.websocketmemory.memory.pattern.SearchingPatternTriple;
+import org.ostis.scmemory.websocketmemory.memory.pattern.element.AliasPatternElement;
+import org.ostis.scmemory.websocketmemory.memory.pattern.element.FixedPatternElement;
+import org.ostis.scmemory.websocketmemory.memory.pattern.element.TypePatternElement;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class RequestSerializationTest {
+    private final ObjectMapper handWritten = new ObjectMapper();
+    //    the same mapper without @JsonSerialize, so elements are written by bean introspection as before
+    private final ObjectMapper reflective = new ObjectMapper().setAnnotationIntrospector(new JacksonAnnotationIntrospector() {
+        @Override
+        public Object findSerializer(Annotated a) {
+            return null;
+        }
+    });
+
+    @Test
+    void elementsAreWrittenAsBefore() throws Exception {
+        ScNodeImpl node = new ScNodeImpl(
+                NodeType.CONST,
+                5L);
+        ScEdgeImpl edge = new ScEdgeImpl(
+                EdgeType.ACCESS,
+                node,
+                node);
+
+        assertEquals(
+                "{\"el\":\"node\",\"type\":33}",
+                handWritten.writeValueAsString(node));
+        assertEquals(
+                "{\"el\":\"edge\",\"src\":{\"type\":\"addr\",\"value\":5},\"trg\":{\"type\":\"addr\",\"value\":5},\"type\":16}",
+                handWritten.writeValueAsString(edge));
+        assertSameJson(new ScNodeImpl(NodeType.VAR));
+        assertSameJson(new ScEdgeImpl(
+                EdgeType.ACCESS,
+                7L));
+    }
+
+    @Test
+    void patternsAreWrittenAsBefore() throws Exception {
+        ScNodeImpl node = new ScNodeImpl(
+                NodeType.CONST,
+                5L);
+        SearchingPatternTriple searching = new SearchingPatternTriple(
+                new FixedPatternElement(node),
+                new TypePatternElement<>(
+                        EdgeType.ACCESS,
+                        new AliasPatternElement("e")),
+                new TypePatternElement<>(
+                        UnknownScElement.ELEMENT,
+                        new AliasPatternElement("x")));
+        FindByPatternRequestImpl request = new FindByPatternRequestImpl();
+        request.addComponent(searching);
+
+        assertSameJson(searching);
+        assertSameJson(request);
+        assertSameJson(new GeneratingPatternTriple(
+                new AliasPatternElement("x"),
+                new TypePatternElement<>(
+                        LinkType.LINK,
+                        new AliasPatternElement(null)),
+                new FixedPatternElement(node)));
+    }
+
+    @Test
+    void createRequestIsWrittenAsBefore() throws Exception {
+        ScNodeImpl node = new ScNodeImpl(
+                NodeType.CONST,
+                5L);
+        CreateScElRequestImpl request = new CreateScElRequestImpl();
+        request.addToRequest(List.of(
+                node,
+                new ScEdgeImpl(
+                        EdgeType.ACCESS,
+                        node,
+                        node),
+                new ScLinkStringImpl(LinkType.LINK_CONST)));
+
+        assertSameJson(request);
+    }
+
+    private void assertSameJson(Object value) throws Exception {
+        assertEquals(
+                reflective.writeValueAsString(value),
+                handWritten.writeValueAsString(value));
+    }
+}
@@ -0,0 +1,78 @@
+package other;
+
+import org.junit.jupiter.api.Test;
+import org.ostis.api.context.DefaultScContext;
+import org.ostis.scmemory.model.ScMemory;
+import org.ostis.scmemory.model.element.ScElement;
+import org.ostis.scmemory.model.element.edge.EdgeType;
+import org.ostis.scmemory.model.element.node.NodeType;
+import org.ostis.scmemory.websocketmemory.memory.element.ScEdgeImpl;
+import org.ostis.scmemory.websocketmemory.memory.element.ScNodeImpl;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ResolveEdgeTest {
+    private final ScElement source = new ScNodeImpl(
+            NodeType.CONST,
+            1L);
+    private final ScElement target = new ScNodeImpl(
+            NodeType.CONST,
+            2L);
+
+    @Test
+    void variableTypeIsCreatedAsConstant() throws Exception {
+        List<EdgeType> created = new CopyOnWriteArrayList<>();
+        new DefaultScContext(memoryWithoutEdges(created)).resolveEdge(
+                source,
+                EdgeType.ACCESS_VAR_POS_PERM,
+                target);
+
+        assertEquals(
+                List.of(EdgeType.ACCESS_CONST_POS_PERM),
+                created);
+    }
+
+    @Test
+    void constantTypeIsCreatedAsIs() throws Exception {
+        List<EdgeType> created = new CopyOnWriteArrayList<>();
+        new DefaultScContext(memoryWithoutEdges(created)).resolveEdge(
+                source,
+                EdgeType.D_COMMON_CONST,
+                target);
+
+        assertEquals(
+                List.of(EdgeType.D_COMMON_CONST),
+                created);
+    }
+
+    /**
+     * @param created types of created edges are added here
+     * @return memory where no edge is found and every edge can be created
+     */
+    @SuppressWarnings("unchecked")
+    private static ScMemory memoryWithoutEdges(List<EdgeType> created) {
+        return (ScMemory) Proxy.newProxyInstance(
+                ScMemory.class.getClassLoader(),
+                new Class<?>[]{ScMemory.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findFirstByPattern3" -> Optional.empty();
+                    case "createEdges" -> ((Stream<EdgeType>) args[0]).map(type -> {
+                        created.add(type);
+                        return new ScEdgeImpl(
+                                type,
+                                (ScElement) ((Stream<?>) args[1]).findFirst()
+                                                                 .orElseThrow(),
+                                (ScElement) ((Stream<?>) args[2]).findFirst()
+                                                                 .orElseThrow(),
+                                3L);
+                    });
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,107 @@
+package other;
+
+import org.junit.jupiter.api.Test;
+import org.ostis.scmemory.model.element.edge.EdgeType;
+import org.ostis.scmemory.model.element.node.NodeType;
+import org.ostis.scmemory.websocketmemory.memory.element.ScEdgeImpl;
+import org.ostis.scmemory.websocketmemory.memory.element.ScElementIdentityMap;
+import org.ostis.scmemory.websocketmemory.memory.element.ScNodeImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class ScElementIdentityMapTest {
+
+    @Test
+    void sameElementIsReturned() {
+        ScElementIdentityMap map = new ScElementIdentityMap();
+        ScNodeImpl first = map.intern(new ScNodeImpl(
+                NodeType.CONST,
+                42L));
+
+        ScNodeImpl second = map.intern(new ScNodeImpl(
+                NodeType.CONST,
+                42L));
+
+        assertSame(
+                first,
+                second);
+        assertSame(
+                first,
+                map.get(42));
+    }
+
+    @Test
+    void elementOfOtherTypeReplacesKnownOne() {
+        ScElementIdentityMap map = new ScElementIdentityMap();
+        ScNodeImpl node = map.intern(new ScNodeImpl(
+                NodeType.CONST,
+                42L));
+
+        ScNodeImpl otherType = map.intern(new ScNodeImpl(
+                NodeType.CONST_CLASS,
+                42L));
+        ScEdgeImpl edge = map.intern(new ScEdgeImpl(
+                EdgeType.ACCESS,
+                42L));
+
+        assertNotSame(
+                node,
+                otherType);
+        assertSame(
+                edge,
+                map.get(42));
+    }
+
+    @Test
+    void manyElementsAreStoredAndRemoved() {
+        ScElementIdentityMap map = new ScElementIdentityMap();
+        List<ScNodeImpl> nodes = new ArrayList<>();
+        for (long address = 1; address <= 10_000; address++) {
+            nodes.add(map.intern(new ScNodeImpl(
+                    NodeType.CONST,
+                    address)));
+        }
+        assertEquals(
+                10_000,
+                map.size());
+
+        for (long address = 1; address <= 10_000; address += 2) {
+            map.remove(address);
+        }
+
+        assertEquals(
+                5_000,
+                map.size());
+        assertNull(map.get(1));
+        for (long address = 2; address <= 10_000; address += 2) {
+            assertSame(
+                    nodes.get((int) address - 1),
+                    map.get(address));
+        }
+    }
+
+    @Test
+    void unusedElementsAreCollected() throws Exception {
+        ScElementIdentityMap map = new ScElementIdentityMap();
+        for (long address = 1; address <= 1000; address++) {
+            map.intern(new ScNodeImpl(
+                    NodeType.CONST,
+                    address));
+        }
+
+        for (int i = 0; i < 50 && map.size() > 0; i++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+
+        assertEquals(
+                0,
+                map.size());
+    }
+}
@@ -0,0 +1,108 @@
+package other;
+
+import org.junit.jupiter.api.Test;
+import org.ostis.scmemory.model.element.node.NodeType;
+import org.ostis.scmemory.model.event.EventType;
+import org.ostis.scmemory.model.event.OnDeleteEvent;
+import org.ostis.scmemory.model.event.ScEventNotification;
+import org.ostis.scmemory.model.event.ScEventOverflowPolicy;
+import org.ostis.scmemory.model.event.ScEventPublisherImpl;
+import org.ostis.scmemory.model.exception.ScMemoryException;
+import org.ostis.scmemory.websocketmemory.memory.element.ScNodeImpl;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ScEventPublisherTest {
+
+    @Test
+    void overflowIsDroppedByDefault() throws Exception {
+        ScEventPublisherImpl publisher = new ScEventPublisherImpl(
+                null,
+                EventType.ON_DELETE_ELEMENT,
+                Runnable::run,
+                1);
+        StalledSubscriber subscriber = new StalledSubscriber();
+        publisher.subscribe(subscriber);
+
+        publishDeletions(
+                publisher,
+                3);
+
+        assertEquals(
+                ScEventOverflowPolicy.DROP,
+                publisher.getOverflowPolicy());
+        assertEquals(
+                2,
+                publisher.getDroppedCount());
+        assertNull(subscriber.error.get());
+    }
+
+    @Test
+    void overflowFailsSubscribersWithErrorPolicy() throws Exception {
+        ScEventPublisherImpl publisher = new ScEventPublisherImpl(
+                null,
+                EventType.ON_DELETE_ELEMENT,
+                Runnable::run,
+                1,
+                ScEventOverflowPolicy.ERROR);
+        StalledSubscriber subscriber = new StalledSubscriber();
+        publisher.subscribe(subscriber);
+
+        publishDeletions(
+                publisher,
+                3);
+
+        assertTrue(subscriber.failed.await(
+                5,
+                TimeUnit.SECONDS));
+        assertInstanceOf(
+                ScMemoryException.class,
+                subscriber.error.get());
+        assertEquals(
+                1,
+                publisher.getDroppedCount());
+    }
+
+    private static void publishDeletions(ScEventPublisherImpl publisher, int count) {
+        OnDeleteEvent consumer = (OnDeleteEvent) publisher.getEventConsumer();
+        for (long i = 1; i <= count; i++) {
+            consumer.onEvent(new ScNodeImpl(
+                    NodeType.CONST,
+                    i));
+        }
+    }
+
+    /**
+     * Subscribes but never requests notifications.
+     */
+    private static class StalledSubscriber implements Flow.Subscriber<ScEventNotification> {
+        private final AtomicReference<Throwable> error = new AtomicReference<>();
+        private final CountDownLatch failed = new CountDownLatch(1);
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+        }
+
+        @Override
+        public void onNext(ScEventNotification item) {
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error.set(throwable);
+            failed.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package other;
+
+import org.junit.jupiter.api.Test;
+import org.ostis.scmemory.model.element.edge.EdgeType;
+import org.ostis.scmemory.model.element.node.NodeType;
+import org.ostis.scmemory.model.pattern.ScPattern;
+import org.ostis.scmemory.model.pattern.ScPatternTriplet;
+import org.ostis.scmemory.model.pattern.element.ScAliasedElement;
+import org.ostis.scmemory.model.pattern.element.ScTypedElement;
+import org.ostis.scmemory.websocketmemory.memory.element.ScNodeImpl;
+import org.ostis.scmemory.websocketmemory.memory.pattern.ScPatternBuilder;
+import org.ostis.scmemory.websocketmemory.memory.pattern.element.AliasPatternElement;
+import org.ostis.scmemory.websocketmemory.memory.structures.ScElementColumns;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ScPatternBuilderTest {
+
+    @Test
+    void referencesUseTheSameAlias() {
+        ScPatternBuilder b = new ScPatternBuilder();
+        ScPattern pattern = b.triple(
+                                     b.fixed(new ScNodeImpl(
+                                             NodeType.CONST,
+                                             1L)),
+                                     b.var(
+                                             EdgeType.D_COMMON_VAR,
+                                             "edge"),
+                                     b.var(
+                                             NodeType.VAR,
+                                             "target"))
+                             .triple(
+                                     b.fixed(new ScNodeImpl(
+                                             NodeType.CONST,
+                                             2L)),
+                                     b.var(
+                                             EdgeType.ACCESS_VAR_POS_PERM,
+                                             "rel_edge"),
+                                     b.ref("edge"))
+                             .build();
+        List<ScPatternTriplet> triplets = pattern.getElements()
+                                                 .toList();
+
+        assertEquals(
+                2,
+                triplets.size());
+        assertSame(
+                ((ScTypedElement<?>) triplets.get(0)
+                                             .get2()).getAlias(),
+                triplets.get(1)
+                        .get3());
+        assertEquals(
+                List.of(
+                        "edge",
+                        "target",
+                        "rel_edge"),
+                b.getNames());
+    }
+
+    @Test
+    void aliasesWithTheSameNameAreEqual() {
+        Map<ScAliasedElement, Integer> columns = new HashMap<>();
+        columns.put(
+                new AliasPatternElement("edge"),
+                1);
+
+        assertEquals(
+                new AliasPatternElement("edge"),
+                new AliasPatternElement("edge"));
+        assertNotEquals(
+                new AliasPatternElement("edge"),
+                new AliasPatternElement("target"));
+        assertEquals(
+                Integer.valueOf(1),
+                columns.get(new AliasPatternElement("edge")));
+    }
+
+    @Test
+    void wrongNamesAreRejected() {
+        ScPatternBuilder b = new ScPatternBuilder();
+        b.var(
+                NodeType.VAR,
+                "x");
+
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> b.var(
+                        NodeType.VAR,
+                        "x"));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> b.ref(""));
+        assertThrows(
+                IllegalStateException.class,
+                b::build);
+
+        b.triple(
+                b.ref("x"),
+                b.var(
+                        EdgeType.ACCESS_VAR_POS_PERM,
+                        "e"),
+                b.ref("y"));
+        assertThrows(
+                IllegalStateException.class,
+                b::build);
+    }
+
+    @Test
+    void columnsAreFoundByAlias() {
+        ScElementColumns columns = new ScElementColumns(
+                List.of(
+                        "edge",
+                        "target"),
+                new long[][]{{10, 11}, {20, 21}},
+                new short[][]{{(short) 2224, (short) 2224}, {33, 33}},
+                2,
+                (address, typeCode) -> new ScNodeImpl(
+                        NodeType.CONST,
+                        address));
+
+        assertEquals(
+                2,
+                columns.getRowCount());
+        assertEquals(
+                21L,
+                columns.getAddress(
+                        "target",
+                        1));
+        assertEquals(
+                2224,
+                columns.getTypeCode(
+                        "edge",
+                        0));
+        assertEquals(
+                Long.valueOf(20L),
+                columns.get(
+                                "target",
+                                0)
+                       .getAddress());
+        assertEquals(
+                List.of(
+                        10L,
+                        11L),
+                Arrays.stream(columns.getAddresses("edge"))
+                      .boxed()
+                      .toList());
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> columns.getAddresses("source"));
+        assertThrows(
+                IndexOutOfBoundsException.class,
+                () -> columns.get(
+                        "edge",
+                        2));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new ScElementColumns(
+                        List.of("edge"),
+                        new long[][]{{1}},
+                        new short[][]{{}},
+                        1,
+                        (address, typeCode) -> null));
+    }
+}
@@ -0,0 +1,69 @@
+package other;
+
+import org.junit.jupiter.api.Test;
+import org.ostis.scmemory.model.element.edge.EdgeType;
+import org.ostis.scmemory.model.element.link.LinkType;
+import org.ostis.scmemory.model.element.node.NodeType;
+import org.ostis.scmemory.websocketmemory.util.api.ScTypesMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class ScTypesMapTest {
+
+    @Test
+    void everyTypeIsFoundByCode() {
+        for (NodeType type : NodeType.values()) {
+            assertSame(
+                    type,
+                    ScTypesMap.INSTANCE.getType(type.getCode()));
+        }
+        for (EdgeType type : EdgeType.values()) {
+            assertSame(
+                    type,
+                    ScTypesMap.INSTANCE.getType(type.getCode()));
+        }
+        for (LinkType type : LinkType.values()) {
+            assertSame(
+                    type,
+                    ScTypesMap.INSTANCE.getType(type.getCode()));
+        }
+        assertNull(ScTypesMap.INSTANCE.getType(0));
+        assertNull(ScTypesMap.INSTANCE.getType(-1));
+        assertNull(ScTypesMap.INSTANCE.getType(1 << 20));
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    void boxedCodeIsStillAccepted() {
+        assertSame(
+                NodeType.CONST,
+                ScTypesMap.INSTANCE.getType(Integer.valueOf(NodeType.CONST.getCode())));
+        assertNull(ScTypesMap.INSTANCE.getType((Integer) null));
+    }
+
+    @Test
+    void variableAndConstantEdgeTypesAreMapped() {
+        assertSame(
+                EdgeType.ACCESS_CONST_POS_PERM,
+                EdgeType.ACCESS_VAR_POS_PERM.toConst());
+        assertSame(
+                EdgeType.D_COMMON_VAR,
+                EdgeType.D_COMMON_CONST.toVar());
+        assertNull(EdgeType.ACCESS.toConst());
+        assertNull(EdgeType.ACCESS_CONST_FUZ_TEMP.toConst());
+        for (EdgeType type : EdgeType.values()) {
+            if (type.toConst() != null) {
+                assertEquals(
+                        type.getCode() - 32,
+                        type.toConst()
+                            .getCode());
+                assertSame(
+                        type,
+                        type.toConst()
+                            .toVar());
+            }
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package other;
+
+import org.junit.jupiter.api.Test;
+import org.ostis.scmemory.websocketmemory.memory.core.AbstractOstisClient;
+import org.ostis.scmemory.websocketmemory.memory.core.ReconnectPolicy;
+import org.ostis.scmemory.websocketmemory.memory.exception.OstisConnectionException;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SendFailureTest {
+
+    @Test
+    void failedSendFailsOnlyItsRequestWithoutWaitingForTimeout() throws Exception {
+        FailingClient client = new FailingClient();
+        long start = System.nanoTime();
+
+        OstisConnectionException e = assertThrows(
+                OstisConnectionException.class,
+                () -> client.sendToOstis(
+                        1,
+                        "{\"id\":1,\"fail\":true}",
+                        Duration.ofSeconds(30)));
+
+        assertTrue(Duration.ofNanos(System.nanoTime() - start)
+                           .compareTo(Duration.ofSeconds(10)) < 0);
+        assertEquals(
+                "cannot send the request 1",
+                e.getMessage());
+        assertEquals(
+                "{\"id\":2,\"event\":0,\"status\":1,\"payload\":[]}",
+                client.sendToOstis(
+                        2,
+                        "{\"id\":2}",
+                        Duration.ofSeconds(30)));
+    }
+
+    /**
+     * Sends messages asynchronously, messages with the {@code fail} field are not sent.
+     */
+    private static class FailingClient extends AbstractOstisClient {
+
+        FailingClient() {
+            super(
+                    URI.create("ws://localhost:8090/ws_json"),
+                    event -> {
+                    },
+                    "Failing client",
+                    ReconnectPolicy.disabled(),
+                    () -> {
+                    });
+        }
+
+        @Override
+        protected void connect() {
+        }
+
+        @Override
+        protected void disconnect() {
+        }
+
+        @Override
+        protected void sendMessage(String message) {
+            CompletableFuture.runAsync(() -> {
+                if (message.contains("fail")) {
+                    onSendFailed(
+                            message,
+                            new IOException("output is closed"));
+                } else {
+                    onMessage("{\"id\":2,\"event\":0,\"status\":1,\"payload\":[]}");
+                }
+            });
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package other;
+
+import org.junit.jupiter.api.Test;
+import org.ostis.scmemory.websocketmemory.memory.core.AbstractOstisClient;
+import org.ostis.scmemory.websocketmemory.memory.core.ReconnectPolicy;
+import org.ostis.scmemory.websocketmemory.memory.exception.OstisConnectionException;
+
+import java.io.StringReader;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class StreamedReceiveTest {
+
+    @Test
+    void typedResponseIsReadFromStream() throws Exception {
+        StreamingClient client = new StreamingClient();
+        client.responses.add("{\"errors\":[],\"event\":0,\"id\":3,\"payload\":[10,20,30],\"status\":true}");
+
+        Response response = client.sendToOstis(
+                3,
+                "{\"id\":3}",
+                Response.class,
+                Duration.ofSeconds(1));
+
+        assertEquals(
+                3,
+                response.id());
+        assertEquals(
+                List.of(
+                        10L,
+                        20L,
+                        30L),
+                response.payload());
+    }
+
+    @Test
+    void stringResponseIsReadFromStream() throws Exception {
+        StreamingClient client = new StreamingClient();
+        client.responses.add("{\"event\":0,\"id\":4,\"payload\":{\"a\":[1]},\"status\":true}");
+
+        String response = client.sendToOstis(
+                4,
+                "{\"id\":4}",
+                Duration.ofSeconds(1));
+
+        assertEquals(
+                "{\"event\":0,\"id\":4,\"payload\":{\"a\":[1]},\"status\":true}",
+                response);
+    }
+
+    @Test
+    void payloadBeforeHeaderIsBuffered() throws Exception {
+        StreamingClient client = new StreamingClient();
+        client.responses.add("{\"payload\":[7,8],\"status\":true,\"id\":9,\"event\":0}");
+
+        Response response = client.sendToOstis(
+                9,
+                "{\"id\":9}",
+                Response.class,
+                Duration.ofSeconds(1));
+
+        assertEquals(
+                9,
+                response.id());
+        assertEquals(
+                List.of(
+                        7L,
+                        8L),
+                response.payload());
+    }
+
+    @Test
+    void responsesToUnknownRequestsAreSkipped() throws Exception {
+        StreamingClient client = new StreamingClient();
+        client.responses.add("{\"event\":0,\"id\":100,\"payload\":[[1,2],[3,4]],\"status\":true}");
+        client.responses.add("{\"event\":0,\"id\":5,\"payload\":[1],\"status\":true}");
+
+        Response response = client.sendToOstis(
+                5,
+                "{\"id\":5}",
+                Response.class,
+                Duration.ofSeconds(1));
+
+        assertEquals(
+                List.of(1L),
+                response.payload());
+    }
+
+    @Test
+    void brokenResponseFailsRequest() {
+        StreamingClient client = new StreamingClient();
+        client.responses.add("{\"event\":0,\"id\":6,\"payload\":[1,");
+
+        assertThrows(
+                OstisConnectionException.class,
+                () -> client.sendToOstis(
+                        6,
+                        "{\"id\":6}",
+                        Response.class,
+                        Duration.ofSeconds(1)));
+    }
+
+    private record Response(long id, boolean status, List<Long> payload) {
+    }
+
+    /**
+     * Answers every request with the prepared messages, they are passed as streams.
+     */
+    private static class StreamingClient extends AbstractOstisClient {
+        private final List<String> responses = new ArrayList<>();
+
+        StreamingClient() {
+            super(
+                    URI.create("ws://localhost:8090/ws_json"),
+                    event -> {
+                    },
+                    "Streaming client",
+                    ReconnectPolicy.disabled(),
+                    () -> {
+                    });
+        }
+
+        @Override
+        protected void connect() {
+        }
+
+        @Override
+        protected void disconnect() {
+        }
+
+        @Override
+        protected void sendMessage(String message) {
+            for (String response : responses) {
+                onMessage(new StringReader(response));
+            }
+            responses.clear();
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+    }
+}
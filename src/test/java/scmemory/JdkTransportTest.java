@@ -0,0 +1,61 @@
+package scmemory;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.ostis.scmemory.model.ScMemory;
+import org.ostis.scmemory.model.element.edge.EdgeType;
+import org.ostis.scmemory.model.element.link.LinkType;
+import org.ostis.scmemory.model.element.node.NodeType;
+import org.ostis.scmemory.websocketmemory.memory.SyncOstisScMemory;
+import org.ostis.scmemory.websocketmemory.memory.core.OstisClientFactory;
+import org.ostis.scmemory.websocketmemory.memory.core.ReconnectPolicy;
+
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class JdkTransportTest {
+    private ScMemory scMemory;
+
+    @BeforeEach
+    public void init() throws Exception {
+        scMemory = new SyncOstisScMemory(
+                new URI("ws://localhost:8090/ws_json"),
+                ReconnectPolicy.defaultPolicy(),
+                OstisClientFactory.jdk());
+        scMemory.open();
+    }
+
+    @AfterEach
+    public void shutdown() throws Exception {
+        scMemory.close();
+    }
+
+    @Test
+    @Timeout(value = 5000, unit = TimeUnit.MILLISECONDS)
+    void createEdgeBetweenNodes() throws Exception {
+        var source = scMemory.createNodes(Stream.of(NodeType.NODE)).findFirst().get();
+        var target = scMemory.createNodes(Stream.of(NodeType.NODE)).findFirst().get();
+        var edge = scMemory.createEdges(Stream.of(EdgeType.ACCESS), Stream.of(source), Stream.of(target)).findFirst().get();
+        assertEquals(source, edge.getSource());
+        assertEquals(target, edge.getTarget());
+        assertEquals(true, scMemory.deleteElements(Stream.of(source, target)));
+    }
+
+    @Test
+    @Timeout(value = 5000, unit = TimeUnit.MILLISECONDS)
+    void bigLinkContent() throws Exception {
+        String content = IntStream.range(0, 100_000)
+                                  .mapToObj(Integer::toString)
+                                  .collect(Collectors.joining(","));
+        var link = scMemory.createStringLinks(Stream.of(LinkType.LINK), Stream.of(content)).findFirst().get();
+        assertEquals(content, scMemory.getStringLinkContent(Stream.of(link)).findFirst().get());
+        scMemory.deleteElements(Stream.of(link));
+    }
+}
@@ -13,14 +13,20 @@ import org.ostis.scmemory.model.event.EventType;
 import org.ostis.scmemory.model.event.OnAddIngoingEdgeEvent;
 import org.ostis.scmemory.model.event.OnAddOutgoingEdgeEvent;
 import org.ostis.scmemory.model.event.OnDeleteEvent;
+import org.ostis.scmemory.model.event.ScEventNotification;
 import org.ostis.scmemory.websocketmemory.memory.SyncOstisScMemory;
 
 import java.net.URI;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class ScMemoryEventsTest {
 
@@ -181,6 +187,80 @@ public class ScMemoryEventsTest {
                 event.deletedElement.getAddress());
     }
 
+    @Test
+    @Timeout(value = 5000, unit = TimeUnit.MILLISECONDS)
+    void publishEventsOnRequest() throws Exception {
+        var node1 = scMemory.createNodes(Stream.of(NodeType.NODE))
+                            .findFirst()
+                            .get();
+        var publisher = scMemory.publishEvents(
+                node1,
+                EventType.ON_ADD_OUTGOING_EDGE,
+                ForkJoinPool.commonPool(),
+                Flow.defaultBufferSize());
+        var subscriber = new DummySubscriber();
+        publisher.subscribe(subscriber);
+
+        var node2 = scMemory.createNodes(Stream.of(NodeType.NODE))
+                            .findFirst()
+                            .get();
+        var edge = scMemory.createEdges(
+                                   Stream.of(EdgeType.ACCESS),
+                                   Stream.of(node1),
+                                   Stream.of(node2))
+                           .findFirst()
+                           .get();
+
+        Thread.sleep(1000);
+        assertTrue(subscriber.notifications.isEmpty());
+
+        subscriber.subscription.request(1);
+        Thread.sleep(500);
+
+        assertEquals(
+                1,
+                subscriber.notifications.size());
+        var notification = subscriber.notifications.get(0);
+        assertEquals(
+                node1.getAddress(),
+                notification.getTrackingElement()
+                            .getAddress());
+        assertEquals(
+                edge.getAddress(),
+                notification.getEdge()
+                            .get()
+                            .getAddress());
+        assertEquals(
+                node2.getAddress(),
+                notification.getEdgeTarget()
+                            .get()
+                            .getAddress());
+        publisher.close();
+    }
+
+    private static class DummySubscriber implements Flow.Subscriber<ScEventNotification> {
+        final List<ScEventNotification> notifications = new CopyOnWriteArrayList<>();
+        Flow.Subscription subscription;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(ScEventNotification item) {
+            notifications.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+        }
+
+        @Override
+        public void onComplete() {
+        }
+    }
+
     private static class DummyOnAddOutgoingEdgeEvent implements OnAddOutgoingEdgeEvent {
         ScElement mainElement;
         ScEdge edge;
@@ -7,18 +7,23 @@ import org.junit.jupiter.api.Timeout;
 import org.ostis.scmemory.model.ScMemory;
 import org.ostis.scmemory.model.element.edge.EdgeType;
 import org.ostis.scmemory.model.element.edge.ScEdge;
+import org.ostis.scmemory.model.element.link.LinkContentType;
 import org.ostis.scmemory.model.element.link.LinkType;
 import org.ostis.scmemory.model.element.link.ScLink;
+import org.ostis.scmemory.model.element.link.ScLinkLazy;
+import org.ostis.scmemory.model.element.link.ScLinkString;
 import org.ostis.scmemory.model.element.node.NodeType;
 import org.ostis.scmemory.model.element.node.ScNode;
 import org.ostis.scmemory.model.pattern.factory.DefaultScPattern3Factory;
 import org.ostis.scmemory.websocketmemory.memory.SyncOstisScMemory;
 
 import java.net.URI;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 public class ScMemoryFindPattern3Test {
     private ScMemory scMemory;
@@ -72,6 +77,37 @@ public class ScMemoryFindPattern3Test {
                 x.getEdge());
     }
 
+    @Test
+    @Timeout(value = 5000, unit = TimeUnit.MILLISECONDS)
+    void foundEdgeTakesEndpointsFromTheSameConstruction() throws Exception {
+        ScNode source = scMemory.createNodes(Stream.of(NodeType.NODE))
+                                .findFirst()
+                                .get();
+        ScNode target = scMemory.createNodes(Stream.of(NodeType.NODE))
+                                .findFirst()
+                                .get();
+        scMemory.createEdges(
+                        Stream.of(EdgeType.ACCESS),
+                        Stream.of(source),
+                        Stream.of(target))
+                .findFirst()
+                .get();
+        var x = scMemory.findByPattern3(DefaultScPattern3Factory.get(
+                                source,
+                                EdgeType.ACCESS,
+                                NodeType.NODE))
+                        .findFirst()
+                        .get();
+        assertSame(
+                x.get1(),
+                x.getEdge()
+                 .getSource());
+        assertSame(
+                x.get3(),
+                x.getEdge()
+                 .getTarget());
+    }
+
     @Test
     @Timeout(value = 5000, unit = TimeUnit.MILLISECONDS)
     void findSingleTripleFNodeEdgeLink() throws Exception {
@@ -112,6 +148,51 @@ public class ScMemoryFindPattern3Test {
                 x.getEdge());
     }
 
+    @Test
+    @Timeout(value = 5000, unit = TimeUnit.MILLISECONDS)
+    void findLazyLinkAndReadItByTypedApi() throws Exception {
+        ((SyncOstisScMemory) scMemory).setLazyLinkContent(LinkContentType.STRING);
+        ScNode source = scMemory.createNodes(Stream.of(NodeType.NODE))
+                                .findFirst()
+                                .get();
+        ScLinkString target = scMemory.createStringLinks(
+                                              Stream.of(LinkType.LINK),
+                                              Stream.of("lazy content"))
+                                      .findFirst()
+                                      .get();
+        scMemory.createEdges(
+                        Stream.of(EdgeType.ACCESS),
+                        Stream.of(source),
+                        Stream.of(target))
+                .findFirst()
+                .get();
+        var x = scMemory.findByPattern3(DefaultScPattern3Factory.get(
+                                source,
+                                EdgeType.ACCESS,
+                                LinkType.LINK))
+                        .findFirst()
+                        .get();
+        ScLinkString link = (ScLinkString) x.get3();
+
+        assertEquals(
+                false,
+                ((ScLinkLazy) link).isLoaded());
+        assertEquals(
+                "lazy content",
+                scMemory.getStringLinkContent(Stream.of(link))
+                        .findFirst()
+                        .get());
+        assertEquals(
+                "lazy content",
+                link.getContent());
+        scMemory.setStringLinkContent(
+                Stream.of(link),
+                Stream.of("new content"));
+        assertEquals(
+                "new content",
+                link.getContent());
+    }
+
     @Test
     @Timeout(value = 5000, unit = TimeUnit.MILLISECONDS)
     void findSingleTripleFNodeEdgeFNode() throws Exception {
@@ -354,4 +435,63 @@ public class ScMemoryFindPattern3Test {
                 x.getEdge());
     }
 
+    @Test
+    @Timeout(value = 5000, unit = TimeUnit.MILLISECONDS)
+    void findBatchKeepsOrderOfPatterns() throws Exception {
+        List<? extends ScNode> sources = scMemory.createNodes(Stream.of(
+                                                         NodeType.NODE,
+                                                         NodeType.NODE,
+                                                         NodeType.NODE))
+                                                 .toList();
+        List<? extends ScNode> targets = scMemory.createNodes(Stream.of(
+                                                         NodeType.NODE,
+                                                         NodeType.NODE))
+                                                 .toList();
+        //        the first source has no edges, the second has one, the third has two
+        List<? extends ScEdge> edges = scMemory.createEdges(
+                                                       Stream.of(
+                                                               EdgeType.ACCESS,
+                                                               EdgeType.ACCESS,
+                                                               EdgeType.ACCESS),
+                                                       Stream.of(
+                                                               sources.get(1),
+                                                               sources.get(2),
+                                                               sources.get(2)),
+                                                       Stream.of(
+                                                               targets.get(0),
+                                                               targets.get(0),
+                                                               targets.get(1)))
+                                               .toList();
+
+        var result = scMemory.findByPattern3Batch(sources.stream()
+                                                         .map(source -> DefaultScPattern3Factory.get(
+                                                                 source,
+                                                                 EdgeType.ACCESS,
+                                                                 NodeType.NODE)))
+                             .map(Stream::toList)
+                             .toList();
+
+        assertEquals(
+                3,
+                result.size());
+        assertEquals(
+                0,
+                result.get(0)
+                      .size());
+        assertEquals(
+                edges.get(0),
+                result.get(1)
+                      .get(0)
+                      .getEdge());
+        assertEquals(
+                2,
+                result.get(2)
+                      .size());
+        assertEquals(
+                sources.get(2),
+                result.get(2)
+                      .get(1)
+                      .get1());
+    }
+
 }
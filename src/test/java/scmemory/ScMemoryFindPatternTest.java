@@ -5,6 +5,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Timeout;
 import org.ostis.scmemory.model.ScMemory;
+import org.ostis.scmemory.model.element.UnknownScElement;
 import org.ostis.scmemory.model.element.edge.EdgeType;
 import org.ostis.scmemory.model.element.edge.ScEdge;
 import org.ostis.scmemory.model.element.link.LinkType;
@@ -15,13 +16,18 @@ import org.ostis.scmemory.model.exception.ScMemoryException;
 import org.ostis.scmemory.model.pattern.ScPattern;
 import org.ostis.scmemory.websocketmemory.memory.SyncOstisScMemory;
 import org.ostis.scmemory.websocketmemory.memory.pattern.DefaultWebsocketScPattern;
+import org.ostis.scmemory.websocketmemory.memory.pattern.PreparedScPattern;
+import org.ostis.scmemory.websocketmemory.memory.pattern.ScPatternBuilder;
 import org.ostis.scmemory.websocketmemory.memory.pattern.SearchingPatternTriple;
 import org.ostis.scmemory.websocketmemory.memory.pattern.element.AliasPatternElement;
 import org.ostis.scmemory.websocketmemory.memory.pattern.element.FixedPatternElement;
 import org.ostis.scmemory.websocketmemory.memory.pattern.element.TypePatternElement;
+import org.ostis.scmemory.websocketmemory.memory.structures.CompactScElements;
+import org.ostis.scmemory.websocketmemory.memory.structures.ScElementColumns;
 
 import java.io.ByteArrayOutputStream;
 import java.net.URI;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 
@@ -270,6 +276,249 @@ public class ScMemoryFindPatternTest {
                 resultEdge2.getTarget());
     }
 
+    @Test
+    @Timeout(value = 5000, unit = TimeUnit.MILLISECONDS)
+    void findCompactSingleTriple() throws Exception {
+        ScNode source = scMemory.createNodes(Stream.of(NodeType.CONST))
+                                .findFirst()
+                                .get();
+        ScNode target = scMemory.createNodes(Stream.of(NodeType.CONST_CLASS))
+                                .findFirst()
+                                .get();
+        ScEdge edge = scMemory.createEdges(
+                                      Stream.of(EdgeType.ACCESS_CONST_POS_PERM),
+                                      Stream.of(source),
+                                      Stream.of(target))
+                              .findFirst()
+                              .get();
+
+        ScPattern pattern = new DefaultWebsocketScPattern();
+        pattern.addElement(new SearchingPatternTriple(
+                new FixedPatternElement(source),
+                new TypePatternElement<>(
+                        EdgeType.ACCESS_CONST_POS_PERM,
+                        new AliasPatternElement("edge1")),
+                new TypePatternElement<>(
+                        UnknownScElement.ELEMENT,
+                        new AliasPatternElement("node2"))));
+
+        CompactScElements result = ((SyncOstisScMemory) scMemory).findCompact(pattern);
+
+        assertEquals(
+                1,
+                result.getRowCount());
+        assertEquals(
+                (long) edge.getAddress(),
+                result.getAddress(
+                        0,
+                        1));
+        assertEquals(
+                NodeType.CONST_CLASS.getCode(),
+                result.getTypeCode(
+                        0,
+                        2));
+        assertEquals(
+                target,
+                result.get(
+                        0,
+                        2));
+        assertEquals(
+                target,
+                ((ScEdge) result.get(
+                        0,
+                        1)).getTarget());
+    }
+
+    @Test
+    @Timeout(value = 5000, unit = TimeUnit.MILLISECONDS)
+    void findProjectionCountAndExists() throws Exception {
+        ScNode source = scMemory.createNodes(Stream.of(NodeType.CONST))
+                                .findFirst()
+                                .get();
+        ScNode target = scMemory.createNodes(Stream.of(NodeType.CONST_CLASS))
+                                .findFirst()
+                                .get();
+        scMemory.createEdges(
+                        Stream.of(EdgeType.ACCESS_CONST_POS_PERM),
+                        Stream.of(source),
+                        Stream.of(target))
+                .findFirst()
+                .get();
+
+        ScPattern pattern = new DefaultWebsocketScPattern();
+        pattern.addElement(new SearchingPatternTriple(
+                new FixedPatternElement(source),
+                new TypePatternElement<>(
+                        EdgeType.ACCESS_CONST_POS_PERM,
+                        new AliasPatternElement("edge1")),
+                new TypePatternElement<>(
+                        NodeType.CONST_CLASS,
+                        new AliasPatternElement("node2"))));
+        ScPattern emptyPattern = new DefaultWebsocketScPattern();
+        emptyPattern.addElement(new SearchingPatternTriple(
+                new FixedPatternElement(target),
+                new TypePatternElement<>(
+                        EdgeType.ACCESS_CONST_POS_PERM,
+                        new AliasPatternElement("edge1")),
+                new TypePatternElement<>(
+                        NodeType.CONST_CLASS,
+                        new AliasPatternElement("node2"))));
+
+        var projection = scMemory.find(
+                                         pattern,
+                                         new AliasPatternElement("node2"))
+                                 .findFirst()
+                                 .get()
+                                 .toList();
+
+        assertEquals(
+                List.of(target),
+                projection);
+        assertEquals(
+                1,
+                scMemory.count(pattern));
+        assertEquals(
+                true,
+                scMemory.exists(pattern));
+        assertEquals(
+                false,
+                scMemory.exists(emptyPattern));
+        assertEquals(
+                target,
+                scMemory.findFirst(pattern)
+                        .get()
+                        .toList()
+                        .get(2));
+        assertEquals(
+                true,
+                scMemory.findFirst(emptyPattern)
+                        .isEmpty());
+    }
+
+    @Test
+    @Timeout(value = 5000, unit = TimeUnit.MILLISECONDS)
+    void findPreparedPatternWithDifferentSources() throws Exception {
+        ScNode source1 = scMemory.createNodes(Stream.of(NodeType.CONST))
+                                 .findFirst()
+                                 .get();
+        ScNode source2 = scMemory.createNodes(Stream.of(NodeType.CONST))
+                                 .findFirst()
+                                 .get();
+        ScNode target = scMemory.createNodes(Stream.of(NodeType.CONST_CLASS))
+                                .findFirst()
+                                .get();
+        ScEdge edge = scMemory.createEdges(
+                                      Stream.of(EdgeType.ACCESS_CONST_POS_PERM),
+                                      Stream.of(source2),
+                                      Stream.of(target))
+                              .findFirst()
+                              .get();
+
+        ScPattern pattern = new DefaultWebsocketScPattern();
+        pattern.addElement(new SearchingPatternTriple(
+                new FixedPatternElement(() -> 0L),
+                new TypePatternElement<>(
+                        EdgeType.ACCESS_CONST_POS_PERM,
+                        new AliasPatternElement("edge1")),
+                new TypePatternElement<>(
+                        NodeType.CONST_CLASS,
+                        new AliasPatternElement("node2"))));
+        PreparedScPattern prepared = new PreparedScPattern(pattern);
+
+        var empty = ((SyncOstisScMemory) scMemory).find(
+                                                          prepared,
+                                                          source1)
+                                                  .toList();
+        var result = ((SyncOstisScMemory) scMemory).find(
+                                                           prepared,
+                                                           source2)
+                                                   .findFirst()
+                                                   .get()
+                                                   .toList();
+
+        assertEquals(
+                0,
+                empty.size());
+        assertEquals(
+                source2,
+                result.get(0));
+        assertEquals(
+                edge,
+                result.get(1));
+        assertEquals(
+                target,
+                result.get(2));
+    }
+
+    @Test
+    @Timeout(value = 5000, unit = TimeUnit.MILLISECONDS)
+    void findColumnsByBuiltPattern() throws Exception {
+        ScNode source = scMemory.createNodes(Stream.of(NodeType.CONST))
+                                .findFirst()
+                                .get();
+        ScNode target = scMemory.createNodes(Stream.of(NodeType.CONST))
+                                .findFirst()
+                                .get();
+        ScNode relation = scMemory.createNodes(Stream.of(NodeType.CONST_NO_ROLE))
+                                  .findFirst()
+                                  .get();
+        ScEdge edge = scMemory.createEdges(
+                                      Stream.of(EdgeType.D_COMMON_CONST),
+                                      Stream.of(source),
+                                      Stream.of(target))
+                              .findFirst()
+                              .get();
+        ScEdge relEdge = scMemory.createEdges(
+                                         Stream.of(EdgeType.ACCESS_CONST_POS_PERM),
+                                         Stream.of(relation),
+                                         Stream.of(edge))
+                                 .findFirst()
+                                 .get();
+
+        ScPatternBuilder b = new ScPatternBuilder();
+        ScPattern pattern = b.triple(
+                                     b.fixed(source),
+                                     b.var(
+                                             EdgeType.D_COMMON_CONST,
+                                             "edge"),
+                                     b.var(
+                                             NodeType.CONST,
+                                             "target"))
+                             .triple(
+                                     b.fixed(relation),
+                                     b.var(
+                                             EdgeType.ACCESS_CONST_POS_PERM,
+                                             "rel_edge"),
+                                     b.ref("edge"))
+                             .build();
+        ScElementColumns columns = ((SyncOstisScMemory) scMemory).findColumns(pattern);
+
+        assertEquals(
+                List.of(
+                        "edge",
+                        "target",
+                        "rel_edge"),
+                columns.getAliases());
+        assertEquals(
+                1,
+                columns.getRowCount());
+        assertEquals(
+                (long) target.getAddress(),
+                columns.getAddress(
+                        "target",
+                        0));
+        assertEquals(
+                edge,
+                columns.get(
+                        "edge",
+                        0));
+        assertEquals(
+                relEdge,
+                columns.get(
+                        "rel_edge",
+                        0));
+    }
+
     /**
      * <pre>
      *     {@code